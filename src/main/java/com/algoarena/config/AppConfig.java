@@ -4,7 +4,10 @@ package com.algoarena.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
-// import java.util.List;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @ConfigurationProperties(prefix = "app")
@@ -13,17 +16,75 @@ public class AppConfig {
     private Piston piston = new Piston();
     private FileUpload file = new FileUpload();
     private Cors cors = new Cors();
+    private Auth auth = new Auth();
+    private RateLimit rateLimit = new RateLimit();
+    private Concurrency concurrency = new Concurrency();
+    private Executor executor = new Executor();
+    private Cache cache = new Cache();
     
     // Nested Classes
     public static class Piston {
+        // Fallback endpoint; the only one when no replicas are listed
         private String apiUrl;
+        // Self-hosted Piston replicas, preferred over apiUrl and routed by recent p95 latency
+        private List<String> endpoints = new ArrayList<>();
+        // Tries per execution across endpoints (connection errors / 5xx / 429 only, not timeouts)
+        private int maxAttempts = 2;
+        // Circuit breaker per endpoint: opens after this many consecutive failures, probes again after breakerOpenMs
+        private int breakerFailureThreshold = 5;
+        private long breakerOpenMs = 30_000;
+        // Recent calls per endpoint used for the p95
+        private int latencyWindow = 100;
+        // Response timeout for a Piston call (ms)
         private int timeout;
+        private int connectTimeout = 5000;
+        // Pooled HTTP connections to Piston
+        private int maxConnections = 50;
+        // Executions in flight at once; more are rejected with 503
+        private int maxConcurrentExecutions = 20;
+        // Limits sent with every execution (Piston run_timeout / compile_timeout, ms)
+        private long runTimeoutMs = 3000;
+        private long compileTimeoutMs = 10_000;
+        // Result cache for identical executions (bounded by approximate output bytes)
+        private long resultCacheMaxBytes = 64L * 1024 * 1024;
+        private long resultCacheTtlSeconds = 600;
+        // POST /compiler/execute/batch: max cases per request and cases in flight per request
+        private int batchMaxCases = 50;
+        private int batchConcurrency = 4;
         
         // Getters and Setters
         public String getApiUrl() { return apiUrl; }
         public void setApiUrl(String apiUrl) { this.apiUrl = apiUrl; }
+        public List<String> getEndpoints() { return endpoints; }
+        public void setEndpoints(List<String> endpoints) { this.endpoints = endpoints; }
+        public long getRunTimeoutMs() { return runTimeoutMs; }
+        public void setRunTimeoutMs(long runTimeoutMs) { this.runTimeoutMs = runTimeoutMs; }
+        public long getCompileTimeoutMs() { return compileTimeoutMs; }
+        public void setCompileTimeoutMs(long compileTimeoutMs) { this.compileTimeoutMs = compileTimeoutMs; }
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+        public int getBreakerFailureThreshold() { return breakerFailureThreshold; }
+        public void setBreakerFailureThreshold(int breakerFailureThreshold) { this.breakerFailureThreshold = breakerFailureThreshold; }
+        public long getBreakerOpenMs() { return breakerOpenMs; }
+        public void setBreakerOpenMs(long breakerOpenMs) { this.breakerOpenMs = breakerOpenMs; }
+        public int getLatencyWindow() { return latencyWindow; }
+        public void setLatencyWindow(int latencyWindow) { this.latencyWindow = latencyWindow; }
         public int getTimeout() { return timeout; }
         public void setTimeout(int timeout) { this.timeout = timeout; }
+        public int getConnectTimeout() { return connectTimeout; }
+        public void setConnectTimeout(int connectTimeout) { this.connectTimeout = connectTimeout; }
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+        public int getMaxConcurrentExecutions() { return maxConcurrentExecutions; }
+        public void setMaxConcurrentExecutions(int maxConcurrentExecutions) { this.maxConcurrentExecutions = maxConcurrentExecutions; }
+        public long getResultCacheMaxBytes() { return resultCacheMaxBytes; }
+        public void setResultCacheMaxBytes(long resultCacheMaxBytes) { this.resultCacheMaxBytes = resultCacheMaxBytes; }
+        public long getResultCacheTtlSeconds() { return resultCacheTtlSeconds; }
+        public void setResultCacheTtlSeconds(long resultCacheTtlSeconds) { this.resultCacheTtlSeconds = resultCacheTtlSeconds; }
+        public int getBatchMaxCases() { return batchMaxCases; }
+        public void setBatchMaxCases(int batchMaxCases) { this.batchMaxCases = batchMaxCases; }
+        public int getBatchConcurrency() { return batchConcurrency; }
+        public void setBatchConcurrency(int batchConcurrency) { this.batchConcurrency = batchConcurrency; }
     }
     
     public static class FileUpload {
@@ -88,6 +149,352 @@ public class AppConfig {
         public void setAllowCredentials(boolean allowCredentials) { this.allowCredentials = allowCredentials; }
     }
     
+    public static class Auth {
+        // Principal cache in front of CustomUserDetailsService
+        private long principalCacheMaxSize = 10_000;
+        private long principalCacheTtlSeconds = 300;
+        // Token revocation (logout) - in-memory Bloom filter sizing
+        private long revocationBloomCapacity = 10_000;
+        private long revocationSyncIntervalMs = 30_000;
+        // Write-behind flush interval for lastLogin/profile updates
+        private long loginFlushIntervalMs = 5_000;
+        
+        // Getters and Setters
+        public long getPrincipalCacheMaxSize() { return principalCacheMaxSize; }
+        public void setPrincipalCacheMaxSize(long principalCacheMaxSize) { this.principalCacheMaxSize = principalCacheMaxSize; }
+        public long getPrincipalCacheTtlSeconds() { return principalCacheTtlSeconds; }
+        public void setPrincipalCacheTtlSeconds(long principalCacheTtlSeconds) { this.principalCacheTtlSeconds = principalCacheTtlSeconds; }
+        public long getRevocationBloomCapacity() { return revocationBloomCapacity; }
+        public void setRevocationBloomCapacity(long revocationBloomCapacity) { this.revocationBloomCapacity = revocationBloomCapacity; }
+        public long getRevocationSyncIntervalMs() { return revocationSyncIntervalMs; }
+        public void setRevocationSyncIntervalMs(long revocationSyncIntervalMs) { this.revocationSyncIntervalMs = revocationSyncIntervalMs; }
+        public long getLoginFlushIntervalMs() { return loginFlushIntervalMs; }
+        public void setLoginFlushIntervalMs(long loginFlushIntervalMs) { this.loginFlushIntervalMs = loginFlushIntervalMs; }
+    }
+    
+    public static class RateLimit {
+        // Off by default: the interceptor's old /api/** patterns never matched under context-path /api,
+        // so production has never been rate limited; turning this on limits the paths in WebConfig
+        private boolean enabled = false;
+        // Upper bound on per-user buckets held in memory (idle buckets expire on their own)
+        private long maxBuckets = 100_000;
+        // Per-bucket limits keyed by RateLimitConfig.BucketType key (app.rate-limit.limits.<key>.*)
+        private Map<String, Limit> limits = defaultLimits();
+        // Share limits across instances through Mongo (rate_limit_windows) instead of per-node buckets
+        private boolean distributed = false;
+        // Share of a window's tokens one node claims per Mongo round trip in distributed mode
+        private double prefetchFraction = 0.2;
+        
+        public static class Limit {
+            private int capacity;
+            private int refillPerMinute;
+            
+            public Limit() {}
+            
+            public Limit(int capacity, int refillPerMinute) {
+                this.capacity = capacity;
+                this.refillPerMinute = refillPerMinute;
+            }
+            
+            // Getters and Setters
+            public int getCapacity() { return capacity; }
+            public void setCapacity(int capacity) { this.capacity = capacity; }
+            public int getRefillPerMinute() { return refillPerMinute; }
+            public void setRefillPerMinute(int refillPerMinute) { this.refillPerMinute = refillPerMinute; }
+        }
+        
+        private static Map<String, Limit> defaultLimits() {
+            Map<String, Limit> defaults = new HashMap<>();
+            defaults.put("auth", new Limit(20, 20));
+            defaults.put("write", new Limit(10, 10));
+            defaults.put("read", new Limit(60, 60));
+            defaults.put("approach-write", new Limit(5, 5));
+            defaults.put("approach-read", new Limit(20, 20));
+            defaults.put("question-read", new Limit(30, 30));
+            defaults.put("category-read", new Limit(30, 30));
+            defaults.put("solution-read", new Limit(30, 30));
+            defaults.put("course-read", new Limit(30, 30));
+            return defaults;
+        }
+        
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public long getMaxBuckets() { return maxBuckets; }
+        public void setMaxBuckets(long maxBuckets) { this.maxBuckets = maxBuckets; }
+        public Map<String, Limit> getLimits() { return limits; }
+        public void setLimits(Map<String, Limit> limits) { this.limits = limits; }
+        public boolean isDistributed() { return distributed; }
+        public void setDistributed(boolean distributed) { this.distributed = distributed; }
+        public double getPrefetchFraction() { return prefetchFraction; }
+        public void setPrefetchFraction(double prefetchFraction) { this.prefetchFraction = prefetchFraction; }
+    }
+    
+    public static class Concurrency {
+        // Adaptive in-flight limits per endpoint group (see ConcurrencyLimitFilter)
+        private boolean enabled = true;
+        // Retry-After sent with a shed (503) request
+        private int retryAfterSeconds = 1;
+        // Latency may grow by this factor over the long-term average before the limit shrinks
+        private double rttTolerance = 1.5;
+        // Limits keyed by group: catalog, default (app.concurrency.limits.<group>.*)
+        private Map<String, Limit> limits = defaultLimits();
+        
+        public static class Limit {
+            private int initialLimit;
+            private int minLimit;
+            private int maxLimit;
+            
+            public Limit() {}
+            
+            public Limit(int initialLimit, int minLimit, int maxLimit) {
+                this.initialLimit = initialLimit;
+                this.minLimit = minLimit;
+                this.maxLimit = maxLimit;
+            }
+            
+            // Getters and Setters
+            public int getInitialLimit() { return initialLimit; }
+            public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+            public int getMinLimit() { return minLimit; }
+            public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+            public int getMaxLimit() { return maxLimit; }
+            public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+        }
+        
+        private static Map<String, Limit> defaultLimits() {
+            Map<String, Limit> defaults = new HashMap<>();
+            defaults.put("catalog", new Limit(40, 10, 150));
+            defaults.put("default", new Limit(30, 8, 100));
+            return defaults;
+        }
+        
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getRetryAfterSeconds() { return retryAfterSeconds; }
+        public void setRetryAfterSeconds(int retryAfterSeconds) { this.retryAfterSeconds = retryAfterSeconds; }
+        public double getRttTolerance() { return rttTolerance; }
+        public void setRttTolerance(double rttTolerance) { this.rttTolerance = rttTolerance; }
+        public Map<String, Limit> getLimits() { return limits; }
+        public void setLimits(Map<String, Limit> limits) { this.limits = limits; }
+    }
+    
+    public static class Executor {
+        // Code execution backend: "piston" (emkc.org / self-hosted Piston API) or "local" (OS processes)
+        private String backend = "piston";
+        // /compiler/execute/stream: characters per SSE chunk and cap per stream (stdout, stderr)
+        private int streamChunkSize = 4096;
+        private long streamMaxBytesPerStream = 1024 * 1024;
+        private Local local = new Local();
+        private FairShare fairShare = new FairShare();
+        private Budget budget = new Budget();
+        
+        // Per-user execution time budget (see ExecutionBudgetService)
+        public static class Budget {
+            private boolean enabled = true;
+            // Runtime a user may consume per window; refilled gradually
+            private long cpuSecondsPerWindow = 120;
+            private long windowMinutes = 10;
+            private int maxUsers = 100_000;
+            
+            // Getters and Setters
+            public boolean isEnabled() { return enabled; }
+            public void setEnabled(boolean enabled) { this.enabled = enabled; }
+            public long getCpuSecondsPerWindow() { return cpuSecondsPerWindow; }
+            public void setCpuSecondsPerWindow(long cpuSecondsPerWindow) { this.cpuSecondsPerWindow = cpuSecondsPerWindow; }
+            public long getWindowMinutes() { return windowMinutes; }
+            public void setWindowMinutes(long windowMinutes) { this.windowMinutes = windowMinutes; }
+            public int getMaxUsers() { return maxUsers; }
+            public void setMaxUsers(int maxUsers) { this.maxUsers = maxUsers; }
+        }
+        
+        // Per-user fair queueing in front of the backend (see ExecutionScheduler)
+        public static class FairShare {
+            private boolean enabled = true;
+            // Executions running at once across all users; keep <= the backend's own limit
+            private int maxConcurrent = 16;
+            private int perUserInFlight = 2;
+            // Further requests from a user with this many waiting are refused (503)
+            private int perUserQueue = 10;
+            private long maxQueueWaitMs = 15_000;
+            
+            // Getters and Setters
+            public boolean isEnabled() { return enabled; }
+            public void setEnabled(boolean enabled) { this.enabled = enabled; }
+            public int getMaxConcurrent() { return maxConcurrent; }
+            public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+            public int getPerUserInFlight() { return perUserInFlight; }
+            public void setPerUserInFlight(int perUserInFlight) { this.perUserInFlight = perUserInFlight; }
+            public int getPerUserQueue() { return perUserQueue; }
+            public void setPerUserQueue(int perUserQueue) { this.perUserQueue = perUserQueue; }
+            public long getMaxQueueWaitMs() { return maxQueueWaitMs; }
+            public void setMaxQueueWaitMs(long maxQueueWaitMs) { this.maxQueueWaitMs = maxQueueWaitMs; }
+        }
+        
+        public static class Local {
+            // Scratch space for sources, compiled artifacts and run directories
+            private String workDir = System.getProperty("java.io.tmpdir") + "/algoarena-exec";
+            private long compileTimeoutMs = 10_000;
+            private long runTimeoutMs = 5_000;
+            private int memoryLimitMb = 256;
+            // stdout/stderr beyond this are cut off
+            private int maxOutputBytes = 64 * 1024;
+            private int maxConcurrentExecutions = Math.max(2, Runtime.getRuntime().availableProcessors());
+            // Pre-spawned interpreters/JVMs kept ready per warm language (python, java)
+            private int warmPoolSize = 2;
+            // Compiled artifacts kept for identical sources
+            private int artifactCacheSize = 200;
+            // Processes + threads one run may need (the JVM alone starts ~20); the uid-wide prlimit --nproc is sized from it
+            private int maxProcessesPerRun = 32;
+            // Isolation wrapper put in front of every command (e.g. nsjail args); required, see application.properties
+            private List<String> sandboxPrefix = new ArrayList<>();
+            // Group the sandbox runs as: work dirs get it with mode 2770 so sandboxed compilers can write there; -1 = leave as created
+            private int sandboxGid = 65534;
+            
+            // Getters and Setters
+            public String getWorkDir() { return workDir; }
+            public void setWorkDir(String workDir) { this.workDir = workDir; }
+            public long getCompileTimeoutMs() { return compileTimeoutMs; }
+            public void setCompileTimeoutMs(long compileTimeoutMs) { this.compileTimeoutMs = compileTimeoutMs; }
+            public long getRunTimeoutMs() { return runTimeoutMs; }
+            public void setRunTimeoutMs(long runTimeoutMs) { this.runTimeoutMs = runTimeoutMs; }
+            public int getMemoryLimitMb() { return memoryLimitMb; }
+            public void setMemoryLimitMb(int memoryLimitMb) { this.memoryLimitMb = memoryLimitMb; }
+            public int getMaxOutputBytes() { return maxOutputBytes; }
+            public void setMaxOutputBytes(int maxOutputBytes) { this.maxOutputBytes = maxOutputBytes; }
+            public int getMaxConcurrentExecutions() { return maxConcurrentExecutions; }
+            public void setMaxConcurrentExecutions(int maxConcurrentExecutions) { this.maxConcurrentExecutions = maxConcurrentExecutions; }
+            public int getWarmPoolSize() { return warmPoolSize; }
+            public void setWarmPoolSize(int warmPoolSize) { this.warmPoolSize = warmPoolSize; }
+            public int getArtifactCacheSize() { return artifactCacheSize; }
+            public void setArtifactCacheSize(int artifactCacheSize) { this.artifactCacheSize = artifactCacheSize; }
+            public int getMaxProcessesPerRun() { return maxProcessesPerRun; }
+            public void setMaxProcessesPerRun(int maxProcessesPerRun) { this.maxProcessesPerRun = maxProcessesPerRun; }
+            public List<String> getSandboxPrefix() { return sandboxPrefix; }
+            public void setSandboxPrefix(List<String> sandboxPrefix) { this.sandboxPrefix = sandboxPrefix; }
+            public int getSandboxGid() { return sandboxGid; }
+            public void setSandboxGid(int sandboxGid) { this.sandboxGid = sandboxGid; }
+        }
+        
+        // Getters and Setters
+        public String getBackend() { return backend; }
+        public void setBackend(String backend) { this.backend = backend; }
+        public int getStreamChunkSize() { return streamChunkSize; }
+        public void setStreamChunkSize(int streamChunkSize) { this.streamChunkSize = streamChunkSize; }
+        public long getStreamMaxBytesPerStream() { return streamMaxBytesPerStream; }
+        public void setStreamMaxBytesPerStream(long streamMaxBytesPerStream) { this.streamMaxBytesPerStream = streamMaxBytesPerStream; }
+        public Local getLocal() { return local; }
+        public void setLocal(Local local) { this.local = local; }
+        public FairShare getFairShare() { return fairShare; }
+        public void setFairShare(FairShare fairShare) { this.fairShare = fairShare; }
+        public Budget getBudget() { return budget; }
+        public void setBudget(Budget budget) { this.budget = budget; }
+    }
+    
+    // Spring caches (@Cacheable), built by CacheConfig
+    public static class Cache {
+        // For cache names without an entry in caches
+        private Spec defaults = new Spec(2000L, null, 1800L, null);
+        // Per cache name (app.cache.caches.<name>.*); every name listed here is created at startup
+        private Map<String, Spec> caches = defaultCaches();
+        // Share of max heap for all listed caches together, rebalanced by CacheBudget; 0 = per-cache limits
+        private double heapBudgetPercent = 0;
+        // Smallest share a cache can be left with, and most moved to one cache per rebalance (% of budget)
+        private double minSharePercent = 1;
+        private double rebalanceStepPercent = 5;
+        private long rebalanceIntervalMs = 60_000;
+        private OffHeap offHeap = new OffHeap();
+        
+        // Compressed blobs in direct memory: course doc bodies, visualizer HTML (see OffHeapBlobCache)
+        public static class OffHeap {
+            // Compressed bytes; counts against -XX:MaxDirectMemorySize
+            private long maxBytes = 128L * 1024 * 1024;
+            // Upper bound on staleness (writes on other nodes never invalidate here), as the old courseDoc cache
+            private long expireAfterWriteSeconds = 1800;
+            private long expireAfterAccessSeconds = 3600;
+            
+            // Getters and Setters
+            public long getMaxBytes() { return maxBytes; }
+            public void setMaxBytes(long maxBytes) { this.maxBytes = maxBytes; }
+            public long getExpireAfterWriteSeconds() { return expireAfterWriteSeconds; }
+            public void setExpireAfterWriteSeconds(long expireAfterWriteSeconds) { this.expireAfterWriteSeconds = expireAfterWriteSeconds; }
+            public long getExpireAfterAccessSeconds() { return expireAfterAccessSeconds; }
+            public void setExpireAfterAccessSeconds(long expireAfterAccessSeconds) { this.expireAfterAccessSeconds = expireAfterAccessSeconds; }
+        }
+        
+        public static class Spec {
+            // Entry limit; ignored when maxBytes is set
+            private Long maxSize;
+            // Limit on estimated serialized size of all entries, for caches with large/uneven values
+            private Long maxBytes;
+            private Long expireAfterWriteSeconds;
+            // Drop entries nobody read for this long (optional, on top of the write expiry)
+            private Long expireAfterAccessSeconds;
+            // Hit/miss/eviction/load stats, published as cache.* metrics
+            private boolean recordStats = true;
+            
+            public Spec() {}
+            
+            public Spec(Long maxSize, Long maxBytes, Long expireAfterWriteSeconds, Long expireAfterAccessSeconds) {
+                this.maxSize = maxSize;
+                this.maxBytes = maxBytes;
+                this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+                this.expireAfterAccessSeconds = expireAfterAccessSeconds;
+            }
+            
+            // Getters and Setters
+            public Long getMaxSize() { return maxSize; }
+            public void setMaxSize(Long maxSize) { this.maxSize = maxSize; }
+            public Long getMaxBytes() { return maxBytes; }
+            public void setMaxBytes(Long maxBytes) { this.maxBytes = maxBytes; }
+            public Long getExpireAfterWriteSeconds() { return expireAfterWriteSeconds; }
+            public void setExpireAfterWriteSeconds(Long expireAfterWriteSeconds) { this.expireAfterWriteSeconds = expireAfterWriteSeconds; }
+            public Long getExpireAfterAccessSeconds() { return expireAfterAccessSeconds; }
+            public void setExpireAfterAccessSeconds(Long expireAfterAccessSeconds) { this.expireAfterAccessSeconds = expireAfterAccessSeconds; }
+            public boolean isRecordStats() { return recordStats; }
+            public void setRecordStats(boolean recordStats) { this.recordStats = recordStats; }
+        }
+        
+        private static Map<String, Spec> defaultCaches() {
+            long mb = 1024 * 1024;
+            Map<String, Spec> defaults = new HashMap<>();
+            // Single-entry lists
+            defaults.put("globalCategoriesMetadata", new Spec(4L, null, 1800L, null));
+            defaults.put("topicNamesPublic", new Spec(4L, null, 1800L, null));
+            defaults.put("topicNamesAdmin", new Spec(4L, null, 1800L, null));
+            // Small per-id entries (the all-categories map lives in globalCategories too)
+            defaults.put("globalCategories", new Spec(500L, null, 1800L, null));
+            defaults.put("courseTopic", new Spec(500L, null, 1800L, null));
+            defaults.put("courseDocsList", new Spec(500L, null, 1800L, null));
+            defaults.put("userMeStats", new Spec(10_000L, null, 1800L, 600L));
+            // Admin pages: few, read by few
+            defaults.put("adminQuestionsSummary", new Spec(200L, null, 600L, null));
+            defaults.put("adminSolutionsSummary", new Spec(200L, null, 600L, null));
+            // Full content: bounded by size (course docs live off-heap, see OffHeap)
+            defaults.put("questionDetail", new Spec(null, 32 * mb, 1800L, null));
+            defaults.put("questionSolutions", new Spec(null, 32 * mb, 1800L, null));
+            defaults.put("solutionDetail", new Spec(null, 32 * mb, 1800L, null));
+            return defaults;
+        }
+        
+        // Getters and Setters
+        public Spec getDefaults() { return defaults; }
+        public void setDefaults(Spec defaults) { this.defaults = defaults; }
+        public Map<String, Spec> getCaches() { return caches; }
+        public void setCaches(Map<String, Spec> caches) { this.caches = caches; }
+        public double getHeapBudgetPercent() { return heapBudgetPercent; }
+        public void setHeapBudgetPercent(double heapBudgetPercent) { this.heapBudgetPercent = heapBudgetPercent; }
+        public double getMinSharePercent() { return minSharePercent; }
+        public void setMinSharePercent(double minSharePercent) { this.minSharePercent = minSharePercent; }
+        public double getRebalanceStepPercent() { return rebalanceStepPercent; }
+        public void setRebalanceStepPercent(double rebalanceStepPercent) { this.rebalanceStepPercent = rebalanceStepPercent; }
+        public long getRebalanceIntervalMs() { return rebalanceIntervalMs; }
+        public void setRebalanceIntervalMs(long rebalanceIntervalMs) { this.rebalanceIntervalMs = rebalanceIntervalMs; }
+        public OffHeap getOffHeap() { return offHeap; }
+        public void setOffHeap(OffHeap offHeap) { this.offHeap = offHeap; }
+    }
+    
     // Main Getters and Setters
     public Piston getPiston() { return piston; }
     public void setPiston(Piston piston) { this.piston = piston; }
@@ -95,6 +502,16 @@ public class AppConfig {
     public void setFile(FileUpload file) { this.file = file; }
     public Cors getCors() { return cors; }
     public void setCors(Cors cors) { this.cors = cors; }
+    public Auth getAuth() { return auth; }
+    public void setAuth(Auth auth) { this.auth = auth; }
+    public RateLimit getRateLimit() { return rateLimit; }
+    public void setRateLimit(RateLimit rateLimit) { this.rateLimit = rateLimit; }
+    public Concurrency getConcurrency() { return concurrency; }
+    public void setConcurrency(Concurrency concurrency) { this.concurrency = concurrency; }
+    public Executor getExecutor() { return executor; }
+    public void setExecutor(Executor executor) { this.executor = executor; }
+    public Cache getCache() { return cache; }
+    public void setCache(Cache cache) { this.cache = cache; }
 }
 
   
\ No newline at end of file
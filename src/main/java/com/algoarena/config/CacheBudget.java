@@ -0,0 +1,181 @@
+// src/main/java/com/algoarena/config/CacheBudget.java
+package com.algoarena.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One heap budget (app.cache.heap-budget-percent of -Xmx) shared by all
+ * configured Spring caches, each weighed by estimated serialized size.
+ *
+ * Caches start with equal shares. Every rebalance interval, caches that
+ * are full and evicting get bytes from caches that aren't using theirs,
+ * then from caches whose bytes earn fewer hits:
+ *
+ *   value of a byte = hits in the interval / bytes held
+ *
+ * i.e. a byte given to a cache is assumed to earn what its bytes earn on
+ * average. A move needs the receiver to be worth twice the donor, and no
+ * cache drops below the minimum share, so shares settle instead of
+ * swinging back and forth. The sum of all shares never exceeds the budget.
+ *
+ * Off (budget 0) unless configured; then the per-cache limits apply.
+ * Metrics: cache.budget.limit / cache.budget.used {cache}, in bytes.
+ */
+public class CacheBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheBudget.class);
+
+    // Full = using this much of its share
+    private static final double FULL = 0.9;
+    // Headroom a donor keeps above what it uses
+    private static final double HEADROOM = 1.25;
+    // Receiver must earn this many times more per byte than the donor
+    private static final double MIN_GAIN = 2.0;
+
+    private final long budgetBytes;
+    private final long minShareBytes;
+    private final long stepBytes;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Share> shares = new ConcurrentHashMap<>();
+
+    private static final class Share {
+        final String name;
+        final Cache<Object, Object> cache;
+        final Policy.Eviction<Object, Object> eviction;
+        CacheStats last;
+        // Per rebalance
+        long limit;
+        long used;
+        double hitsPerByte;
+        boolean pressured;
+
+        Share(String name, Cache<Object, Object> cache) {
+            this.name = name;
+            this.cache = cache;
+            this.eviction = cache.policy().eviction().orElseThrow(
+                    () -> new IllegalStateException("Cache " + name + " is not size-bounded"));
+            this.last = cache.stats();
+        }
+    }
+
+    public CacheBudget(AppConfig.Cache config, long maxHeapBytes, MeterRegistry meterRegistry) {
+        this.budgetBytes = (long) (maxHeapBytes * config.getHeapBudgetPercent() / 100);
+        this.minShareBytes = (long) (budgetBytes * config.getMinSharePercent() / 100);
+        this.stepBytes = Math.max(1, (long) (budgetBytes * config.getRebalanceStepPercent() / 100));
+        this.meterRegistry = meterRegistry;
+        if (isEnabled()) {
+            logger.info("Cache heap budget: {} MB of {} MB max heap",
+                    budgetBytes / (1024 * 1024), maxHeapBytes / (1024 * 1024));
+        }
+    }
+
+    public boolean isEnabled() {
+        return budgetBytes > 0;
+    }
+
+    /**
+     * Starting share when the budget is split between this many caches
+     */
+    public long initialShare(int cacheCount) {
+        return Math.max(1, budgetBytes / Math.max(1, cacheCount));
+    }
+
+    /**
+     * Put a cache under the budget; it must be weight-bounded and record stats
+     */
+    public void manage(String name, Cache<Object, Object> cache) {
+        Share share = new Share(name, cache);
+        shares.put(name, share);
+        Gauge.builder("cache.budget.limit", share.eviction, Policy.Eviction::getMaximum)
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("cache.budget.used", share.eviction, eviction -> eviction.weightedSize().orElse(0))
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.rebalance-interval-ms:60000}",
+            initialDelayString = "${app.cache.rebalance-interval-ms:60000}")
+    public void rebalance() {
+        if (!isEnabled() || shares.size() < 2) {
+            return;
+        }
+        List<Share> all = new ArrayList<>(shares.values());
+        for (Share share : all) {
+            CacheStats now = share.cache.stats();
+            CacheStats window = now.minus(share.last);
+            share.last = now;
+            share.limit = share.eviction.getMaximum();
+            share.used = share.eviction.weightedSize().orElse(0);
+            share.hitsPerByte = (double) window.hitCount() / Math.max(1, share.used);
+            share.pressured = window.evictionCount() > 0 && share.used >= share.limit * FULL;
+        }
+
+        List<Share> receivers = all.stream()
+                .filter(share -> share.pressured && share.hitsPerByte > 0)
+                .sorted(Comparator.comparingDouble((Share share) -> share.hitsPerByte).reversed())
+                .toList();
+        for (Share receiver : receivers) {
+            long wanted = stepBytes;
+            // Unused bytes first, then bytes that earn less
+            wanted -= takeUnused(all, receiver, wanted);
+            if (wanted > 0) {
+                takeFromLowerValue(all, receiver, wanted);
+            }
+        }
+    }
+
+    private long takeUnused(List<Share> all, Share receiver, long wanted) {
+        long taken = 0;
+        for (Share donor : all) {
+            if (taken >= wanted || donor == receiver || donor.pressured) {
+                continue;
+            }
+            long keep = Math.max(minShareBytes, (long) (donor.used * HEADROOM));
+            taken += move(donor, receiver, Math.min(wanted - taken, donor.limit - keep));
+        }
+        return taken;
+    }
+
+    private void takeFromLowerValue(List<Share> all, Share receiver, long wanted) {
+        List<Share> donors = all.stream()
+                .filter(donor -> donor != receiver && donor.hitsPerByte * MIN_GAIN < receiver.hitsPerByte)
+                .sorted(Comparator.comparingDouble(donor -> donor.hitsPerByte))
+                .toList();
+        long taken = 0;
+        for (Share donor : donors) {
+            if (taken >= wanted) {
+                break;
+            }
+            taken += move(donor, receiver, Math.min(wanted - taken, donor.limit - minShareBytes));
+        }
+    }
+
+    // Donor shrinks first, so the total never goes over the budget
+    private long move(Share donor, Share receiver, long bytes) {
+        if (bytes <= 0) {
+            return 0;
+        }
+        donor.limit -= bytes;
+        donor.eviction.setMaximum(donor.limit);
+        receiver.limit += bytes;
+        receiver.eviction.setMaximum(receiver.limit);
+        logger.debug("Cache budget: moved {} KB from {} to {}", bytes / 1024, donor.name, receiver.name);
+        return bytes;
+    }
+}
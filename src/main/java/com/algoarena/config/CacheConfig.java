@@ -0,0 +1,77 @@
+// src/main/java/com/algoarena/config/CacheConfig.java
+package com.algoarena.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caffeine caches for @Cacheable, each with its own limits (app.cache.*).
+ *
+ * Replaces the single spring.cache.caffeine.spec that gave a 5MB course doc
+ * and a one-line topic list the same 2000-entry bound. Caches holding
+ * full content are bounded by estimated bytes instead of entry count.
+ * With app.cache.heap-budget-percent set, every configured cache is
+ * byte-bounded instead and CacheBudget divides one heap budget between them.
+ *
+ * All configured caches exist at startup, so Actuator binds their stats:
+ * cache.gets{result=hit|miss}, cache.puts, cache.evictions, cache.size,
+ * cache.load.duration - by cache name under /actuator/metrics.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheBudget cacheBudget(AppConfig appConfig, MeterRegistry meterRegistry) {
+        return new CacheBudget(appConfig.getCache(), Runtime.getRuntime().maxMemory(), meterRegistry);
+    }
+
+    @Bean
+    public CacheManager cacheManager(AppConfig appConfig, ObjectMapper objectMapper, CacheBudget cacheBudget) {
+        AppConfig.Cache cache = appConfig.getCache();
+        CacheEntryWeigher weigher = new CacheEntryWeigher(objectMapper);
+        long initialShare = cacheBudget.initialShare(cache.getCaches().size());
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Names nobody configured still get created on first use, with the defaults (outside the budget)
+        cacheManager.setCaffeine(builder(cache.getDefaults(), weigher, null));
+        cache.getCaches().forEach((name, spec) -> {
+            Long budgetShare = cacheBudget.isEnabled() ? initialShare : null;
+            Cache<Object, Object> nativeCache = builder(spec, weigher, budgetShare).build();
+            if (budgetShare != null) {
+                cacheBudget.manage(name, nativeCache);
+            }
+            cacheManager.registerCustomCache(name, nativeCache);
+        });
+        return cacheManager;
+    }
+
+    // With a budget share, that replaces the spec's own size bound (and stats are needed to rebalance)
+    static Caffeine<Object, Object> builder(AppConfig.Cache.Spec spec, CacheEntryWeigher weigher, Long budgetShare) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (budgetShare != null) {
+            builder.maximumWeight(budgetShare).weigher(weigher);
+        } else if (spec.getMaxBytes() != null) {
+            builder.maximumWeight(spec.getMaxBytes()).weigher(weigher);
+        } else if (spec.getMaxSize() != null) {
+            builder.maximumSize(spec.getMaxSize());
+        }
+        if (spec.getExpireAfterWriteSeconds() != null) {
+            builder.expireAfterWrite(Duration.ofSeconds(spec.getExpireAfterWriteSeconds()));
+        }
+        if (spec.getExpireAfterAccessSeconds() != null) {
+            builder.expireAfterAccess(Duration.ofSeconds(spec.getExpireAfterAccessSeconds()));
+        }
+        if (spec.isRecordStats() || budgetShare != null) {
+            builder.recordStats();
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,57 @@
+// src/main/java/com/algoarena/config/CacheEntryWeigher.java
+package com.algoarena.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.io.OutputStream;
+
+/**
+ * Weighs a cache entry by the size of its JSON form - roughly what the
+ * value holds in strings, which is most of what catalog DTOs are.
+ *
+ * Computed once per put, by streaming into a counter (nothing is buffered).
+ * Values that don't serialize get a flat weight instead of failing the put.
+ */
+public final class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    static final int FALLBACK_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+
+    public CacheEntryWeigher(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, estimateBytes(value));
+    }
+
+    public long estimateBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        CountingOutputStream counter = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(counter, value);
+            return counter.count;
+        } catch (Exception e) {
+            return FALLBACK_BYTES;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
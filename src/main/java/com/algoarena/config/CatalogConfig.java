@@ -0,0 +1,45 @@
+// src/main/java/com/algoarena/config/CatalogConfig.java
+package com.algoarena.config;
+
+import com.algoarena.service.catalog.CatalogVersion;
+import com.algoarena.service.catalog.CatalogWrite;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class CatalogConfig {
+
+    /**
+     * Bumps CatalogVersion after every @CatalogWrite method.
+     *
+     * Highest precedence puts it outside the caching (and transaction)
+     * interceptors, so the bump lands after any eviction the method
+     * made - CatalogCacheInvalidator calls or @CacheEvict.
+     * Infrastructure role: without AspectJ on the classpath only
+     * infrastructure advisors are applied by the auto-proxy creator.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor catalogWriteAdvisor(ObjectProvider<CatalogVersion> catalogVersion) {
+        MethodInterceptor bumpAfter = invocation -> {
+            try {
+                return invocation.proceed();
+            } finally {
+                // Also on failure: a half-done write may still have changed something
+                catalogVersion.getObject().bump();
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(CatalogWrite.class), bumpAfter);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,201 @@
+// src/main/java/com/algoarena/config/DistributedRateLimiter.java
+package com.algoarena.config;
+
+import com.algoarena.config.RateLimitConfig.Consumption;
+import com.algoarena.config.RateLimitConfig.Policy;
+import com.algoarena.model.RateLimitWindow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide rate limiting (app.rate-limit.distributed=true).
+ *
+ * Usage is counted per (user, policy, 1-minute window) in rate_limit_windows.
+ * A node never asks Mongo for a single token: it claims a batch
+ * (prefetch-fraction of the window) with one atomic findAndModify $inc and
+ * serves requests from that local allowance until it runs out. Grants are
+ * computed from the post-increment count, so all nodes together never hand
+ * out more than the window allows - a node may only strand a few unused tokens.
+ *
+ * Once Mongo reports the window exhausted, this node rejects locally until
+ * the next window; throttled users cost no further round trips.
+ *
+ * Windows are fixed: each one allows min(capacity, refillPerMinute) tokens,
+ * which matches the local buckets for all configured limits (capacity == refill).
+ *
+ * If Mongo is unavailable tryConsume returns null and the caller falls back
+ * to the node-local bucket.
+ */
+@Component
+public class DistributedRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributedRateLimiter.class);
+
+    static final long WINDOW_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final MongoTemplate mongoTemplate;
+    private final AppConfig appConfig;
+    private final double prefetchFraction;
+
+    // Node-local share of the current window per (user, policy)
+    private final Cache<AllowanceKey, Allowance> allowances;
+
+    private final Counter localGrants;
+    private final Counter roundTrips;
+
+    private record AllowanceKey(String userId, Policy policy) {}
+
+    // Guarded by its own monitor
+    private static final class Allowance {
+        long windowStart;
+        int tokens;
+        int clusterRemaining;
+        boolean exhausted;
+
+        void reset(long windowStart) {
+            this.windowStart = windowStart;
+            this.tokens = 0;
+            this.clusterRemaining = 0;
+            this.exhausted = false;
+        }
+    }
+
+    public DistributedRateLimiter(MongoTemplate mongoTemplate, AppConfig appConfig, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.appConfig = appConfig;
+        this.prefetchFraction = appConfig.getRateLimit().getPrefetchFraction();
+        this.allowances = Caffeine.newBuilder()
+                .maximumSize(appConfig.getRateLimit().getMaxBuckets())
+                .expireAfterAccess(Duration.ofMillis(WINDOW_MILLIS * 2))
+                .build();
+
+        this.localGrants = Counter.builder("rate.limit.distributed.requests")
+                .tag("source", "local")
+                .description("Requests answered from the node-local allowance")
+                .register(meterRegistry);
+        this.roundTrips = Counter.builder("rate.limit.distributed.requests")
+                .tag("source", "mongo")
+                .description("Requests that claimed a new allowance from Mongo")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        if (!appConfig.getRateLimit().isDistributed()) {
+            return;
+        }
+        try {
+            mongoTemplate.indexOps(RateLimitWindow.class).createIndex(
+                    new Index().on("expiresAt", Sort.Direction.ASC)
+                            .named("expiresAt_ttl")
+                            .expire(Duration.ZERO));
+        } catch (Exception e) {
+            logger.warn("Failed to ensure rate_limit_windows TTL index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Take one token from the cluster-wide budget, or null if Mongo could not be reached
+     */
+    public Consumption tryConsume(String userId, Policy policy) {
+        long now = System.currentTimeMillis();
+        long windowStart = now - now % WINDOW_MILLIS;
+        long nanosToNextWindow = TimeUnit.MILLISECONDS.toNanos(windowStart + WINDOW_MILLIS - now);
+
+        Allowance allowance = allowances.get(new AllowanceKey(userId, policy), key -> new Allowance());
+        synchronized (allowance) {
+            if (allowance.windowStart != windowStart) {
+                allowance.reset(windowStart);
+            }
+
+            if (allowance.tokens == 0 && !allowance.exhausted) {
+                if (!claim(userId, policy, windowStart, allowance)) {
+                    return null;
+                }
+            } else if (allowance.tokens > 0) {
+                localGrants.increment();
+            }
+
+            if (allowance.tokens > 0) {
+                allowance.tokens--;
+                return new Consumption(true, allowance.tokens + allowance.clusterRemaining, 0);
+            }
+            return new Consumption(false, 0, nanosToNextWindow);
+        }
+    }
+
+    // Tokens one window allows, cluster-wide
+    static int windowLimit(Policy policy) {
+        return Math.min(policy.capacity(), policy.refillPerMinute());
+    }
+
+    // Tokens claimed per round trip
+    int batchSize(Policy policy) {
+        return Math.max(1, (int) Math.ceil(windowLimit(policy) * prefetchFraction));
+    }
+
+    // Caller holds the allowance monitor. Returns false if Mongo failed.
+    private boolean claim(String userId, Policy policy, long windowStart, Allowance allowance) {
+        int limit = windowLimit(policy);
+        int batch = batchSize(policy);
+        String id = userId + "|" + policy.bucket().getKey() + "|" + policy.capacity()
+                + "|" + policy.refillPerMinute() + "|" + windowStart;
+
+        RateLimitWindow window;
+        try {
+            window = incrementUsed(id, batch, windowStart);
+        } catch (DataAccessException e) {
+            logger.warn("Distributed rate limit unavailable, using local buckets: {}", e.getMessage());
+            return false;
+        }
+        roundTrips.increment();
+
+        int usedBefore = window.getUsed() - batch;
+        int granted = Math.max(0, Math.min(batch, limit - usedBefore));
+
+        allowance.tokens = granted;
+        allowance.clusterRemaining = Math.max(0, limit - window.getUsed());
+        // A short (or empty) grant means the window is spent for every node
+        allowance.exhausted = granted < batch || allowance.clusterRemaining == 0;
+        return true;
+    }
+
+    private RateLimitWindow incrementUsed(String id, int batch, long windowStart) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        // Kept one extra window so late requests from slow clocks still find the document
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(windowStart + WINDOW_MILLIS * 2), ZoneOffset.UTC);
+        Update update = new Update()
+                .inc("used", batch)
+                .setOnInsert("expiresAt", expiresAt);
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+        try {
+            return mongoTemplate.findAndModify(query, update, options, RateLimitWindow.class);
+        } catch (DuplicateKeyException e) {
+            // Two nodes upserted the same new window; the document exists now, so the retry is a plain $inc
+            return mongoTemplate.findAndModify(query, update, options, RateLimitWindow.class);
+        }
+    }
+}
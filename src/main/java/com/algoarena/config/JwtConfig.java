@@ -11,6 +11,10 @@ public class JwtConfig {
     private String secret;
     private long expiration;
     private long refreshExpiration;
+    private long verifiedTokenCacheSize = 10_000;
+    // Claims mode: access tokens carry userId/role/name, no user lookup per request
+    private boolean claimsMode = false;
+    private long claimsExpiration = 900_000;
     
     // Constructors
     public JwtConfig() {}
@@ -40,12 +44,39 @@ public class JwtConfig {
         this.refreshExpiration = refreshExpiration;
     }
     
+    public long getVerifiedTokenCacheSize() {
+        return verifiedTokenCacheSize;
+    }
+    
+    public void setVerifiedTokenCacheSize(long verifiedTokenCacheSize) {
+        this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+    }
+    
+    public boolean isClaimsMode() {
+        return claimsMode;
+    }
+    
+    public void setClaimsMode(boolean claimsMode) {
+        this.claimsMode = claimsMode;
+    }
+    
+    public long getClaimsExpiration() {
+        return claimsExpiration;
+    }
+    
+    public void setClaimsExpiration(long claimsExpiration) {
+        this.claimsExpiration = claimsExpiration;
+    }
+    
     @Override
     public String toString() {
         return "JwtConfig{" +
                 "secret='[HIDDEN]'" +
                 ", expiration=" + expiration +
                 ", refreshExpiration=" + refreshExpiration +
+                ", verifiedTokenCacheSize=" + verifiedTokenCacheSize +
+                ", claimsMode=" + claimsMode +
+                ", claimsExpiration=" + claimsExpiration +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,163 +1,160 @@
 // src/main/java/com/algoarena/config/RateLimitConfig.java
 package com.algoarena.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Per-user token buckets, held in ONE bounded store keyed by (userId, policy).
+ *
+ * Limits come from app.rate-limit.limits.<bucket>.* (see AppConfig.RateLimit);
+ * controller methods pick a bucket with @RateLimited.
+ *
+ * A bucket that has been idle long enough to be full again is dropped and
+ * recreated on the next request - same behaviour, no memory kept for users
+ * who went away. The store is also capped at app.rate-limit.max-buckets.
+ *
+ * With app.rate-limit.distributed=true, tryConsume() goes through
+ * DistributedRateLimiter so limits hold across instances; these local buckets
+ * are then only the fallback while Mongo is unreachable.
+ *
+ * Metrics: cache.size / cache.evictions / cache.gets{cache=rateLimitBuckets}
+ */
 @Component
 public class RateLimitConfig {
 
-    private final Map<String, Bucket> writeCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> readCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> approachWriteCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> approachReadCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> questionReadCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> categoryReadCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> solutionReadCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> authCache = new ConcurrentHashMap<>();
-    
-    // NEW: Course endpoints rate limiting
-    private final Map<String, Bucket> courseReadCache = new ConcurrentHashMap<>();
-
-    public Bucket resolveAuthBucket(String userId) {
-        return authCache.computeIfAbsent(userId, k -> createAuthBucket());
+    public static final String CACHE_NAME = "rateLimitBuckets";
+
+    public enum BucketType {
+        AUTH("auth"),
+        WRITE("write"),
+        READ("read"),
+        APPROACH_WRITE("approach-write"),
+        APPROACH_READ("approach-read"),
+        QUESTION_READ("question-read"),
+        CATEGORY_READ("category-read"),
+        SOLUTION_READ("solution-read"),
+        COURSE_READ("course-read"); // NEW: Course endpoints rate limiting
+
+        private final String key;
+
+        BucketType(String key) {
+            this.key = key;
+        }
+
+        // Property key under app.rate-limit.limits
+        public String getKey() { return key; }
+    }
+
+    /**
+     * Resolved limit for a bucket. Two endpoints share a budget when their policies are equal.
+     */
+    public record Policy(BucketType bucket, int capacity, int refillPerMinute) {
+
+        // Idle time after which the bucket is guaranteed to be full again
+        Duration idleExpiry() {
+            long minutes = (capacity + refillPerMinute - 1) / refillPerMinute;
+            return Duration.ofMinutes(Math.max(1, minutes));
+        }
+    }
+
+    /**
+     * Outcome of taking one token, independent of where the bucket lives
+     */
+    public record Consumption(boolean consumed, long remainingTokens, long nanosToWaitForRefill) {}
+
+    private record BucketKey(String userId, Policy policy) {}
+
+    private final AppConfig appConfig;
+    private final DistributedRateLimiter distributedRateLimiter;
+    private final Cache<BucketKey, Bucket> buckets;
+
+    public RateLimitConfig(AppConfig appConfig,
+                           DistributedRateLimiter distributedRateLimiter,
+                           MeterRegistry meterRegistry) {
+        this.appConfig = appConfig;
+        this.distributedRateLimiter = distributedRateLimiter;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(appConfig.getRateLimit().getMaxBuckets())
+                .expireAfter(new Expiry<BucketKey, Bucket>() {
+                    // Idle expiry: once a bucket would be full again it carries no state
+                    @Override
+                    public long expireAfterCreate(BucketKey key, Bucket bucket, long currentTime) {
+                        return key.policy().idleExpiry().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(BucketKey key, Bucket bucket, long currentTime, long currentDuration) {
+                        return key.policy().idleExpiry().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(BucketKey key, Bucket bucket, long currentTime, long currentDuration) {
+                        return key.policy().idleExpiry().toNanos();
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, CACHE_NAME);
+    }
+
+    /**
+     * Take one token for the user under this policy (cluster-wide when distributed mode is on)
+     */
+    public Consumption tryConsume(String userId, Policy policy) {
+        if (appConfig.getRateLimit().isDistributed()) {
+            Consumption distributed = distributedRateLimiter.tryConsume(userId, policy);
+            if (distributed != null) {
+                return distributed;
+            }
+        }
+        ConsumptionProbe probe = resolveBucket(userId, policy).tryConsumeAndReturnRemaining(1);
+        return new Consumption(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+    }
+
+    public Bucket resolveBucket(String userId, Policy policy) {
+        return buckets.get(new BucketKey(userId, policy), key -> createBucket(key.policy()));
+    }
+
+    /**
+     * Policy for a bucket; capacity/refill of -1 fall back to the configured limits
+     */
+    public Policy policyFor(BucketType bucket, int capacity, int refillPerMinute) {
+        AppConfig.RateLimit.Limit configured = appConfig.getRateLimit().getLimits().get(bucket.getKey());
+        if (configured == null) {
+            throw new IllegalStateException("No rate limit configured for bucket: " + bucket.getKey());
+        }
+        return new Policy(
+                bucket,
+                capacity > 0 ? capacity : configured.getCapacity(),
+                refillPerMinute > 0 ? refillPerMinute : configured.getRefillPerMinute());
+    }
+
+    public Policy policyFor(BucketType bucket) {
+        return policyFor(bucket, -1, -1);
     }
 
-    public Bucket resolveWriteBucket(String userId) {
-        return writeCache.computeIfAbsent(userId, k -> createWriteBucket());
+    public long size() {
+        return buckets.estimatedSize();
     }
 
-    public Bucket resolveReadBucket(String userId) {
-        return readCache.computeIfAbsent(userId, k -> createReadBucket());
-    }
-
-    public Bucket resolveApproachWriteBucket(String userId) {
-        return approachWriteCache.computeIfAbsent(userId, k -> createApproachWriteBucket());
-    }
-
-    public Bucket resolveApproachReadBucket(String userId) {
-        return approachReadCache.computeIfAbsent(userId, k -> createApproachReadBucket());
-    }
-
-    public Bucket resolveQuestionReadBucket(String userId) {
-        return questionReadCache.computeIfAbsent(userId, k -> createQuestionReadBucket());
-    }
-
-    public Bucket resolveCategoryReadBucket(String userId) {
-        return categoryReadCache.computeIfAbsent(userId, k -> createCategoryReadBucket());
-    }
-
-    public Bucket resolveSolutionReadBucket(String userId) {
-        return solutionReadCache.computeIfAbsent(userId, k -> createSolutionReadBucket());
-    }
-
-    // NEW: Course read endpoints (30/min)
-    public Bucket resolveCourseReadBucket(String userId) {
-        return courseReadCache.computeIfAbsent(userId, k -> createCourseReadBucket());
-    }
-
-    private Bucket createAuthBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(20)
-                .refillIntervally(20, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createWriteBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(10)
-                .refillIntervally(10, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(60)
-                .refillIntervally(60, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createApproachWriteBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(5)
-                .refillIntervally(5, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createApproachReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(20)
-                .refillIntervally(20, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createQuestionReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(30)
-                .refillIntervally(30, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createCategoryReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(30)
-                .refillIntervally(30, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createSolutionReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(30)
-                .refillIntervally(30, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    // NEW: 30 requests per minute for course reads
-    private Bucket createCourseReadBucket() {
+    private Bucket createBucket(Policy policy) {
         Bandwidth limit = Bandwidth.builder()
-                .capacity(30)
-                .refillIntervally(30, Duration.ofMinutes(1))
+                .capacity(policy.capacity())
+                .refillIntervally(policy.refillPerMinute(), Duration.ofMinutes(1))
                 .build();
 
         return Bucket.builder()
                 .addLimit(limit)
                 .build();
     }
-}
\ No newline at end of file
+}
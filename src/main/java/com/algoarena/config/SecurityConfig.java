@@ -4,6 +4,7 @@ package com.algoarena.config;
 import com.algoarena.security.JwtAuthenticationFilter;
 import com.algoarena.security.OAuth2SuccessHandler;
 import com.algoarena.security.OAuth2FailureHandler;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -56,6 +57,9 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+
+                        // Async re-dispatch (e.g. /compiler/execute result) - already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         
                         // ✅ GENERIC OPTIONS - SECOND RULE
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
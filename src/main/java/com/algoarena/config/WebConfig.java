@@ -1,8 +1,12 @@
 // src/main/java/com/algoarena/config/WebConfig.java
 package com.algoarena.config;
 
+import com.algoarena.interceptor.ConcurrencyLimitFilter;
 import com.algoarena.interceptor.RateLimitInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -13,18 +17,37 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private RateLimitInterceptor rateLimitInterceptor;
 
+    @Autowired
+    private AppConfig appConfig;
+
+    // Adaptive load shedding: right after the security chain, ahead of every interceptor
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitFilter concurrencyLimitFilter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(concurrencyLimitFilter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        if (!appConfig.getRateLimit().isEnabled()) {
+            return;
+        }
+        // Patterns are relative to server.servlet.context-path (/api)
         registry.addInterceptor(rateLimitInterceptor)
                 .addPathPatterns(
-                        "/api/courses/**",      // NEW: Course endpoints (30/min read)
-                        "/api/questions/**",    // Question endpoints (30/min read)
-                        "/api/categories/**",   // Category endpoints (30/min read)
-                        "/api/solutions/**",    // Solution endpoints (30/min read)
-                        "/api/approaches/**",   // Approach endpoints (5/min write, 20/min read)
-                        "/api/user/me/**",      // User endpoints (10/min for mark/unmark)
-                        "/api/auth/me",         // Auth endpoints (20/min)
-                        "/api/auth/refresh");
+                        "/courses/**",      // NEW: Course endpoints (30/min read)
+                        "/questions/**",    // Question endpoints (30/min read)
+                        "/categories/**",   // Category endpoints (30/min read)
+                        "/solutions/**",    // Solution endpoints (30/min read)
+                        "/approaches/**",   // Approach endpoints (5/min write, 20/min read)
+                        "/user/me/**",      // User endpoints (10/min for mark/unmark)
+                        "/compiler/**",     // Compiler endpoints (10/min execute)
+                        "/auth/me",         // Auth endpoints (20/min)
+                        "/auth/refresh");
     }
 }
 // ```
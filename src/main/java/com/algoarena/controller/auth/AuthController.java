@@ -1,11 +1,15 @@
 // src/main/java/com/algoarena/controller/auth/AuthController.java
 package com.algoarena.controller.auth;
 
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.interceptor.RateLimited;
 import com.algoarena.dto.auth.AuthResponse;
 import com.algoarena.dto.auth.UserInfo;
 import com.algoarena.model.User;
 import com.algoarena.service.auth.AuthService;
 import com.algoarena.service.auth.JwtService;
+import com.algoarena.service.auth.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -25,6 +29,9 @@ public class AuthController {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     // OAuth2 login endpoints (handled by Spring Security)
     @GetMapping("/google")
     public ResponseEntity<Map<String, String>> googleLogin() {
@@ -43,6 +50,7 @@ public class AuthController {
     }
 
     // Get current user information
+    @RateLimited(bucket = BucketType.AUTH)
     @GetMapping("/me")
     public ResponseEntity<UserInfo> getCurrentUser() {
         try {
@@ -62,6 +70,7 @@ public class AuthController {
     }
 
     // Refresh token endpoint
+    @RateLimited(bucket = BucketType.AUTH)
     @PostMapping("/refresh")
     public ResponseEntity<AuthResponse> refreshToken(
             @RequestHeader("Authorization") String authHeader
@@ -72,6 +81,9 @@ public class AuthController {
             }
 
             String refreshToken = authHeader.substring(7);
+            if (tokenRevocationService.isRevoked(JwtService.hashToken(refreshToken))) {
+                return ResponseEntity.status(401).build();
+            }
             String userEmail = jwtService.extractUsername(refreshToken);
             
             User user = authService.getCurrentUser(userEmail);
@@ -86,14 +98,37 @@ public class AuthController {
         }
     }
 
-    // Logout endpoint (client-side token removal)
+    // Logout endpoint - revokes the access token (and refresh token, if sent) server-side
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout() {
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody(required = false) Map<String, String> body
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            revokeQuietly(authHeader.substring(7));
+        }
+        if (body != null && body.get("refreshToken") != null) {
+            revokeQuietly(body.get("refreshToken"));
+        }
+
         Map<String, String> response = new HashMap<>();
         response.put("message", "Logged out successfully");
         return ResponseEntity.ok(response);
     }
 
+    // Invalid or already expired tokens need no revocation
+    private void revokeQuietly(String token) {
+        try {
+            Claims claims = jwtService.verifyToken(token);
+            Object userId = claims.get(JwtService.CLAIM_USER_ID);
+            tokenRevocationService.revoke(token,
+                    userId != null ? userId.toString() : claims.getSubject(),
+                    claims.getExpiration());
+        } catch (Exception e) {
+            // Token not valid - nothing to revoke
+        }
+    }
+
     // Health check for auth service
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
@@ -1,14 +1,33 @@
 // src/main/java/com/algoarena/controller/compiler/CompilerController.java
 package com.algoarena.controller.compiler;
 
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.interceptor.RateLimited;
+import com.algoarena.model.User;
+import com.algoarena.dto.compiler.BatchExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionEvent;
 import com.algoarena.dto.compiler.ExecutionRequest;
 import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionBackendUnavailableException;
+import com.algoarena.exception.ExecutionBudgetExceededException;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.service.compiler.BatchExecutionService;
 import com.algoarena.service.compiler.PistonService;
+import com.algoarena.service.compiler.RuntimeCatalog;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.List;
@@ -22,36 +41,72 @@ public class CompilerController {
     @Autowired
     private PistonService pistonService;
 
+    @Autowired
+    private BatchExecutionService batchExecutionService;
+
+    // Async: the servlet thread is released while Piston runs the code
+    @RateLimited(bucket = BucketType.WRITE)
     @PostMapping("/execute")
-    public ResponseEntity<Map<String, Object>> executeCode(@Valid @RequestBody ExecutionRequest request) {
-        try {
-            ExecutionResponse result = pistonService.executeCode(request);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", result);
-            
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("error", "Code execution failed");
-            response.put("message", e.getMessage());
-            
-            return ResponseEntity.status(500).body(response);
-        }
+    public Mono<ResponseEntity<Map<String, Object>>> executeCode(@Valid @RequestBody ExecutionRequest request,
+                                                                 Authentication authentication) {
+        return pistonService.executeCode(request, userId(authentication))
+                .map(result -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("data", result);
+                    
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.just(executionFailure(e, "Code execution failed")));
     }
 
+    // Server-Sent Events: compile, stdout/stderr chunks as they are produced, truncated, exit.
+    // Failures (including capacity) arrive as an "error" event, the stream is already open.
+    @RateLimited(bucket = BucketType.WRITE)
+    @PostMapping(value = "/execute/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ExecutionEvent>> streamExecution(@Valid @RequestBody ExecutionRequest request,
+                                                                 Authentication authentication) {
+        return pistonService.streamCode(request, userId(authentication))
+                .onErrorResume(e -> Flux.just(ExecutionEvent.error(e.getMessage())))
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType().eventName())
+                        .build());
+    }
+
+    // One program against many stdin/expected-output cases, run in parallel
+    @RateLimited(bucket = BucketType.WRITE)
+    @PostMapping("/execute/batch")
+    public Mono<ResponseEntity<Map<String, Object>>> executeBatch(@Valid @RequestBody BatchExecutionRequest request,
+                                                                  Authentication authentication) {
+        return batchExecutionService.executeBatch(request, userId(authentication))
+                .map(result -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("data", result);
+                    
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.just(executionFailure(e, "Batch execution failed")));
+    }
+
+    // Served from the cached runtime catalog; ETag changes only when Piston's runtimes do
     @GetMapping("/runtimes")
-    public ResponseEntity<Map<String, Object>> getRuntimes() {
+    public ResponseEntity<Map<String, Object>> getRuntimes(WebRequest webRequest) {
         try {
+            RuntimeCatalog catalog = pistonService.currentCatalog();
+            if (!catalog.isEmpty() && webRequest.checkNotModified(catalog.getEtag())) {
+                return null; // 304 already written
+            }
             List<Map<String, Object>> runtimes = pistonService.getRuntimes();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("data", runtimes);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .eTag(catalog.getEtag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -63,15 +118,26 @@ public class CompilerController {
     }
 
     @GetMapping("/languages")
-    public ResponseEntity<Map<String, Object>> getSupportedLanguages() {
+    public ResponseEntity<Map<String, Object>> getSupportedLanguages(WebRequest webRequest) {
         try {
+            RuntimeCatalog catalog = pistonService.currentCatalog();
+            if (!catalog.isEmpty() && webRequest.checkNotModified(catalog.getEtag())) {
+                return null; // 304 already written
+            }
             List<String> languages = pistonService.getSupportedLanguages();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("data", languages);
             
-            return ResponseEntity.ok(response);
+            // Fallback list (no catalog yet) is not cacheable
+            if (catalog.isEmpty()) {
+                return ResponseEntity.ok(response);
+            }
+            return ResponseEntity.ok()
+                    .eTag(catalog.getEtag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -82,6 +148,7 @@ public class CompilerController {
         }
     }
 
+    // Includes per-endpoint circuit breaker state and p95 latency for the Piston backend
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
         Map<String, Object> result = pistonService.testConnection();
@@ -92,6 +159,38 @@ public class CompilerController {
             return ResponseEntity.status(503).body(result);
         }
     }
-}
 
- 
\ No newline at end of file
+    // Overload and quota are told apart from failures: no slot or no backend is 503, spent budget 429
+    private static ResponseEntity<Map<String, Object>> executionFailure(Throwable e, String error) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", error);
+        response.put("message", e.getMessage());
+        
+        if (e instanceof ExecutionCapacityExceededException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .body(response);
+        }
+        if (e instanceof ExecutionBudgetExceededException budget) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(budget.getRetryAfterSeconds()))
+                    .body(response);
+        }
+        // Every Piston endpoint's circuit breaker is open
+        if (e instanceof ExecutionBackendUnavailableException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .body(response);
+        }
+        return ResponseEntity.status(500).body(response);
+    }
+
+    // Fair-share key; null lets the scheduler use a shared bucket
+    private static String userId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
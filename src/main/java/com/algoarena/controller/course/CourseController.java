@@ -1,11 +1,14 @@
 // src/main/java/com/algoarena/controller/course/CourseController.java
 package com.algoarena.controller.course;
 
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.interceptor.RateLimited;
 import com.algoarena.dto.course.CourseDocDTO;
 import com.algoarena.dto.course.CourseTopicDTO;
 import com.algoarena.dto.course.CourseTopicNameDTO;
 import com.algoarena.dto.course.MoveDocRequest;
 import com.algoarena.model.User;
+import com.algoarena.service.catalog.CatalogVersion;
 import com.algoarena.service.course.CourseDocService;
 import com.algoarena.service.course.CourseTopicService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.HashMap;
@@ -29,12 +33,16 @@ public class CourseController {
     @Autowired
     private CourseDocService docService;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     // ==================== PUBLIC ENDPOINTS ====================
 
     /**
      * Get course statistics
      * GET /api/courses/stats
      */
+    @RateLimited(bucket = BucketType.COURSE_READ)
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getCourseStats() {
         try {
@@ -57,10 +65,16 @@ public class CourseController {
     /**
      * Get PUBLIC topic names only (for dropdowns, navigation)
      * GET /api/courses/topicsnames
+     * ETag = catalog version; If-None-Match answered with 304
      */
+    @RateLimited(bucket = BucketType.COURSE_READ)
     @GetMapping("/topicsnames")
-    public ResponseEntity<Map<String, Object>> getPublicTopicNames() {
+    public ResponseEntity<Map<String, Object>> getPublicTopicNames(WebRequest webRequest) {
         try {
+            ResponseEntity<Map<String, Object>> notModified = catalogVersion.notModified(webRequest);
+            if (notModified != null) {
+                return notModified;
+            }
             List<CourseTopicNameDTO> topicNames = topicService.getPublicTopicNames();
 
             Map<String, Object> response = new HashMap<>();
@@ -68,7 +82,7 @@ public class CourseController {
             response.put("data", topicNames);
             response.put("count", topicNames.size());
 
-            return ResponseEntity.ok(response);
+            return catalogVersion.ok(webRequest).body(response);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -82,6 +96,7 @@ public class CourseController {
      * Get ALL topic names (admin only, for management)
      * GET /api/courses/topicsnamesall
      */
+    @RateLimited(bucket = BucketType.COURSE_READ)
     @GetMapping("/topicsnamesall")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
     public ResponseEntity<Map<String, Object>> getAllTopicNames() {
@@ -107,6 +122,7 @@ public class CourseController {
      * Get documents by topic (WITHOUT content)
      * GET /api/courses/topics/{topicId}/docs
      */
+    @RateLimited(bucket = BucketType.COURSE_READ)
     @GetMapping("/topics/{topicId}/docs")
     public ResponseEntity<Map<String, Object>> getDocsByTopic(@PathVariable String topicId) {
         try {
@@ -139,6 +155,7 @@ public class CourseController {
      * Get single document WITH content
      * GET /api/courses/docs/{docId}
      */
+    @RateLimited(bucket = BucketType.COURSE_READ)
     @GetMapping("/docs/{docId}")
     public ResponseEntity<Map<String, Object>> getDocById(@PathVariable String docId) {
         try {
@@ -1,6 +1,8 @@
 // src/main/java/com/algoarena/controller/course/CourseImageController.java
 package com.algoarena.controller.course;
 
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.interceptor.RateLimited;
 import com.algoarena.service.file.CloudinaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -109,6 +111,7 @@ public class CourseImageController {
      * Get image upload configuration
      * GET /api/courses/images/config
      */
+    @RateLimited(bucket = BucketType.COURSE_READ)
     @GetMapping("/config")
     public ResponseEntity<Map<String, Object>> getImageConfig() {
         Map<String, Object> config = new HashMap<>();
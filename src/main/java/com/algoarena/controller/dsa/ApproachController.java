@@ -1,6 +1,8 @@
 // src/main/java/com/algoarena/controller/dsa/ApproachController.java
 package com.algoarena.controller.dsa;
 
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.interceptor.RateLimited;
 import com.algoarena.dto.dsa.ApproachDetailDTO;
 import com.algoarena.dto.dsa.ApproachMetadataDTO;
 import com.algoarena.model.User;
@@ -23,6 +25,7 @@ public class ApproachController {
     @Autowired
     private ApproachService approachService;
 
+    @RateLimited(bucket = BucketType.APPROACH_READ)
     @GetMapping("/question/{questionId}") // all user approaches metadata only for this question
     public ResponseEntity<List<ApproachMetadataDTO>> getMyApproachesForQuestion(
             @PathVariable String questionId,
@@ -36,6 +39,7 @@ public class ApproachController {
         return ResponseEntity.ok(approaches);
     }
 
+    @RateLimited(bucket = BucketType.APPROACH_READ)
     @GetMapping("/question/{questionId}/{approachId}")   // sepecific approach full content
     public ResponseEntity<ApproachDetailDTO> getMyApproachDetail(
             @PathVariable String questionId,
@@ -54,6 +58,7 @@ public class ApproachController {
         }
     }
 
+    @RateLimited(bucket = BucketType.APPROACH_READ)
     @GetMapping("/question/{questionId}/usage")
     public ResponseEntity<Map<String, Object>> getMyQuestionUsage(
             @PathVariable String questionId,
@@ -66,6 +71,7 @@ public class ApproachController {
         return ResponseEntity.ok(usage);
     }
 
+    @RateLimited(bucket = BucketType.APPROACH_WRITE)
     @PostMapping("/question/{questionId}")
     public ResponseEntity<Map<String, Object>> createApproach(
             @PathVariable String questionId,
@@ -94,6 +100,7 @@ public class ApproachController {
         }
     }
 
+    @RateLimited(bucket = BucketType.APPROACH_WRITE)
     @PutMapping("/question/{questionId}/{approachId}")
     public ResponseEntity<Map<String, Object>> updateApproach(
             @PathVariable String questionId,
@@ -123,6 +130,7 @@ public class ApproachController {
         }
     }
 
+    @RateLimited(bucket = BucketType.APPROACH_WRITE)
     @DeleteMapping("/question/{questionId}/{approachId}")
     public ResponseEntity<Map<String, Object>> deleteApproach(
             @PathVariable String questionId,
@@ -150,6 +158,7 @@ public class ApproachController {
      * Delete all approaches for a question (Admin only)
      * Useful for clearing spam or resetting a question
      */
+    @RateLimited(bucket = BucketType.APPROACH_WRITE)
     @DeleteMapping("/question/{questionId}/all")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
     public ResponseEntity<Map<String, Object>> deleteAllApproachesForQuestion(
@@ -175,6 +184,7 @@ public class ApproachController {
      * Delete all approaches by a specific user for a question (Admin only)
      * Useful for moderation (removing spam/abuse)
      */
+    @RateLimited(bucket = BucketType.APPROACH_WRITE)
     @DeleteMapping("/question/{questionId}/user/{userId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
     public ResponseEntity<Map<String, Object>> deleteUserApproachesForQuestion(
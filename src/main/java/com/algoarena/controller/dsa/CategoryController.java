@@ -2,9 +2,12 @@
 
 package com.algoarena.controller.dsa;
 
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.interceptor.RateLimited;
 import com.algoarena.dto.dsa.CategoryDTO;
 import com.algoarena.dto.dsa.CategoryMetadataDTO;
 import com.algoarena.model.User;
+import com.algoarena.service.catalog.CatalogVersion;
 import com.algoarena.service.dsa.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -24,21 +28,31 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     /**
      * GET /api/categories
      * Get all categories with question IDs
+     * ETag = catalog version; If-None-Match answered with 304
      */
+    @RateLimited(bucket = BucketType.CATEGORY_READ)
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Map<String, CategoryDTO>> getAllCategories() {
+    public ResponseEntity<Map<String, CategoryDTO>> getAllCategories(WebRequest webRequest) {
+        ResponseEntity<Map<String, CategoryDTO>> notModified = catalogVersion.notModified(webRequest);
+        if (notModified != null) {
+            return notModified;
+        }
         Map<String, CategoryDTO> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+        return catalogVersion.ok(webRequest).body(categories);
     }   
 
     /**
      * GET /api/categories/metadata
      * Get category metadata (id + name only) for admin dropdowns
      * No caching - fast enough for 50 categories
+     * ETag = catalog version; If-None-Match answered with 304
      * 
      * Response:
      * [
@@ -47,17 +61,23 @@ public class CategoryController {
      *   ...
      * ]
      */
+    @RateLimited(bucket = BucketType.CATEGORY_READ)
     @GetMapping("/metadata")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<CategoryMetadataDTO>> getCategoriesMetadata() {
+    public ResponseEntity<List<CategoryMetadataDTO>> getCategoriesMetadata(WebRequest webRequest) {
+        ResponseEntity<List<CategoryMetadataDTO>> notModified = catalogVersion.notModified(webRequest);
+        if (notModified != null) {
+            return notModified;
+        }
         List<CategoryMetadataDTO> metadata = categoryService.getCategoriesMetadata();
-        return ResponseEntity.ok(metadata);
+        return catalogVersion.ok(webRequest).body(metadata);
     }
 
     /**
      * GET /api/categories/{id}
      * Get single category by ID
      */
+    @RateLimited(bucket = BucketType.CATEGORY_READ)
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable String id) {
@@ -1,9 +1,12 @@
 // src/main/java/com/algoarena/controller/dsa/QuestionController.java
 package com.algoarena.controller.dsa;
 
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.interceptor.RateLimited;
 import com.algoarena.dto.dsa.QuestionDTO;
 import com.algoarena.dto.user.QuestionsMetadataDTO;
 import com.algoarena.model.User;
+import com.algoarena.service.catalog.CatalogVersion;
 import com.algoarena.service.dsa.QuestionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -21,6 +25,9 @@ public class QuestionController {
     @Autowired
     private QuestionService questionService;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     // ============================================
     // ADMIN ENDPOINTS
     // ============================================
@@ -68,6 +75,7 @@ public class QuestionController {
      * Rate limited: 30 requests per minute per user
      * Globally cached for all users
      */
+    @RateLimited(bucket = BucketType.QUESTION_READ)
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<QuestionDTO> getQuestionById(@PathVariable String id) {
@@ -83,11 +91,17 @@ public class QuestionController {
      * Get questions metadata (lightweight)
      * Rate limited: 30 requests per minute per user
      * Contains question ID, title, level, and categoryId for all questions
+     * ETag = catalog version; If-None-Match answered with 304
      */
+    @RateLimited(bucket = BucketType.QUESTION_READ)
     @GetMapping("/metadata")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<QuestionsMetadataDTO> getQuestionsMetadata() {
+    public ResponseEntity<QuestionsMetadataDTO> getQuestionsMetadata(WebRequest webRequest) {
+        ResponseEntity<QuestionsMetadataDTO> notModified = catalogVersion.notModified(webRequest);
+        if (notModified != null) {
+            return notModified;
+        }
         QuestionsMetadataDTO metadata = questionService.getQuestionsMetadata();
-        return ResponseEntity.ok(metadata);
+        return catalogVersion.ok(webRequest).body(metadata);
     }
 }
\ No newline at end of file
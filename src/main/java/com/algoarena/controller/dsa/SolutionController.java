@@ -1,6 +1,8 @@
 // src/main/java/com/algoarena/controller/dsa/SolutionController.java
 package com.algoarena.controller.dsa;
 
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.interceptor.RateLimited;
 import com.algoarena.dto.dsa.SolutionDTO;
 import com.algoarena.model.User;
 import com.algoarena.service.dsa.SolutionService;
@@ -22,6 +24,7 @@ public class SolutionController {
     @Autowired
     private SolutionService solutionService;
 
+    @RateLimited(bucket = BucketType.SOLUTION_READ)
     @GetMapping("/{id}") //  specific solution
     public ResponseEntity<SolutionDTO> getSolutionById(@PathVariable String id) {
         SolutionDTO solution = solutionService.getSolutionById(id);
@@ -31,6 +34,7 @@ public class SolutionController {
         return ResponseEntity.ok(solution);
     }
  
+    @RateLimited(bucket = BucketType.SOLUTION_READ)
     @GetMapping("/question/{questionId}")  // all solutions belong to that question id
     public ResponseEntity<List<SolutionDTO>> getSolutionsByQuestion(@PathVariable String questionId) {
         List<SolutionDTO> solutions = solutionService.getSolutionsByQuestion(questionId);
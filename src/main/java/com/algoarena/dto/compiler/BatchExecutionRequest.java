@@ -0,0 +1,77 @@
+// src/main/java/com/algoarena/dto/compiler/BatchExecutionRequest.java
+package com.algoarena.dto.compiler;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BatchExecutionRequest {
+
+    @NotBlank(message = "Language is required")
+    private String language;
+
+    private String version; // Optional: missing or "latest" resolves to the newest runtime
+
+    @NotBlank(message = "Code is required")
+    @Size(max = 50000, message = "Code must not exceed 50,000 characters")
+    private String code;
+
+    private List<String> args; // Command line arguments (same for every case)
+    private List<ExecutionRequest.FileContent> files; // Additional files
+
+    @NotEmpty(message = "At least one test case is required")
+    @Valid
+    private List<TestCase> cases;
+
+    private boolean stopOnFirstFailure; // Skip remaining cases once one fails
+
+    // Inner class for a single test case
+    public static class TestCase {
+        private String stdin;
+        private String expectedOutput; // null = only check the program exits cleanly
+
+        // Constructors
+        public TestCase() {}
+
+        public TestCase(String stdin, String expectedOutput) {
+            this.stdin = stdin;
+            this.expectedOutput = expectedOutput;
+        }
+
+        // Getters and Setters
+        public String getStdin() { return stdin; }
+        public void setStdin(String stdin) { this.stdin = stdin; }
+        public String getExpectedOutput() { return expectedOutput; }
+        public void setExpectedOutput(String expectedOutput) { this.expectedOutput = expectedOutput; }
+    }
+
+    // Constructors
+    public BatchExecutionRequest() {}
+
+    // Single-case request for one test case
+    public ExecutionRequest toExecutionRequest(TestCase testCase) {
+        ExecutionRequest request = new ExecutionRequest(language, version, code);
+        request.setStdin(testCase.getStdin());
+        request.setArgs(args);
+        request.setFiles(files);
+        return request;
+    }
+
+    // Getters and Setters
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+    public String getVersion() { return version; }
+    public void setVersion(String version) { this.version = version; }
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+    public List<String> getArgs() { return args; }
+    public void setArgs(List<String> args) { this.args = args; }
+    public List<ExecutionRequest.FileContent> getFiles() { return files; }
+    public void setFiles(List<ExecutionRequest.FileContent> files) { this.files = files; }
+    public List<TestCase> getCases() { return cases; }
+    public void setCases(List<TestCase> cases) { this.cases = cases; }
+    public boolean isStopOnFirstFailure() { return stopOnFirstFailure; }
+    public void setStopOnFirstFailure(boolean stopOnFirstFailure) { this.stopOnFirstFailure = stopOnFirstFailure; }
+}
@@ -0,0 +1,77 @@
+// src/main/java/com/algoarena/dto/compiler/BatchExecutionResponse.java
+package com.algoarena.dto.compiler;
+
+import java.util.List;
+
+public class BatchExecutionResponse {
+
+    public enum Verdict {
+        ACCEPTED, WRONG_ANSWER, COMPILE_ERROR, RUNTIME_ERROR, ERROR
+    }
+
+    public enum CaseStatus {
+        PASSED, WRONG_ANSWER, COMPILE_ERROR, RUNTIME_ERROR, ERROR, SKIPPED
+    }
+
+    private Verdict verdict; // From the first case that did not pass
+    private int passed;
+    private int total;
+    private long totalTimeMs; // Wall time for the whole batch
+    private List<CaseResult> cases;
+
+    // Inner class for per-case results
+    public static class CaseResult {
+        private int index;
+        private CaseStatus status;
+        private String stdout;
+        private String stderr;
+        private String expectedOutput;
+        private int exitCode;
+        private String signal;
+        private String error; // Execution error (capacity, timeout, Piston unreachable)
+        private long timeMs;
+
+        // Constructors
+        public CaseResult() {}
+
+        public CaseResult(int index, CaseStatus status) {
+            this.index = index;
+            this.status = status;
+        }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public CaseStatus getStatus() { return status; }
+        public void setStatus(CaseStatus status) { this.status = status; }
+        public String getStdout() { return stdout; }
+        public void setStdout(String stdout) { this.stdout = stdout; }
+        public String getStderr() { return stderr; }
+        public void setStderr(String stderr) { this.stderr = stderr; }
+        public String getExpectedOutput() { return expectedOutput; }
+        public void setExpectedOutput(String expectedOutput) { this.expectedOutput = expectedOutput; }
+        public int getExitCode() { return exitCode; }
+        public void setExitCode(int exitCode) { this.exitCode = exitCode; }
+        public String getSignal() { return signal; }
+        public void setSignal(String signal) { this.signal = signal; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+        public long getTimeMs() { return timeMs; }
+        public void setTimeMs(long timeMs) { this.timeMs = timeMs; }
+    }
+
+    // Constructors
+    public BatchExecutionResponse() {}
+
+    // Getters and Setters
+    public Verdict getVerdict() { return verdict; }
+    public void setVerdict(Verdict verdict) { this.verdict = verdict; }
+    public int getPassed() { return passed; }
+    public void setPassed(int passed) { this.passed = passed; }
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    public long getTotalTimeMs() { return totalTimeMs; }
+    public void setTotalTimeMs(long totalTimeMs) { this.totalTimeMs = totalTimeMs; }
+    public List<CaseResult> getCases() { return cases; }
+    public void setCases(List<CaseResult> cases) { this.cases = cases; }
+}
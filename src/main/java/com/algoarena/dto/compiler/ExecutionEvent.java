@@ -0,0 +1,102 @@
+// src/main/java/com/algoarena/dto/compiler/ExecutionEvent.java
+package com.algoarena.dto.compiler;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One Server-Sent Event of a streamed execution (/compiler/execute/stream).
+ *
+ * Order: [compile] -> stdout/stderr chunks (interleaved) -> [truncated] -> exit.
+ * A failed compile ends the stream after the compile event; any failure
+ * ends it with an error event.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // Don't include null fields in JSON response
+public class ExecutionEvent {
+
+    public enum Type {
+        COMPILE, STDOUT, STDERR, TRUNCATED, EXIT, ERROR;
+
+        // SSE event name
+        public String eventName() {
+            return name().toLowerCase();
+        }
+    }
+
+    private Type type;
+    private String data;    // Output chunk (stdout/stderr), compiler output (compile), message (error)
+    private String stream;  // "stdout" / "stderr" for truncated events
+    private Integer code;   // Exit code (compile/exit)
+    private String signal;  // Signal if killed (compile/exit)
+    private Long limitBytes; // Cap that was hit (truncated)
+    private Long timeMs;    // Wall time (exit)
+
+    // Constructors
+    public ExecutionEvent() {}
+
+    public ExecutionEvent(Type type) {
+        this.type = type;
+    }
+
+    public static ExecutionEvent stdout(String chunk) {
+        ExecutionEvent event = new ExecutionEvent(Type.STDOUT);
+        event.setData(chunk);
+        return event;
+    }
+
+    public static ExecutionEvent stderr(String chunk) {
+        ExecutionEvent event = new ExecutionEvent(Type.STDERR);
+        event.setData(chunk);
+        return event;
+    }
+
+    public static ExecutionEvent compile(ExecutionResponse.CompileResult compile) {
+        ExecutionEvent event = new ExecutionEvent(Type.COMPILE);
+        event.setData(compile.getOutput());
+        event.setCode(compile.getCode());
+        event.setSignal(compile.getSignal());
+        return event;
+    }
+
+    public static ExecutionEvent truncated(String stream, long limitBytes) {
+        ExecutionEvent event = new ExecutionEvent(Type.TRUNCATED);
+        event.setStream(stream);
+        event.setLimitBytes(limitBytes);
+        return event;
+    }
+
+    public static ExecutionEvent exit(int code, String signal, Long timeMs) {
+        ExecutionEvent event = new ExecutionEvent(Type.EXIT);
+        event.setCode(code);
+        event.setSignal(signal);
+        event.setTimeMs(timeMs);
+        return event;
+    }
+
+    public static ExecutionEvent error(String message) {
+        ExecutionEvent event = new ExecutionEvent(Type.ERROR);
+        event.setData(message);
+        return event;
+    }
+
+    @JsonIgnore
+    public boolean isCompileFailure() {
+        return type == Type.COMPILE && ((code != null && code != 0) || signal != null);
+    }
+
+    // Getters and Setters
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    public String getData() { return data; }
+    public void setData(String data) { this.data = data; }
+    public String getStream() { return stream; }
+    public void setStream(String stream) { this.stream = stream; }
+    public Integer getCode() { return code; }
+    public void setCode(Integer code) { this.code = code; }
+    public String getSignal() { return signal; }
+    public void setSignal(String signal) { this.signal = signal; }
+    public Long getLimitBytes() { return limitBytes; }
+    public void setLimitBytes(Long limitBytes) { this.limitBytes = limitBytes; }
+    public Long getTimeMs() { return timeMs; }
+    public void setTimeMs(Long timeMs) { this.timeMs = timeMs; }
+}
@@ -10,8 +10,7 @@ public class ExecutionRequest {
     @NotBlank(message = "Language is required")
     private String language;
 
-    @NotBlank(message = "Version is required")
-    private String version;
+    private String version; // Optional: missing or "latest" resolves to the newest runtime
 
     @NotBlank(message = "Code is required")
     @Size(max = 50000, message = "Code must not exceed 50,000 characters")
@@ -7,6 +7,8 @@ public class ExecutionResponse {
     private String version;
     private RunResult run;
     private CompileResult compile; // For compiled languages
+    private Long queueWaitMs; // Time spent waiting for an execution slot (per request)
+    private Long budgetRemainingMs; // Caller's execution budget left after this run (per request)
 
     // Inner class for run results
     public static class RunResult {
@@ -15,6 +17,8 @@ public class ExecutionResponse {
         private int code; // Exit code
         private String signal; // Signal if terminated
         private String output; // Combined stdout + stderr
+        private Long cpuTimeMs; // As reported by the executor, if it does
+        private Long wallTimeMs;
 
         // Constructors
         public RunResult() {}
@@ -30,6 +34,10 @@ public class ExecutionResponse {
         public void setSignal(String signal) { this.signal = signal; }
         public String getOutput() { return output; }
         public void setOutput(String output) { this.output = output; }
+        public Long getCpuTimeMs() { return cpuTimeMs; }
+        public void setCpuTimeMs(Long cpuTimeMs) { this.cpuTimeMs = cpuTimeMs; }
+        public Long getWallTimeMs() { return wallTimeMs; }
+        public void setWallTimeMs(Long wallTimeMs) { this.wallTimeMs = wallTimeMs; }
     }
 
     // Inner class for compile results
@@ -37,7 +45,10 @@ public class ExecutionResponse {
         private String stdout;
         private String stderr;
         private int code;
+        private String signal; // Signal if the compiler was killed
         private String output;
+        private Long cpuTimeMs;
+        private Long wallTimeMs;
 
         // Constructors
         public CompileResult() {}
@@ -49,13 +60,31 @@ public class ExecutionResponse {
         public void setStderr(String stderr) { this.stderr = stderr; }
         public int getCode() { return code; }
         public void setCode(int code) { this.code = code; }
+        public String getSignal() { return signal; }
+        public void setSignal(String signal) { this.signal = signal; }
         public String getOutput() { return output; }
         public void setOutput(String output) { this.output = output; }
+        public Long getCpuTimeMs() { return cpuTimeMs; }
+        public void setCpuTimeMs(Long cpuTimeMs) { this.cpuTimeMs = cpuTimeMs; }
+        public Long getWallTimeMs() { return wallTimeMs; }
+        public void setWallTimeMs(Long wallTimeMs) { this.wallTimeMs = wallTimeMs; }
     }
 
     // Constructors
     public ExecutionResponse() {}
 
+    // Shallow copy for per-request fields; cached responses are shared between requests
+    public ExecutionResponse copy() {
+        ExecutionResponse copy = new ExecutionResponse();
+        copy.language = language;
+        copy.version = version;
+        copy.run = run;
+        copy.compile = compile;
+        copy.queueWaitMs = queueWaitMs;
+        copy.budgetRemainingMs = budgetRemainingMs;
+        return copy;
+    }
+
     // Getters and Setters
     public String getLanguage() {
         return language;
@@ -89,6 +118,22 @@ public class ExecutionResponse {
         this.compile = compile;
     }
 
+    public Long getQueueWaitMs() {
+        return queueWaitMs;
+    }
+
+    public void setQueueWaitMs(Long queueWaitMs) {
+        this.queueWaitMs = queueWaitMs;
+    }
+
+    public Long getBudgetRemainingMs() {
+        return budgetRemainingMs;
+    }
+
+    public void setBudgetRemainingMs(Long budgetRemainingMs) {
+        this.budgetRemainingMs = budgetRemainingMs;
+    }
+
     // Helper methods
     public boolean hasCompileError() {
         return compile != null && compile.getCode() != 0;
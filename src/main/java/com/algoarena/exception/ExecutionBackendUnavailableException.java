@@ -0,0 +1,8 @@
+// File: src/main/java/com/algoarena/exception/ExecutionBackendUnavailableException.java
+package com.algoarena.exception;
+
+public class ExecutionBackendUnavailableException extends RuntimeException {
+    public ExecutionBackendUnavailableException() {
+        super("Code execution servers are temporarily unavailable. Please try again shortly.");
+    }
+}
@@ -0,0 +1,16 @@
+// File: src/main/java/com/algoarena/exception/ExecutionBudgetExceededException.java
+package com.algoarena.exception;
+
+public class ExecutionBudgetExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExecutionBudgetExceededException(long retryAfterSeconds) {
+        super("Execution time budget used up. More becomes available in " + retryAfterSeconds + " seconds.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+// File: src/main/java/com/algoarena/exception/ExecutionCapacityExceededException.java
+package com.algoarena.exception;
+
+public class ExecutionCapacityExceededException extends RuntimeException {
+    public ExecutionCapacityExceededException() {
+        super("Code execution is at capacity. Please try again in a few seconds.");
+    }
+
+    public ExecutionCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+// File: src/main/java/com/algoarena/exception/ExecutionTimeoutException.java
+package com.algoarena.exception;
+
+public class ExecutionTimeoutException extends RuntimeException {
+    public ExecutionTimeoutException(long timeoutMs) {
+        super("Code execution timed out after " + timeoutMs + "ms");
+    }
+}
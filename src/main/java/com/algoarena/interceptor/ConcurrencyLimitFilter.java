@@ -0,0 +1,205 @@
+// src/main/java/com/algoarena/interceptor/ConcurrencyLimitFilter.java
+package com.algoarena.interceptor;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.util.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sheds load before Tomcat threads pile up behind a slow Mongo or Piston.
+ *
+ * Each endpoint group has its own AdaptiveConcurrencyLimiter:
+ *   catalog - GETs on questions, categories, solutions, courses
+ *   default - everything else under /api (actuator and keep-alive excluded)
+ *
+ * /compiler/execute* is not limited here: its latency is mostly the
+ * submitted program's runtime and fair-share queue wait, not congestion,
+ * so a few slow programs would shrink the limit for everyone. Execution
+ * admission is ExecutionScheduler's (and each backend's concurrency cap).
+ *
+ * Over the limit the request is answered immediately with 503 + Retry-After.
+ * Registered in WebConfig right after the security chain, so it runs ahead of
+ * RateLimitInterceptor and 503s still carry CORS headers.
+ *
+ * Metrics (tag group): concurrency.limit, concurrency.inflight, concurrency.rejected
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String GROUP_CATALOG = "catalog";
+    public static final String GROUP_DEFAULT = "default";
+
+    private static final List<String> CATALOG_PATHS = List.of(
+            "/questions", "/categories", "/solutions", "/courses");
+
+    private static final List<String> EXCLUDED_PATHS = List.of(
+            "/actuator", "/status", "/health", "/error", "/compiler/execute");
+
+    private static final String SHED_BODY =
+            "{\"success\":false,\"error\":\"Service busy\",\"message\":\"Server is under heavy load. Please retry shortly.\"}";
+
+    private final AppConfig.Concurrency config;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new HashMap<>();
+    private final Map<String, Counter> rejections = new HashMap<>();
+
+    public ConcurrencyLimitFilter(AppConfig appConfig, MeterRegistry meterRegistry) {
+        this.config = appConfig.getConcurrency();
+
+        for (String group : List.of(GROUP_CATALOG, GROUP_DEFAULT)) {
+            AppConfig.Concurrency.Limit settings = config.getLimits().get(group);
+            if (settings == null) {
+                continue; // Group not configured - not limited
+            }
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    settings.getInitialLimit(), settings.getMinLimit(), settings.getMaxLimit(),
+                    config.getRttTolerance());
+            limiters.put(group, limiter);
+
+            Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("group", group)
+                    .description("Current adaptive concurrency limit")
+                    .register(meterRegistry);
+            Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("group", group)
+                    .description("Requests currently in flight")
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder("concurrency.rejected")
+                    .tag("group", group)
+                    .description("Requests shed with 503")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!config.isEnabled() || "OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        String path = pathWithinContext(request);
+        return EXCLUDED_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String group = groupFor(request);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(group);
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            rejections.get(group).increment();
+            shed(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean released = false;
+        try {
+            filterChain.doFilter(request, response);
+
+            if (request.isAsyncStarted()) {
+                // Deferred results: hold the slot until the async work completes
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+                released = true;
+            } else {
+                released = true;
+                limiter.release(System.nanoTime() - start, isFailure(response));
+            }
+        } finally {
+            if (!released) {
+                limiter.release(System.nanoTime() - start, true);
+            }
+        }
+    }
+
+    private String groupFor(HttpServletRequest request) {
+        String path = pathWithinContext(request);
+        if ("GET".equalsIgnoreCase(request.getMethod())
+                && CATALOG_PATHS.stream().anyMatch(path::startsWith)) {
+            return GROUP_CATALOG;
+        }
+        return GROUP_DEFAULT;
+    }
+
+    private void shed(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(SHED_BODY);
+    }
+
+    private static String pathWithinContext(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean isFailure(HttpServletResponse response) {
+        // 503 from downstream overload counts; client errors (4xx) say nothing about capacity
+        return response.getStatus() >= 500;
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+        private boolean done;
+
+        ReleaseOnComplete(AdaptiveConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            release(response != null && isFailure(response));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-dispatched async cycle: keep listening
+            event.getAsyncContext().addListener(this);
+        }
+
+        // onTimeout/onError are followed by onComplete - release exactly once
+        private synchronized void release(boolean failed) {
+            if (!done) {
+                done = true;
+                limiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
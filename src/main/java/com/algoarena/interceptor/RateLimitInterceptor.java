@@ -4,14 +4,14 @@ package com.algoarena.interceptor;
 import com.algoarena.config.RateLimitConfig;
 import com.algoarena.exception.RateLimitExceededException;
 import com.algoarena.model.User;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 @Component
@@ -20,115 +20,46 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     @Autowired
     private RateLimitConfig rateLimitConfig;
 
+    @Autowired
+    private RateLimitPolicyResolver policyResolver;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
             throws Exception {
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Async results are re-dispatched through the interceptor; the token was taken on the first pass
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
 
-        if (authentication == null || !authentication.isAuthenticated()) {
+        // Static resources, preflight handlers etc. are not rate limited
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
             return true;
         }
 
-        User user = (User) authentication.getPrincipal();
-        String userId = user.getId();
-        String requestURI = request.getRequestURI();
-        String method = request.getMethod();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof User user)) {
+            return true;
+        }
 
-        Bucket bucket = determineBucket(userId, requestURI, method);
+        // Precomputed per handler method (see @RateLimited)
+        RateLimitConfig.Policy policy = policyResolver.resolve(handlerMethod, request.getMethod());
 
-        if (bucket == null) {
+        if (policy == null) {
             return true; // No rate limiting for this endpoint
         }
 
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        RateLimitConfig.Consumption probe = rateLimitConfig.tryConsume(user.getId(), policy);
 
-        if (probe.isConsumed()) {
-            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
+        if (probe.consumed()) {
+            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.remainingTokens()));
             return true;
         } else {
-            long waitForRefill = probe.getNanosToWaitForRefill() / 1_000_000_000;
+            long waitForRefill = probe.nanosToWaitForRefill() / 1_000_000_000;
             response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(waitForRefill));
             throw new RateLimitExceededException();
         }
     }
-
-    private Bucket determineBucket(String userId, String requestURI, String method) {
-
-        // ========================================
-        // AUTH ENDPOINTS (20/min)
-        // ========================================
-        if (requestURI.startsWith("/api/auth/me") ||
-                requestURI.startsWith("/api/auth/refresh")) {
-            return rateLimitConfig.resolveAuthBucket(userId);
-        }
-
-        // ========================================
-        // COURSE ENDPOINTS (30/min) - NEW
-        // ========================================
-        // Course read endpoints: topics, docs
-        if (method.equals("GET") && requestURI.startsWith("/api/courses")) {
-            return rateLimitConfig.resolveCourseReadBucket(userId);
-        }
-
-        // ========================================
-        // SPECIFIC READ ENDPOINTS (30/min each)
-        // ========================================
-
-        // Question read endpoints
-        if (method.equals("GET") &&
-                (requestURI.matches("/api/questions/[^/]+") ||
-                        requestURI.equals("/api/questions/metadata"))) {
-            return rateLimitConfig.resolveQuestionReadBucket(userId);
-        }
-
-        // Category read endpoints
-        if (method.equals("GET") && requestURI.startsWith("/api/categories")) {
-            return rateLimitConfig.resolveCategoryReadBucket(userId);
-        }
-
-        // Solution read endpoints
-        if (method.equals("GET") && requestURI.startsWith("/api/solutions")) {
-            return rateLimitConfig.resolveSolutionReadBucket(userId);
-        }
-
-        // ========================================
-        // APPROACH ENDPOINTS
-        // ========================================
-
-        // Approach write endpoints (5/min)
-        if ((method.equals("POST") || method.equals("PUT") || method.equals("DELETE")) &&
-                requestURI.contains("/api/approaches")) {
-            return rateLimitConfig.resolveApproachWriteBucket(userId);
-        }
-
-        // Approach read endpoints (20/min)
-        if (method.equals("GET") && requestURI.contains("/api/approaches")) {
-            return rateLimitConfig.resolveApproachReadBucket(userId);
-        }
-
-        // ========================================
-        // USER MARK/UNMARK OPERATIONS (10/min)
-        // ========================================
-        if ((method.equals("POST") || method.equals("DELETE")) &&
-                requestURI.contains("/api/user/me/")) {
-            return rateLimitConfig.resolveWriteBucket(userId);
-        }
-
-        // ========================================
-        // GENERIC FALLBACKS
-        // ========================================
-
-        // Generic write endpoints (10/min)
-        if (method.equals("POST") || method.equals("PUT") || method.equals("DELETE")) {
-            return rateLimitConfig.resolveWriteBucket(userId);
-        }
-
-        // Generic read endpoints (60/min)
-        if (method.equals("GET")) {
-            return rateLimitConfig.resolveReadBucket(userId);
-        }
-
-        return null; // No rate limiting
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+// src/main/java/com/algoarena/interceptor/RateLimitPolicyResolver.java
+package com.algoarena.interceptor;
+
+import com.algoarena.config.RateLimitConfig;
+import com.algoarena.config.RateLimitConfig.BucketType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps each controller method to its rate-limit policy.
+ *
+ * Every handler is resolved once when the context starts (and lazily for
+ * anything registered later), so the interceptor does one map lookup per
+ * request instead of walking URI prefixes and regexes.
+ */
+@Component
+public class RateLimitPolicyResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitPolicyResolver.class);
+
+    // Handler accepts several HTTP methods without an annotation - choose read/write per request
+    private static final RateLimitConfig.Policy BY_REQUEST_METHOD =
+            new RateLimitConfig.Policy(BucketType.READ, -1, -1);
+
+    @Autowired
+    private RateLimitConfig rateLimitConfig;
+
+    private final Map<Method, RateLimitConfig.Policy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve all mapped handlers up front
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        if (!event.getApplicationContext().containsBean("requestMappingHandlerMapping")) {
+            return;
+        }
+        RequestMappingHandlerMapping handlerMapping = event.getApplicationContext()
+                .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+
+        handlerMapping.getHandlerMethods().values()
+                .forEach(handlerMethod -> policies.computeIfAbsent(handlerMethod.getMethod(), this::resolvePolicy));
+        logger.info("Resolved rate-limit policies for {} handler methods", policies.size());
+    }
+
+    /**
+     * Policy for this handler and request method, or null if the request is not limited
+     */
+    public RateLimitConfig.Policy resolve(HandlerMethod handlerMethod, String requestMethod) {
+        RateLimitConfig.Policy policy = policies.computeIfAbsent(handlerMethod.getMethod(), this::resolvePolicy);
+        if (policy == BY_REQUEST_METHOD) {
+            return genericPolicy(requestMethod);
+        }
+        return policy;
+    }
+
+    private RateLimitConfig.Policy resolvePolicy(Method method) {
+        // Method-level annotation wins over controller-level
+        RateLimited rateLimited = AnnotatedElementUtils.findMergedAnnotation(method, RateLimited.class);
+        if (rateLimited == null) {
+            rateLimited = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), RateLimited.class);
+        }
+        if (rateLimited != null) {
+            return rateLimitConfig.policyFor(rateLimited.bucket(), rateLimited.capacity(), rateLimited.refillPerMinute());
+        }
+
+        // Generic fallback from the mapped HTTP methods
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        RequestMethod[] methods = mapping != null ? mapping.method() : new RequestMethod[0];
+        if (methods.length == 1) {
+            return genericPolicy(methods[0].name());
+        }
+        return BY_REQUEST_METHOD;
+    }
+
+    // Generic read endpoints (60/min), generic write endpoints (10/min), anything else unlimited
+    private RateLimitConfig.Policy genericPolicy(String requestMethod) {
+        switch (requestMethod) {
+            case "GET":
+                return rateLimitConfig.policyFor(BucketType.READ);
+            case "POST":
+            case "PUT":
+            case "DELETE":
+                return rateLimitConfig.policyFor(BucketType.WRITE);
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+// src/main/java/com/algoarena/interceptor/RateLimited.java
+package com.algoarena.interceptor;
+
+import com.algoarena.config.RateLimitConfig.BucketType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rate-limit bucket for a controller method (or every method of a controller).
+ *
+ * Resolved once per handler method by RateLimitPolicyResolver.
+ * capacity/refillPerMinute default to app.rate-limit.limits.<bucket>.*;
+ * overriding either gives the endpoint its own budget.
+ * Unannotated endpoints fall back to "read" (GET) or "write" (other methods).
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+
+    BucketType bucket();
+
+    int capacity() default -1;
+
+    int refillPerMinute() default -1;
+}
@@ -0,0 +1,36 @@
+// src/main/java/com/algoarena/model/RateLimitWindow.java
+package com.algoarena.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide token usage for one user + rate-limit policy in one refill window.
+ * _id = userId|bucket|capacity|refillPerMinute|windowStartMillis
+ * Only used when app.rate-limit.distributed=true.
+ */
+@Document(collection = "rate_limit_windows")
+public class RateLimitWindow {
+
+    @Id
+    private String id;
+
+    // Tokens handed out to all instances in this window (may overshoot capacity; never granted past it)
+    private int used;
+
+    // TTL index (window documents disappear shortly after the window ends), created in DistributedRateLimiter
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public RateLimitWindow() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public int getUsed() { return used; }
+    public void setUsed(int used) { this.used = used; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,47 @@
+// src/main/java/com/algoarena/model/RevokedToken.java
+package com.algoarena.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A JWT revoked before its natural expiry (logout).
+ * _id is the SHA-256 hash of the token - the raw token is never stored.
+ * Mongo removes the document via the TTL index once the token would have expired anyway.
+ */
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    // TTL index (document deleted at expiresAt), created in TokenRevocationService
+    private LocalDateTime expiresAt;
+
+    // Used by other instances to pick up new revocations incrementally (index created in TokenRevocationService)
+    private LocalDateTime revokedAt;
+
+    // Constructors
+    public RevokedToken() {}
+
+    public RevokedToken(String id, String userId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public LocalDateTime getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(LocalDateTime revokedAt) { this.revokedAt = revokedAt; }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,9 +37,21 @@ public interface QuestionRepository extends MongoRepository<Question, String> {
     Page<Question> findAllByOrderByCreatedAtDesc(Pageable pageable);
     Page<Question> findByCategoryIdOrderByCreatedAtDesc(String categoryId, Pageable pageable);
 
+    // Position in the createdAt-desc admin listing (cache invalidation)
+    long countByCreatedAtAfter(LocalDateTime createdAt);
+    long countByCreatedAtGreaterThanEqual(LocalDateTime createdAt);
+
     @Query(value = "{ 'categoryId': ?0 }", fields = "{ 'title': 1, 'level': 1, 'createdAt': 1 }")
     List<Question> findQuestionSummaryByCategory(String categoryId);
 
+    // Just what questions metadata needs - no statement, snippets or images
+    @Query(value = "{}", fields = "{ 'title': 1, 'level': 1, 'categoryId': 1 }")
+    List<Question> findAllMetadata();
+
+    // Latest write, for spotting changes made elsewhere (only updatedAt is read)
+    @Query(fields = "{ 'updatedAt': 1 }")
+    Optional<Question> findFirstByOrderByUpdatedAtDesc();
+
     @Query(value = "{ 'title': { $regex: ?0, $options: 'i' } }", exists = true)
     boolean existsByTitleIgnoreCase(String title);
 
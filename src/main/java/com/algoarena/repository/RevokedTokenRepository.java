@@ -0,0 +1,19 @@
+// src/main/java/com/algoarena/repository/RevokedTokenRepository.java
+package com.algoarena.repository;
+
+import com.algoarena.model.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+
+    // Revocations still in force (startup load)
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // Revocations added since the last sync (incremental rebuild)
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime since);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -22,6 +23,10 @@ public interface SolutionRepository extends MongoRepository<Solution, String> {
 
     Page<Solution> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    // Position in the createdAt-desc admin listing (cache invalidation)
+    long countByCreatedAtAfter(LocalDateTime createdAt);
+    long countByCreatedAtGreaterThanEqual(LocalDateTime createdAt);
+
     Page<Solution> findByQuestionIdOrderByCreatedAtDesc(String questionId, Pageable pageable);
 
     // Find solutions with visualizers
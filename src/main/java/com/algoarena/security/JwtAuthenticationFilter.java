@@ -2,6 +2,7 @@
 package com.algoarena.security;
 
 import com.algoarena.service.auth.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -74,14 +75,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Single parse + signature check (served from the verified-token cache when possible)
+            Claims claims = jwtService.verifyToken(jwt);
+            userEmail = claims.getSubject();
 
             // If user email is present and no authentication is set in SecurityContext
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails;
+
+                if (jwtService.hasUserClaims(claims)) {
+                    // Claims-carrying token: principal comes from the token, no user lookup
+                    if (!jwtService.isIssuedAfterCutoff(claims)) {
+                        logger.debug("Rejected claims token issued before the user's role change");
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
+                    userDetails = jwtService.buildPrincipal(claims);
+                } else {
+                    userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                }
                 
-                // Validate token and set authentication
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                // Validate already-verified claims and set authentication
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -6,6 +6,7 @@ import com.algoarena.dto.admin.LoggedInUserDTO;
 import com.algoarena.model.User;
 import com.algoarena.model.UserApproaches;
 import com.algoarena.repository.*;
+import com.algoarena.service.auth.LoginUpdateBuffer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -42,6 +43,9 @@ public class AdminOverviewService {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private LoginUpdateBuffer loginUpdateBuffer;
+
     /**
      * Generate complete admin overview statistics
      * This method aggregates all stats needed for the admin overview page
@@ -120,6 +124,9 @@ public class AdminOverviewService {
      * Queries users with lastLogin between todayStart and todayEnd (in UTC)
      */
     private List<LoggedInUserDTO> getUsersLoggedInTodayDetails(LocalDateTime todayStart, LocalDateTime todayEnd) {
+        // lastLogin is written behind (AuthService) - flush pending logins so this view is current
+        loginUpdateBuffer.flush();
+
         // Query for users whose lastLogin is >= todayStart AND < todayEnd
         Query query = new Query(Criteria.where("lastLogin")
                 .gte(todayStart)
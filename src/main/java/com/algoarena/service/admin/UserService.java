@@ -5,6 +5,8 @@ import com.algoarena.dto.admin.UserDTO;
 import com.algoarena.model.User;
 import com.algoarena.model.UserRole;
 import com.algoarena.repository.UserRepository;
+import com.algoarena.service.auth.PrincipalCache;
+import com.algoarena.service.auth.TokenIssuedBeforeRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -21,6 +23,12 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenIssuedBeforeRegistry tokenIssuedBeforeRegistry;
+
     // Primary Super Admin email
     private static final String PRIMARY_SUPER_ADMIN_EMAIL = "ankitjakharabc@gmail.com";
 
@@ -79,6 +87,11 @@ public class UserService {
         targetUser.setUpdatedAt(LocalDateTime.now());
         
         User updatedUser = userRepository.save(targetUser);
+
+        // Cached principal and claims tokens still carry the old role/authorities
+        principalCache.invalidateUser(updatedUser.getId());
+        tokenIssuedBeforeRegistry.revokeTokensIssuedBeforeNow(updatedUser.getId());
+
         return convertToUserDTO(updatedUser);
     }
 
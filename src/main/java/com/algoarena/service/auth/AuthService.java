@@ -5,12 +5,18 @@ import com.algoarena.model.User;
 import com.algoarena.model.UserRole;
 import com.algoarena.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Map;
 
 @Service
@@ -21,12 +27,21 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LoginUpdateBuffer loginUpdateBuffer;
+
+    // Always gets SUPERADMIN on first login
+    private static final String PRIMARY_SUPER_ADMIN_EMAIL = "ankitjakharabc@gmail.com";
+
     public User processOAuth2User(OAuth2User oAuth2User, String registrationId) {
         Map<String, Object> attributes = oAuth2User.getAttributes();
 
         logger.info("=== Processing OAuth2 User ===");
         logger.info("Provider: {}", registrationId);
-        logger.info("Attributes: {}", attributes);
+        logger.debug("Attributes: {}", attributes);
 
         String providerId = extractProviderId(attributes, registrationId);
         String email = extractEmail(attributes, registrationId);
@@ -34,7 +49,7 @@ public class AuthService {
         String name = extractName(attributes, registrationId);
         String image = extractImage(attributes, registrationId);
 
-        logger.info("Extracted - ProviderId: {}, Email: {}, Username: {}, Name: {}",
+        logger.debug("Extracted - ProviderId: {}, Email: {}, Username: {}, Name: {}",
                 providerId, email, username, name);
 
         // Validate that we have at least providerId
@@ -42,142 +57,128 @@ public class AuthService {
             throw new RuntimeException("Provider ID is required but not found");
         }
 
-        // Find existing user by provider ID (most reliable)
-        User existingUser = findExistingUserByProviderId(registrationId, providerId);
+        // Single round trip: returns the existing user, or inserts a new one
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        User user = upsertUserOnLogin(email, name, image, username, providerId, registrationId, now);
 
-        if (existingUser != null) {
-            logger.info("User exists (ID: {}), updating info", existingUser.getId());
-            return updateExistingUser(existingUser, email, name, image, username, providerId, registrationId);
-        } else {
-            logger.info("Creating new user for provider: {}", registrationId);
-            return createNewUser(email, name, image, username, providerId, registrationId);
+        if (now.equals(user.getCreatedAt())) {
+            logger.info("Created new user for provider: {} (ID: {})", registrationId, user.getId());
+            return promoteFirstUser(user);
         }
+
+        logger.info("User exists (ID: {}), queueing login update", user.getId());
+        return updateExistingUser(user, email, name, image, username, registrationId, now);
     }
 
     /**
-     * Find existing user by provider ID (most reliable identifier)
+     * findAndModify upsert keyed by provider ID (most reliable identifier).
+     * Existing users are returned untouched ($setOnInsert only) - their
+     * lastLogin/profile changes go through the write-behind buffer.
      */
-    private User findExistingUserByProviderId(String registrationId, String providerId) {
+    private User upsertUserOnLogin(String email, String name, String image, String username,
+            String providerId, String registrationId, LocalDateTime now) {
+        String providerField;
         if ("google".equals(registrationId)) {
-            return userRepository.findByGoogleId(providerId).orElse(null);
+            providerField = "googleId";
         } else if ("github".equals(registrationId)) {
-            return userRepository.findByGithubId(providerId).orElse(null);
+            providerField = "githubId";
+        } else {
+            throw new IllegalArgumentException("Unsupported registration ID: " + registrationId);
         }
-        return null;
-    }
-
-    private User updateExistingUser(User user, String email, String name, String image,
-            String username, String providerId, String registrationId) {
-        boolean updated = false;
 
-        // Track last login time
-        user.setLastLogin(LocalDateTime.now());
-        updated = true;
-        logger.info("Updated lastLogin for user: {}", user.getId());
+        Query query = new Query(Criteria.where(providerField).is(providerId));
+        Update update = new Update();
 
-        // Update email if we got a real one and it's different (or if user didn't have
-        // one before)
+        // Email is optional - only set if available
         if (email != null && !email.trim().isEmpty()) {
-            if (user.getEmail() == null || !email.equals(user.getEmail())) {
-                user.setEmail(email);
-                updated = true;
-                logger.info("Updated email to: {}", email);
-            }
+            update.setOnInsert("email", email);
+        } else {
+            logger.debug("No email available (private), will use username for identification");
         }
 
-        // Update name if different
-        if (name != null && !name.equals(user.getName())) {
-            user.setName(name);
-            updated = true;
+        // Set name (fallback to username if no name provided)
+        if (name != null && !name.trim().isEmpty()) {
+            update.setOnInsert("name", name);
+        } else if (username != null && !username.trim().isEmpty()) {
+            update.setOnInsert("name", username);
+        } else {
+            update.setOnInsert("name", "User " + providerId);
         }
 
-        // Update image if different
-        if (image != null && !image.equals(user.getImage())) {
-            user.setImage(image);
-            updated = true;
+        if (image != null) {
+            update.setOnInsert("image", image);
         }
 
-        // Update GitHub username if it's a GitHub login
+        // Always store GitHub username for GitHub users
         if ("github".equals(registrationId) && username != null) {
-            if (user.getGithubUsername() == null || !username.equals(user.getGithubUsername())) {
-                user.setGithubUsername(username);
-                updated = true;
-            }
+            update.setOnInsert("githubUsername", username);
         }
 
-        // Update provider ID if not set (shouldn't happen, but just in case)
-        if ("google".equals(registrationId) && (user.getGoogleId() == null || !providerId.equals(user.getGoogleId()))) {
-            user.setGoogleId(providerId);
-            updated = true;
-        } else if ("github".equals(registrationId)
-                && (user.getGithubId() == null || !providerId.equals(user.getGithubId()))) {
-            user.setGithubId(providerId);
-            updated = true;
-        }
+        // First-user promotion is handled after insert (promoteFirstUser)
+        update.setOnInsert("role", PRIMARY_SUPER_ADMIN_EMAIL.equals(email) ? UserRole.SUPERADMIN : UserRole.USER);
+        update.setOnInsert("lastLogin", now);
+        update.setOnInsert("createdAt", now);
+        update.setOnInsert("updatedAt", now);
 
-        if (updated) {
-            user.setUpdatedAt(LocalDateTime.now());
-            logger.info("Saving updated user: {}", user.getId());
-            return userRepository.save(user);
-        }
-
-        logger.info("No updates needed for user: {}", user.getId());
-        return user;
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), User.class);
     }
 
-    private User createNewUser(String email, String name, String image, String username,
-            String providerId, String registrationId) {
-        User newUser = new User();
+    /**
+     * Apply login changes to the returned user and queue them for the next bulk flush.
+     * Only lastLogin and fields that actually changed are written.
+     */
+    private User updateExistingUser(User user, String email, String name, String image,
+            String username, String registrationId, LocalDateTime now) {
+        Map<String, Object> changes = LoginUpdateBuffer.lastLoginUpdate(now);
+        user.setLastLogin(now);
 
-        // Email is optional - only set if available
-        if (email != null && !email.trim().isEmpty()) {
-            newUser.setEmail(email);
-            logger.info("Setting email: {}", email);
-        } else {
-            logger.info("No email available (private), will use username for identification");
+        // Update email if we got a real one and it's different (or if user didn't have
+        // one before)
+        if (email != null && !email.trim().isEmpty() && !email.equals(user.getEmail())) {
+            user.setEmail(email);
+            changes.put("email", email);
         }
 
-        // Set name (fallback to username if no name provided)
-        if (name != null && !name.trim().isEmpty()) {
-            newUser.setName(name);
-        } else if (username != null && !username.trim().isEmpty()) {
-            newUser.setName(username);
-        } else {
-            newUser.setName("User " + providerId);
+        // Update name if different
+        if (name != null && !name.equals(user.getName())) {
+            user.setName(name);
+            changes.put("name", name);
         }
 
-        newUser.setImage(image);
-
-        // Store provider-specific data
-        if ("google".equals(registrationId)) {
-            newUser.setGoogleId(providerId);
-        } else if ("github".equals(registrationId)) {
-            newUser.setGithubId(providerId);
-            newUser.setGithubUsername(username); // Always store GitHub username
-            logger.info("Storing GitHub username: {}", username);
+        // Update image if different
+        if (image != null && !image.equals(user.getImage())) {
+            user.setImage(image);
+            changes.put("image", image);
         }
 
-        // Set role - check if this is the first user (make them superadmin)
-        newUser.setRole(determineUserRole(email));
-
-        // Set initial login time
-        newUser.setLastLogin(LocalDateTime.now());
+        // Update GitHub username if it's a GitHub login (for Google, username is the email local-part)
+        if ("github".equals(registrationId) && username != null && !username.equals(user.getGithubUsername())) {
+            user.setGithubUsername(username);
+            changes.put("githubUsername", username);
+        }
 
-        logger.info("Creating new user - Name: {}, Email: {}, Username: {}",
-                newUser.getName(), newUser.getEmail(), newUser.getGithubUsername());
+        if (changes.size() > 1) {
+            user.setUpdatedAt(now);
+            changes.put("updatedAt", now);
+            logger.info("Profile changed for user: {}", user.getId());
+        }
 
-        return userRepository.save(newUser);
+        loginUpdateBuffer.enqueue(user.getId(), changes);
+        return user;
     }
 
-    private UserRole determineUserRole(String email) {
-        // If this is the first user or specific email, make them superadmin
-        long userCount = userRepository.countAllUsers();
-
-        if (userCount == 0 || "ankitjakharabc@gmail.com".equals(email)) {
-            return UserRole.SUPERADMIN;
+    /**
+     * Preserve the "first user becomes superadmin" rule without counting users on every login
+     */
+    private User promoteFirstUser(User user) {
+        if (user.getRole() != UserRole.SUPERADMIN && userRepository.countAllUsers() == 1) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(user.getId())),
+                    new Update().set("role", UserRole.SUPERADMIN), User.class);
+            user.setRole(UserRole.SUPERADMIN);
+            logger.info("First user promoted to SUPERADMIN: {}", user.getId());
         }
-
-        return UserRole.USER;
+        return user;
     }
 
     private String extractEmail(Map<String, Object> attributes, String registrationId) {
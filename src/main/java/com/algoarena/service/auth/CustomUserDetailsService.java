@@ -19,8 +19,16 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Served from the principal cache; Mongo is only hit on a miss
+        return principalCache.get(username, this::findUser);
+    }
+
+    private User findUser(String username) throws UsernameNotFoundException {
         logger.debug("Loading user by username: {}", username);
         
         // CRITICAL FIX: Try multiple lookup strategies since getUsername() can return:
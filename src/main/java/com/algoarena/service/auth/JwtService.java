@@ -2,47 +2,119 @@
 package com.algoarena.service.auth;
 
 import com.algoarena.config.JwtConfig;
+import com.algoarena.model.User;
+import com.algoarena.model.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    // Claim names used by claims-carrying access tokens (app.jwt.claims-mode)
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_GITHUB_USERNAME = "gh";
+    public static final String CLAIM_IMAGE = "img";
+
     @Autowired
     private JwtConfig jwtConfig;
 
+    @Autowired
+    private TokenIssuedBeforeRegistry tokenIssuedBeforeRegistry;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // Built once at startup - Keys.hmacShaKeyFor and the parser are reused for every request
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Recently verified tokens: SHA-256(token) -> claims, each entry expires at the token's own exp
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes());
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getVerifiedTokenCacheSize())
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return nanosUntilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return nanosUntilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     // Generate token for user
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
 
     // Generate token with extra claims
+    // In claims mode the access token carries the principal and uses the short claims lifetime
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtConfig.getExpiration());
+        if (jwtConfig.isClaimsMode()) {
+            return buildToken(extraClaims, userDetails, jwtConfig.getClaimsExpiration(), true);
+        }
+        return buildToken(extraClaims, userDetails, jwtConfig.getExpiration(), false);
     }
 
-    // Generate refresh token
+    // Generate refresh token (never carries user claims - always re-checked against Mongo)
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, jwtConfig.getRefreshExpiration());
+        return buildToken(new HashMap<>(), userDetails, jwtConfig.getRefreshExpiration(), false);
     }
 
     // Build the actual token
     private String buildToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails,
-            long expiration) {
+            long expiration,
+            boolean embedUserClaims) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (embedUserClaims && userDetails instanceof User user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_NAME, user.getName());
+            putIfPresent(claims, CLAIM_EMAIL, user.getEmail());
+            putIfPresent(claims, CLAIM_GITHUB_USERNAME, user.getGithubUsername());
+            putIfPresent(claims, CLAIM_IMAGE, user.getImage());
+        }
+
         return Jwts
                 .builder()
-                .claims(extraClaims)
+                .claims(claims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -50,6 +122,67 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verify a token with a single parse and return its claims.
+     * Tokens seen recently are served from the verified-token cache without
+     * repeating the HMAC check; entries drop out as soon as the token expires.
+     * Revoked tokens (logout) are rejected first with an in-memory check.
+     */
+    public Claims verifyToken(String token) {
+        String cacheKey = hashToken(token);
+        if (tokenRevocationService.isRevoked(cacheKey)) {
+            throw new RuntimeException("JWT token is revoked");
+        }
+
+        Claims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(cacheKey, claims);
+        }
+        return claims;
+    }
+
+    // True if the token carries the principal (claims mode) and needs no user lookup
+    public boolean hasUserClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null && claims.get(CLAIM_ROLE) != null;
+    }
+
+    // False if the user's role changed after this claims token was issued
+    public boolean isIssuedAfterCutoff(Claims claims) {
+        return tokenIssuedBeforeRegistry.isIssuedAfterCutoff(
+                claims.get(CLAIM_USER_ID, String.class), claims.getIssuedAt());
+    }
+
+    /**
+     * Build the authenticated principal straight from verified claims.
+     * Only id, role and profile fields are populated - enough for controllers,
+     * the rate limiter and /auth/me.
+     */
+    public User buildPrincipal(Claims claims) {
+        User user = new User();
+        user.setId(claims.get(CLAIM_USER_ID, String.class));
+        user.setRole(UserRole.valueOf(claims.get(CLAIM_ROLE, String.class)));
+        user.setName(claims.get(CLAIM_NAME, String.class));
+        user.setEmail(claims.get(CLAIM_EMAIL, String.class));
+        user.setGithubUsername(claims.get(CLAIM_GITHUB_USERNAME, String.class));
+        user.setImage(claims.get(CLAIM_IMAGE, String.class));
+        // Timestamps are not carried in the token
+        user.setCreatedAt(null);
+        user.setUpdatedAt(null);
+        return user;
+    }
+
+    // Check already-verified claims against the loaded user (no re-parse)
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject())
+                && claims.getExpiration() != null
+                && claims.getExpiration().after(new Date());
+    }
+
     // Extract username from token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -80,10 +213,7 @@ public class JwtService {
     // Extract all claims from token
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts
-                    .parser()
-                    .verifyWith(getSignInKey())
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -97,9 +227,31 @@ public class JwtService {
         }
     }
 
-    // Get signing key
+    // Get signing key (precomputed in init)
     private SecretKey getSignInKey() {
-        byte[] keyBytes = jwtConfig.getSecret().getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    private static void putIfPresent(Map<String, Object> claims, String name, String value) {
+        if (value != null && !value.isEmpty()) {
+            claims.put(name, value);
+        }
+    }
+
+    // Remaining lifetime of a verified token, used as its cache TTL
+    private static long nanosUntilExpiration(Claims claims) {
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    // Cache/revocation key for a token - avoids holding the raw bearer token in memory
+    public static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
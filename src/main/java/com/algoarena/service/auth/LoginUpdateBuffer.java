@@ -0,0 +1,128 @@
+// src/main/java/com/algoarena/service/auth/LoginUpdateBuffer.java
+package com.algoarena.service.auth;
+
+import com.algoarena.model.User;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for per-login user updates (lastLogin + profile fields).
+ *
+ * Logins only record the fields that changed; repeated logins by the same
+ * user are coalesced (latest value wins) and everything pending is written
+ * as one unordered bulkWrite every app.auth.login-flush-interval-ms.
+ * Failed flushes are re-queued without overwriting newer values.
+ */
+@Component
+public class LoginUpdateBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginUpdateBuffer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // userId -> field -> value (insertion ordered per user)
+    private final Map<String, Map<String, Object>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queue field updates for a user; merges with anything already pending
+     */
+    public void enqueue(String userId, Map<String, Object> fields) {
+        if (userId == null || fields.isEmpty()) {
+            return;
+        }
+        pending.merge(userId, new LinkedHashMap<>(fields), (existing, latest) -> {
+            Map<String, Object> merged = new LinkedHashMap<>(existing);
+            merged.putAll(latest);
+            return merged;
+        });
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all pending updates in one bulkWrite
+     */
+    @Scheduled(fixedDelayString = "${app.auth.login-flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Drain: remove each entry atomically so concurrent enqueues start a new batch
+        Map<String, Map<String, Object>> batch = new LinkedHashMap<>();
+        for (String userId : new ArrayList<>(pending.keySet())) {
+            Map<String, Object> fields = pending.remove(userId);
+            if (fields != null) {
+                batch.put(userId, fields);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+            List<String> profileChanged = new ArrayList<>();
+
+            batch.forEach((userId, fields) -> {
+                Update update = new Update();
+                fields.forEach(update::set);
+                bulkOps.updateOne(new Query(Criteria.where("_id").is(userId)), update);
+
+                if (fields.keySet().stream().anyMatch(field -> !"lastLogin".equals(field))) {
+                    profileChanged.add(userId);
+                }
+            });
+
+            bulkOps.execute();
+
+            // Cached principals now differ from Mongo
+            profileChanged.forEach(principalCache::invalidateUser);
+            logger.debug("Flushed login updates for {} users", batch.size());
+
+        } catch (Exception e) {
+            logger.warn("Login update flush failed for {} users, re-queueing: {}", batch.size(), e.getMessage());
+            // Put back, keeping any newer values queued since the drain
+            batch.forEach((userId, fields) -> pending.merge(userId, fields, (newer, older) -> {
+                Map<String, Object> merged = new LinkedHashMap<>(older);
+                merged.putAll(newer);
+                return merged;
+            }));
+        }
+    }
+
+    // Don't lose the last few seconds of logins on shutdown
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Helper for callers building a field map
+    public static Map<String, Object> lastLoginUpdate(LocalDateTime lastLogin) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("lastLogin", lastLogin);
+        return fields;
+    }
+}
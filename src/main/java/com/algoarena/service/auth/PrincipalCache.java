@@ -0,0 +1,76 @@
+// src/main/java/com/algoarena/service/auth/PrincipalCache.java
+package com.algoarena.service.auth;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by token subject
+ * (email, GitHub username or id - whatever User.getUsername() returned at login).
+ *
+ * Sits in front of CustomUserDetailsService so a request with a JWT does not
+ * pay up to three Mongo lookups. Entries are dropped when a user is changed
+ * (role update, OAuth profile refresh) and otherwise age out after the TTL.
+ *
+ * Metrics: cache.gets{cache=principalCache,result=hit|miss}, cache.size, cache.evictions
+ */
+@Component
+public class PrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+
+    public static final String CACHE_NAME = "principalCache";
+
+    private final Cache<String, User> principals;
+
+    public PrincipalCache(AppConfig appConfig, MeterRegistry meterRegistry) {
+        AppConfig.Auth auth = appConfig.getAuth();
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(auth.getPrincipalCacheMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(auth.getPrincipalCacheTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, CACHE_NAME);
+    }
+
+    /**
+     * Return the cached principal for this subject, loading it on a miss.
+     * Exceptions from the loader (e.g. UsernameNotFoundException) are not cached.
+     */
+    public User get(String subject, Function<String, User> loader) {
+        return principals.get(subject, loader);
+    }
+
+    /**
+     * Drop every cached principal for this user id.
+     * A user can be cached under an old subject (e.g. email before it changed),
+     * so match on id rather than on the key.
+     */
+    public void invalidateUser(String userId) {
+        if (userId == null) {
+            return;
+        }
+        boolean removed = principals.asMap().values().removeIf(user -> userId.equals(user.getId()));
+        if (removed) {
+            logger.debug("Evicted cached principal for user: {}", userId);
+        }
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    public long size() {
+        return principals.estimatedSize();
+    }
+}
@@ -0,0 +1,61 @@
+// src/main/java/com/algoarena/service/auth/TokenIssuedBeforeRegistry.java
+package com.algoarena.service.auth;
+
+import com.algoarena.config.JwtConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Per-user "tokens issued before" cutoff for claims-carrying access tokens.
+ *
+ * When a user's role changes, every claims token issued before that moment
+ * is rejected and the client has to refresh (which re-reads the user from Mongo).
+ * Checked in memory on every request - no database read.
+ *
+ * An entry only needs to outlive the claims tokens it guards, so entries expire
+ * after app.jwt.claims-expiration and the map stays small.
+ */
+@Component
+public class TokenIssuedBeforeRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenIssuedBeforeRegistry.class);
+
+    // userId -> cutoff (epoch seconds, same precision as the JWT iat claim); tokens need iat >= cutoff
+    private final Cache<String, Long> cutoffs;
+
+    public TokenIssuedBeforeRegistry(JwtConfig jwtConfig) {
+        this.cutoffs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtConfig.getClaimsExpiration()))
+                .build();
+    }
+
+    /**
+     * Reject every token for this user issued before now
+     */
+    public void revokeTokensIssuedBeforeNow(String userId) {
+        if (userId == null) {
+            return;
+        }
+        // iat is whole seconds: a token from earlier in this same second can't be told apart, so
+        // the whole second is rejected (a refresh right after the change may need to retry once)
+        cutoffs.put(userId, System.currentTimeMillis() / 1000 + 1);
+        logger.info("Claims tokens issued before now revoked for user: {}", userId);
+    }
+
+    /**
+     * True if the token was issued at or after the user's cutoff (or no cutoff exists)
+     */
+    public boolean isIssuedAfterCutoff(String userId, Date issuedAt) {
+        Long cutoff = cutoffs.getIfPresent(userId);
+        if (cutoff == null) {
+            return true;
+        }
+        return issuedAt != null && issuedAt.getTime() / 1000 >= cutoff;
+    }
+}
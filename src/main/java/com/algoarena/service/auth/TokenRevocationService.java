@@ -0,0 +1,189 @@
+// src/main/java/com/algoarena/service/auth/TokenRevocationService.java
+package com.algoarena.service.auth;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.model.RevokedToken;
+import com.algoarena.repository.RevokedTokenRepository;
+import com.algoarena.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-side JWT revocation (logout).
+ *
+ * Source of truth: the revoked_tokens collection (TTL index on expiresAt).
+ * Request path: an in-memory Bloom filter + exact set, so checking a token
+ * is O(1) with no database read. Almost every token misses the Bloom filter;
+ * the exact set is only consulted on a "maybe".
+ *
+ * A scheduled sync pulls revocations made on other instances (incremental,
+ * by revokedAt), drops expired entries and rebuilds the Bloom filter sized
+ * to what is left, so memory stays bounded as revocations expire.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final MongoTemplate mongoTemplate;
+    private final long minBloomCapacity;
+
+    // token hash -> expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Swapped on rebuild; reads are lock-free
+    private volatile BloomFilter bloomFilter;
+    private volatile long bloomCapacity;
+
+    // Writers (revoke, sync, rebuild) share this lock so a rebuild never loses a concurrent add
+    private final Object writeLock = new Object();
+
+    private LocalDateTime lastSync;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MongoTemplate mongoTemplate,
+                                  AppConfig appConfig,
+                                  MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.minBloomCapacity = appConfig.getAuth().getRevocationBloomCapacity();
+        this.bloomCapacity = minBloomCapacity;
+        this.bloomFilter = new BloomFilter(minBloomCapacity, BLOOM_FALSE_POSITIVE_RATE);
+
+        Gauge.builder("auth.revocations.size", revoked, Map::size)
+                .description("Revoked, not yet expired tokens held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ensure the indexes exist (TTL, and revokedAt for the incremental sync -
+     * auto-index creation is off) and load revocations still in force
+     */
+    @PostConstruct
+    void init() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(RevokedToken.class);
+            indexOps.createIndex(
+                    new Index().on("expiresAt", Sort.Direction.ASC)
+                            .named("expiresAt_ttl")
+                            .expire(Duration.ZERO));
+            indexOps.createIndex(new Index().on("revokedAt", Sort.Direction.ASC).named("revokedAt_idx"));
+
+            LocalDateTime now = nowUtc();
+            List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(now);
+            synchronized (writeLock) {
+                active.forEach(this::addLocal);
+                lastSync = now;
+                rebuildBloomFilter();
+            }
+            logger.info("Loaded {} active token revocations", active.size());
+        } catch (Exception e) {
+            // Don't block startup - the scheduled sync retries
+            logger.warn("Failed to load token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Revoke a token until it expires. Persisted first, then mirrored in memory.
+     */
+    public void revoke(String token, String userId, Date expiration) {
+        if (expiration == null || expiration.before(new Date())) {
+            return; // Already expired - nothing to revoke
+        }
+
+        String tokenHash = JwtService.hashToken(token);
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiration.toInstant(), ZoneOffset.UTC);
+        revokedTokenRepository.save(new RevokedToken(tokenHash, userId, expiresAt, nowUtc()));
+
+        synchronized (writeLock) {
+            revoked.put(tokenHash, expiration.getTime());
+            bloomFilter.put(tokenHash);
+            if (revoked.size() > bloomCapacity) {
+                rebuildBloomFilter();
+            }
+        }
+        logger.debug("Revoked token for user: {}", userId);
+    }
+
+    /**
+     * O(1) in-memory check, no database read
+     */
+    public boolean isRevoked(String tokenHash) {
+        if (!bloomFilter.mightContain(tokenHash)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenHash);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Pick up revocations from other instances, drop expired ones, resize the filter
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation-sync-interval-ms:30000}",
+            initialDelayString = "${app.auth.revocation-sync-interval-ms:30000}")
+    public void sync() {
+        try {
+            LocalDateTime now = nowUtc();
+            // Small overlap so a revocation written during the previous sync is not missed
+            LocalDateTime since = lastSync != null ? lastSync.minusSeconds(5) : now.minusYears(1);
+            List<RevokedToken> added = revokedTokenRepository.findByRevokedAtAfter(since);
+
+            synchronized (writeLock) {
+                added.forEach(this::addLocal);
+                long currentMillis = System.currentTimeMillis();
+                boolean removed = revoked.values().removeIf(expiresAt -> expiresAt <= currentMillis);
+                if (removed || revoked.size() > bloomCapacity) {
+                    rebuildBloomFilter();
+                }
+                lastSync = now;
+            }
+        } catch (Exception e) {
+            logger.warn("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    // Caller holds writeLock
+    private void addLocal(RevokedToken token) {
+        if (token.getExpiresAt() == null) {
+            return;
+        }
+        long expiresAt = token.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        if (expiresAt > System.currentTimeMillis()) {
+            revoked.put(token.getId(), expiresAt);
+            bloomFilter.put(token.getId());
+        }
+    }
+
+    // Caller holds writeLock. Sized at 2x current entries so adds don't trigger constant rebuilds.
+    private void rebuildBloomFilter() {
+        long capacity = Math.max(minBloomCapacity, revoked.size() * 2L);
+        BloomFilter rebuilt = new BloomFilter(capacity, BLOOM_FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        this.bloomFilter = rebuilt;
+        this.bloomCapacity = capacity;
+    }
+
+    private static LocalDateTime nowUtc() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
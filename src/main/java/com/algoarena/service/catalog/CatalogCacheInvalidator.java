@@ -0,0 +1,312 @@
+// src/main/java/com/algoarena/service/catalog/CatalogCacheInvalidator.java
+package com.algoarena.service.catalog;
+
+import com.algoarena.model.CourseDoc;
+import com.algoarena.model.Question;
+import com.algoarena.model.Solution;
+import com.algoarena.repository.QuestionRepository;
+import com.algoarena.repository.SolutionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Which cache entries a catalog write makes stale, evicted key by key.
+ *
+ * Services call the matching method after their Mongo write (where
+ * they used to clear whole caches with @CacheEvict(allEntries = true)):
+ *
+ *   question    questionDetail[id], its admin summary page(s), all pages
+ *               after it when it is created/deleted (they shift)
+ *   solution    solutionDetail[id], questionSolutions[questionId], its
+ *               admin summary page(s), the question's summary page (count)
+ *   category    globalCategories[id] + the all-categories entry, metadata
+ *   topic       courseTopic[id], topic name lists
+ *   doc         courseDoc[id] (off-heap), courseDocsList + courseTopic
+ *               (doc count) of every topic it was or is in
+ *
+ * Admin summary pages are cached as 'page_N_size_M' in createdAt-desc
+ * order; an item's page is found from how many items are newer.
+ * Only bulk deletes (category, topic cascade) still clear whole caches -
+ * and writes made on another node, which this node only learns of through
+ * CatalogVersion and can't locate, so everything catalog is cleared.
+ *
+ * Metric: cache.invalidations{cache, scope=key|page|all}, in entries removed.
+ */
+@Component
+public class CatalogCacheInvalidator {
+
+    public static final String GLOBAL_CATEGORIES = "globalCategories";
+    public static final String GLOBAL_CATEGORIES_METADATA = "globalCategoriesMetadata";
+    public static final String ADMIN_QUESTIONS_SUMMARY = "adminQuestionsSummary";
+    public static final String ADMIN_SOLUTIONS_SUMMARY = "adminSolutionsSummary";
+    public static final String QUESTION_DETAIL = "questionDetail";
+    public static final String QUESTION_SOLUTIONS = "questionSolutions";
+    public static final String SOLUTION_DETAIL = "solutionDetail";
+    public static final String COURSE_TOPIC = "courseTopic";
+    public static final String COURSE_DOCS_LIST = "courseDocsList";
+    public static final String COURSE_DOC = "courseDoc";
+    public static final String TOPIC_NAMES_PUBLIC = "topicNamesPublic";
+    public static final String TOPIC_NAMES_ADMIN = "topicNamesAdmin";
+
+    private static final List<String> SPRING_CACHES = List.of(
+            GLOBAL_CATEGORIES, GLOBAL_CATEGORIES_METADATA, ADMIN_QUESTIONS_SUMMARY, ADMIN_SOLUTIONS_SUMMARY,
+            QUESTION_DETAIL, QUESTION_SOLUTIONS, SOLUTION_DETAIL, COURSE_TOPIC, COURSE_DOCS_LIST,
+            TOPIC_NAMES_PUBLIC, TOPIC_NAMES_ADMIN);
+
+    private static final Pattern PAGE_KEY = Pattern.compile("page_(\\d+)_size_(\\d+)");
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private SolutionRepository solutionRepository;
+
+    @Autowired
+    private OffHeapBlobCache offHeapBlobCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // ==================== QUESTIONS ====================
+
+    public void questionCreated(Question question) {
+        // Newest first: every page from its position on moves down by one
+        evictPagesFrom(ADMIN_QUESTIONS_SUMMARY, questionPosition(question)[0]);
+    }
+
+    public void questionUpdated(Question question) {
+        evict(QUESTION_DETAIL, question.getId());
+        long[] position = questionPosition(question);
+        evictPages(ADMIN_QUESTIONS_SUMMARY, position[0], position[1]);
+    }
+
+    // After the delete: its solutions have already been invalidated one by one
+    public void questionDeleted(Question question) {
+        evict(QUESTION_DETAIL, question.getId());
+        evict(QUESTION_SOLUTIONS, question.getId());
+        evictPagesFrom(ADMIN_QUESTIONS_SUMMARY, questionPosition(question)[0]);
+    }
+
+    // ==================== SOLUTIONS ====================
+
+    public void solutionCreated(Solution solution) {
+        evict(QUESTION_SOLUTIONS, solution.getQuestionId());
+        evictPagesFrom(ADMIN_SOLUTIONS_SUMMARY, solutionPosition(solution)[0]);
+        questionSolutionCountChanged(solution.getQuestionId());
+    }
+
+    public void solutionUpdated(Solution solution) {
+        evict(SOLUTION_DETAIL, solution.getId());
+        evict(QUESTION_SOLUTIONS, solution.getQuestionId());
+        long[] position = solutionPosition(solution);
+        evictPages(ADMIN_SOLUTIONS_SUMMARY, position[0], position[1]);
+    }
+
+    public void solutionDeleted(Solution solution) {
+        evict(SOLUTION_DETAIL, solution.getId());
+        evict(QUESTION_SOLUTIONS, solution.getQuestionId());
+        evictPagesFrom(ADMIN_SOLUTIONS_SUMMARY, solutionPosition(solution)[0]);
+        questionSolutionCountChanged(solution.getQuestionId());
+    }
+
+    // ==================== CATEGORIES ====================
+
+    /**
+     * A category's own fields, question lists or counts changed
+     */
+    public void categoriesChanged(String... categoryIds) {
+        evict(GLOBAL_CATEGORIES, SimpleKey.EMPTY); // getAllCategories()
+        evict(GLOBAL_CATEGORIES_METADATA, SimpleKey.EMPTY);
+        for (String categoryId : categoryIds) {
+            if (categoryId != null) {
+                evict(GLOBAL_CATEGORIES, categoryId);
+            }
+        }
+    }
+
+    /**
+     * Category removed along with its questions and their solutions. Bulk:
+     * the summaries and solution details are cleared rather than located.
+     */
+    public void categoryDeleted(String categoryId, Collection<String> questionIds) {
+        categoriesChanged(categoryId);
+        for (String questionId : questionIds) {
+            evict(QUESTION_DETAIL, questionId);
+            evict(QUESTION_SOLUTIONS, questionId);
+        }
+        if (!questionIds.isEmpty()) {
+            clear(ADMIN_QUESTIONS_SUMMARY);
+            clear(ADMIN_SOLUTIONS_SUMMARY);
+            clear(SOLUTION_DETAIL);
+        }
+    }
+
+    // ==================== COURSES ====================
+
+    /**
+     * Topic name, order, icon or visibility changed (docs don't carry any of it)
+     */
+    public void topicChanged(String topicId) {
+        evict(COURSE_TOPIC, topicId);
+        topicNamesChanged();
+    }
+
+    public void topicNamesChanged() {
+        evict(TOPIC_NAMES_PUBLIC, SimpleKey.EMPTY);
+        evict(TOPIC_NAMES_ADMIN, SimpleKey.EMPTY);
+    }
+
+    public void topicDeleted(String topicId, Collection<CourseDoc> docs) {
+        topicChanged(topicId);
+        evict(COURSE_DOCS_LIST, topicId);
+        for (CourseDoc doc : docs) {
+            evictDoc(doc.getId());
+        }
+    }
+
+    /**
+     * A doc was created, edited, moved or deleted; previousTopicId is where it
+     * was before a move (or null)
+     */
+    public void docChanged(String docId, String topicId, String previousTopicId) {
+        if (docId != null) {
+            evictDoc(docId);
+        }
+        docListChanged(topicId);
+        if (previousTopicId != null && !previousTopicId.equals(topicId)) {
+            docListChanged(previousTopicId);
+        }
+    }
+
+    // Listing and doc count of the topic
+    private void docListChanged(String topicId) {
+        evict(COURSE_DOCS_LIST, topicId);
+        evict(COURSE_TOPIC, topicId);
+    }
+
+    // ==================== OTHER NODES ====================
+
+    /**
+     * Another node changed the catalog; runs before CatalogVersion hands out the new ETag
+     */
+    @EventListener
+    public void catalogChangedElsewhere(CatalogVersion.ExternalChange change) {
+        SPRING_CACHES.forEach(this::clear);
+        record(COURSE_DOC, "all", offHeapBlobCache.invalidatePrefix(OffHeapBlobCache.COURSE_DOC));
+    }
+
+    // ==================== PRIMITIVES ====================
+
+    private void questionSolutionCountChanged(String questionId) {
+        questionRepository.findById(questionId).ifPresent(question -> {
+            long[] position = questionPosition(question);
+            evictPages(ADMIN_QUESTIONS_SUMMARY, position[0], position[1]);
+        });
+    }
+
+    /**
+     * Index range of an item in createdAt-desc order: [newer, newer-or-same - 1]
+     * (items with the same createdAt may come in any order). Unknown createdAt
+     * gives the whole range.
+     */
+    private long[] questionPosition(Question question) {
+        LocalDateTime createdAt = question.getCreatedAt();
+        if (createdAt == null) {
+            return new long[] { 0, Long.MAX_VALUE };
+        }
+        long newer = questionRepository.countByCreatedAtAfter(createdAt);
+        long sameOrNewer = questionRepository.countByCreatedAtGreaterThanEqual(createdAt);
+        return new long[] { newer, Math.max(newer, sameOrNewer - 1) };
+    }
+
+    private long[] solutionPosition(Solution solution) {
+        LocalDateTime createdAt = solution.getCreatedAt();
+        if (createdAt == null) {
+            return new long[] { 0, Long.MAX_VALUE };
+        }
+        long newer = solutionRepository.countByCreatedAtAfter(createdAt);
+        long sameOrNewer = solutionRepository.countByCreatedAtGreaterThanEqual(createdAt);
+        return new long[] { newer, Math.max(newer, sameOrNewer - 1) };
+    }
+
+    private void evictPagesFrom(String cacheName, long firstIndex) {
+        evictPages(cacheName, firstIndex, Long.MAX_VALUE);
+    }
+
+    // Every cached page (any page size) that overlaps [firstIndex, lastIndex]
+    private void evictPages(String cacheName, long firstIndex, long lastIndex) {
+        Cache<Object, Object> cache = nativeCache(cacheName);
+        if (cache == null) {
+            clear(cacheName);
+            return;
+        }
+        List<Object> stale = new ArrayList<>();
+        for (Object key : cache.asMap().keySet()) {
+            Matcher matcher = key instanceof String page ? PAGE_KEY.matcher(page) : null;
+            if (matcher == null || !matcher.matches()) {
+                stale.add(key); // Not a page key we understand: don't risk keeping it
+                continue;
+            }
+            long size = Long.parseLong(matcher.group(2));
+            long start = Long.parseLong(matcher.group(1)) * size;
+            long end = start + size - 1;
+            if (start <= lastIndex && end >= firstIndex) {
+                stale.add(key);
+            }
+        }
+        stale.forEach(cache::invalidate);
+        record(cacheName, "page", stale.size());
+    }
+
+    // Doc bodies are held off-heap, not in a Spring cache
+    private void evictDoc(String docId) {
+        if (offHeapBlobCache.invalidate(OffHeapBlobCache.COURSE_DOC + docId)) {
+            record(COURSE_DOC, "key", 1);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && cache.evictIfPresent(key)) {
+            record(cacheName, "key", 1);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache<Object, Object> nativeCache = nativeCache(cacheName);
+        long entries = nativeCache != null ? nativeCache.estimatedSize() : 0;
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+            record(cacheName, "all", entries);
+        }
+    }
+
+    private Cache<Object, Object> nativeCache(String cacheName) {
+        return cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache
+                ? caffeineCache.getNativeCache()
+                : null;
+    }
+
+    private void record(String cacheName, String scope, long entries) {
+        if (entries > 0) {
+            meterRegistry.counter("cache.invalidations", "cache", cacheName, "scope", scope).increment(entries);
+        }
+    }
+}
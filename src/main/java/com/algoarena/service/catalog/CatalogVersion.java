@@ -0,0 +1,201 @@
+// src/main/java/com/algoarena/service/catalog/CatalogVersion.java
+package com.algoarena.service.catalog;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version of the content catalog (categories, questions, solutions, course
+ * topics and docs), bumped after every @CatalogWrite.
+ *
+ * Kept in Mongo (catalog_version, one document) so every node behind the
+ * load balancer hands out the same ETag: a bump is an atomic $inc, and
+ * reads are cached for READ_TTL_MS - a write on another node shows up
+ * here within that. The document's epoch is random per creation, so a
+ * dropped and recreated counter never reissues an old ETag.
+ *
+ * Caches are per node, though, and only the writing node evicts. So when
+ * the version moves by more than this node's own bumps, an ExternalChange
+ * event is published (synchronously) before the new ETag is handed out:
+ * listeners drop what they hold, and no body cached before another node's
+ * write is served under an ETag issued after it.
+ *
+ * Read endpoints use it as a strong ETag: a client that sends the current
+ * one back in If-None-Match gets a 304 before any service call or
+ * serialization. While Mongo can't be read no ETag is given out at all.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersion.class);
+
+    // Revalidate on every use (cheap with the ETag); private since most catalog endpoints need a login
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    static final String COLLECTION = "catalog_version";
+    private static final String ID = "catalog";
+    // How stale another node's bump may be seen here
+    private static final long READ_TTL_MS = 1000;
+    // ETag chosen by notModified(), reused by ok() for the same request
+    private static final String ETAG_ATTRIBUTE = CatalogVersion.class.getName() + ".etag";
+
+    /**
+     * The catalog changed through another node (or the database itself):
+     * anything cached on this node may be stale
+     */
+    public record ExternalChange(long version) {}
+
+    // etag null: the last read failed
+    private record Snapshot(String etag, long readAt) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Null until first read
+    private volatile Snapshot snapshot;
+
+    // Last version this node saw (read or bumped to); guarded by this, -1 until first read
+    private long knownVersion = -1;
+    private long knownEpoch;
+
+    public CatalogVersion(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Increment the shared version; never fails the write that triggered it.
+     * Synchronized with refresh(), so a slower read can't put the old version back.
+     */
+    public synchronized void bump() {
+        try {
+            Document state = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(ID)),
+                    new Update().inc("version", 1L).setOnInsert("epoch", newEpoch()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class,
+                    COLLECTION);
+            // More than our own +1: another node wrote since we last looked
+            observe(state, 1);
+            snapshot = new Snapshot(etagOf(state), System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            // Unknown now: no ETags (so no stale 304s) until the next successful read
+            snapshot = new Snapshot(null, System.currentTimeMillis());
+            logger.warn("Catalog version bump failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Strong ETag for the current version, or null if it can't be read. Read
+     * it before loading the response: a write that lands in between then
+     * yields a newer ETag on the next request instead of a stale body under
+     * a fresh one.
+     */
+    public String etag() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.readAt() < READ_TTL_MS) {
+            return current.etag();
+        }
+        return refresh();
+    }
+
+    /**
+     * 304 (with ETag and cache headers) if the request already has the
+     * current version, else null and the caller loads the body for ok()
+     */
+    public <T> ResponseEntity<T> notModified(WebRequest webRequest) {
+        String etag = etag();
+        if (etag == null) {
+            return null;
+        }
+        webRequest.setAttribute(ETAG_ATTRIBUTE, etag, RequestAttributes.SCOPE_REQUEST);
+        if (!webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // Headers on the 304 too, or Spring Security's no-store default would replace them
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .build();
+    }
+
+    /**
+     * 200 carrying the ETag notModified() checked for this request
+     */
+    public ResponseEntity.BodyBuilder ok(WebRequest webRequest) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().cacheControl(CACHE_CONTROL);
+        Object etag = webRequest.getAttribute(ETAG_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return etag instanceof String value ? ok.eTag(value) : ok;
+    }
+
+    // One reader per expiry; the rest use what it read
+    private synchronized String refresh() {
+        Snapshot current = snapshot;
+        long now = System.currentTimeMillis();
+        if (current != null && now - current.readAt() < READ_TTL_MS) {
+            return current.etag();
+        }
+        try {
+            Document state = mongoTemplate.findById(ID, Document.class, COLLECTION);
+            if (state == null) {
+                // First use of this database: create it without moving the version
+                state = mongoTemplate.findAndModify(
+                        Query.query(Criteria.where("_id").is(ID)),
+                        new Update().inc("version", 0L).setOnInsert("epoch", newEpoch()),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        Document.class,
+                        COLLECTION);
+            }
+            observe(state, 0);
+            snapshot = new Snapshot(etagOf(state), now);
+            return snapshot.etag();
+        } catch (DataAccessException e) {
+            snapshot = new Snapshot(null, now); // Retried after READ_TTL_MS, not per request
+            logger.warn("Catalog version read failed, serving without ETags: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Caller holds the lock. ownIncrement: how far this node itself just moved the version
+    private void observe(Document state, long ownIncrement) {
+        long version = longOf(state, "version");
+        long epoch = longOf(state, "epoch");
+        boolean external = knownVersion >= 0
+                && (epoch != knownEpoch || version != knownVersion + ownIncrement);
+        knownVersion = version;
+        knownEpoch = epoch;
+        if (external) {
+            logger.debug("Catalog changed elsewhere (now version {}), dropping local caches", version);
+            eventPublisher.publishEvent(new ExternalChange(version));
+        }
+    }
+
+    private static long longOf(Document state, String field) {
+        Number value = state.get(field, Number.class);
+        return value == null ? 0 : value.longValue();
+    }
+
+    private static String etagOf(Document state) {
+        return "\"c" + Long.toString(longOf(state, "epoch"), 36) + "-" + longOf(state, "version") + "\"";
+    }
+
+    private static long newEpoch() {
+        return ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,23 @@
+// src/main/java/com/algoarena/service/catalog/CatalogWrite.java
+package com.algoarena.service.catalog;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Service method that changes catalog content: CatalogVersion is bumped
+ * once it returns or throws.
+ *
+ * The bump runs outside the caching advisor (see CatalogConfig), i.e.
+ * after the method's evictions (CatalogCacheInvalidator, @CacheEvict) -
+ * bumping earlier would let a concurrent read pair the new ETag with a
+ * not-yet-evicted cached body.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CatalogWrite {
+}
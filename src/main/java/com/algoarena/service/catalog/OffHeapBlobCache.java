@@ -0,0 +1,192 @@
+// src/main/java/com/algoarena/service/catalog/OffHeapBlobCache.java
+package com.algoarena.service.catalog;
+
+import com.algoarena.config.AppConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cache for large, rarely changing blobs (course doc bodies, visualizer HTML)
+ * kept outside the Java heap.
+ *
+ * Values are deflated into direct ByteBuffers, so the heap only holds a small
+ * buffer object per entry instead of a multi-MB String that would be promoted
+ * to the old generation. Each hit inflates a fresh copy, so hits are
+ * short-lived young-gen garbage.
+ * Bounded by compressed bytes (app.cache.off-heap.*); counts against
+ * -XX:MaxDirectMemorySize, which defaults to -Xmx.
+ *
+ * Keys are region prefix + id (COURSE_DOC, VISUALIZER). Writers invalidate;
+ * see CatalogCacheInvalidator for docs, which drops all of them when another
+ * node changed the catalog. Other writers go unseen, so entries also expire
+ * a fixed time after they were put, however often read.
+ *
+ * Metrics: cache.*{cache=offHeapBlobs}, cache.offheap.bytes
+ */
+@Component
+public class OffHeapBlobCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapBlobCache.class);
+
+    public static final String CACHE_NAME = "offHeapBlobs";
+
+    public static final String COURSE_DOC = "courseDoc:";
+    public static final String VISUALIZER = "visualizer:";
+
+    private final Cache<String, ByteBuffer> blobs;
+    private final ObjectMapper objectMapper;
+
+    public OffHeapBlobCache(AppConfig appConfig, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        AppConfig.Cache.OffHeap offHeap = appConfig.getCache().getOffHeap();
+        this.objectMapper = objectMapper;
+        this.blobs = Caffeine.newBuilder()
+                .maximumWeight(offHeap.getMaxBytes())
+                .weigher((String key, ByteBuffer buffer) -> buffer.capacity())
+                .expireAfterWrite(Duration.ofSeconds(offHeap.getExpireAfterWriteSeconds()))
+                .expireAfterAccess(Duration.ofSeconds(offHeap.getExpireAfterAccessSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, blobs, CACHE_NAME);
+        Gauge.builder("cache.offheap.bytes", blobs,
+                        cache -> cache.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .description("Compressed bytes held in direct buffers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public byte[] get(String key) {
+        ByteBuffer buffer = blobs.getIfPresent(key);
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            return inflate(buffer);
+        } catch (DataFormatException e) {
+            logger.warn("Dropping unreadable off-heap entry {}: {}", key, e.getMessage());
+            blobs.asMap().remove(key, buffer);
+            return null;
+        }
+    }
+
+    public void put(String key, byte[] value) {
+        blobs.put(key, deflate(value));
+    }
+
+    public String getText(String key) {
+        byte[] bytes = get(key);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    public void putText(String key, String value) {
+        put(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Value stored with putJson, read back as this type (null on a miss)
+     */
+    public <T> T getJson(String key, Class<T> type) {
+        byte[] bytes = get(key);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            logger.warn("Dropping off-heap entry {} that no longer reads as {}: {}", key, type.getSimpleName(), e.getMessage());
+            blobs.invalidate(key);
+            return null;
+        }
+    }
+
+    public void putJson(String key, Object value) {
+        try {
+            put(key, objectMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            // Not cached, still served
+            logger.warn("Could not cache {} off-heap: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop an entry; true if one was cached
+     */
+    public boolean invalidate(String key) {
+        return blobs.asMap().remove(key) != null;
+    }
+
+    /**
+     * Drop every entry of a region (key prefix); returns how many were cached
+     */
+    public int invalidatePrefix(String prefix) {
+        int removed = 0;
+        for (String key : List.copyOf(blobs.asMap().keySet())) {
+            if (key.startsWith(prefix) && blobs.asMap().remove(key) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // Layout: [raw length: int][deflated bytes]
+    private static ByteBuffer deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                out.write(chunk, 0, written);
+            }
+            byte[] compressed = out.toByteArray();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Integer.BYTES + compressed.length);
+            buffer.putInt(raw.length).put(compressed).flip();
+            return buffer.asReadOnlyBuffer();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer buffer) throws DataFormatException {
+        // Own position/limit: other threads read the same buffer
+        ByteBuffer view = buffer.duplicate();
+        int length = view.getInt();
+        byte[] raw = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(view);
+            int offset = 0;
+            while (offset < length) {
+                int read = inflater.inflate(raw, offset, length - offset);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                offset += read;
+            }
+            if (offset != length) {
+                throw new DataFormatException("expected " + length + " bytes, got " + offset);
+            }
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+}
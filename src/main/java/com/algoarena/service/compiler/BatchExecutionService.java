@@ -0,0 +1,180 @@
+// src/main/java/com/algoarena/service/compiler/BatchExecutionService.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.BatchExecutionRequest;
+import com.algoarena.dto.compiler.BatchExecutionResponse;
+import com.algoarena.dto.compiler.BatchExecutionResponse.CaseResult;
+import com.algoarena.dto.compiler.BatchExecutionResponse.CaseStatus;
+import com.algoarena.dto.compiler.BatchExecutionResponse.Verdict;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionBackendUnavailableException;
+import com.algoarena.exception.ExecutionBudgetExceededException;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one program against many test cases.
+ *
+ * Case 0 runs first on its own: a compile error fails every case the same
+ * way, so it is reported once instead of being compiled N times. The rest
+ * fan out with at most app.piston.batch-concurrency in flight. With
+ * stopOnFirstFailure the batch stops at the first failing result and the
+ * cases that never ran are reported as SKIPPED. Cases go through the
+ * submitting user's fair-share slots like any other execution.
+ *
+ * A failing case is reported as ERROR - except when case 0 is refused
+ * (no slot, budget spent, no backend): nothing has run, so the batch
+ * fails with that exception and the caller answers as for a single run.
+ */
+@Service
+public class BatchExecutionService {
+
+    @Autowired
+    private PistonService pistonService;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    public Mono<BatchExecutionResponse> executeBatch(BatchExecutionRequest request, String userId) {
+        int maxCases = appConfig.getPiston().getBatchMaxCases();
+        if (request.getCases().size() > maxCases) {
+            throw new IllegalArgumentException("A batch can contain at most " + maxCases + " test cases");
+        }
+
+        List<BatchExecutionRequest.TestCase> cases = request.getCases();
+        int concurrency = Math.max(1, appConfig.getPiston().getBatchConcurrency());
+        boolean stopOnFailure = request.isStopOnFirstFailure();
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+
+            return runCase(request, 0, userId).flatMapMany(first -> {
+                boolean stopHere = first.getStatus() == CaseStatus.COMPILE_ERROR
+                        || (stopOnFailure && first.getStatus() != CaseStatus.PASSED);
+                if (stopHere || cases.size() == 1) {
+                    return Flux.just(first);
+                }
+
+                Flux<CaseResult> rest = Flux.range(1, cases.size() - 1)
+                        .flatMap(index -> runCase(request, index, userId), concurrency);
+                if (stopOnFailure) {
+                    // Cancels cases not yet started; they are reported as SKIPPED
+                    rest = rest.takeUntil(result -> result.getStatus() != CaseStatus.PASSED);
+                }
+                return Flux.just(first).concatWith(rest);
+            })
+            .collectList()
+            .map(results -> aggregate(cases, results, System.nanoTime() - start));
+        });
+    }
+
+    private Mono<CaseResult> runCase(BatchExecutionRequest request, int index, String userId) {
+        BatchExecutionRequest.TestCase testCase = request.getCases().get(index);
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return pistonService.executeCode(request.toExecutionRequest(testCase), userId)
+                    .map(response -> toCaseResult(index, testCase, response))
+                    .onErrorResume(e -> index > 0 || !isRefused(e), e -> {
+                        CaseResult result = new CaseResult(index, CaseStatus.ERROR);
+                        result.setError(e.getMessage());
+                        return Mono.just(result);
+                    })
+                    .doOnNext(result -> result.setTimeMs(
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        });
+    }
+
+    private static boolean isRefused(Throwable e) {
+        return e instanceof ExecutionCapacityExceededException
+                || e instanceof ExecutionBudgetExceededException
+                || e instanceof ExecutionBackendUnavailableException;
+    }
+
+    private CaseResult toCaseResult(int index, BatchExecutionRequest.TestCase testCase, ExecutionResponse response) {
+        CaseResult result = new CaseResult(index, CaseStatus.PASSED);
+        result.setExpectedOutput(testCase.getExpectedOutput());
+
+        if (response.hasCompileError()) {
+            result.setStatus(CaseStatus.COMPILE_ERROR);
+            result.setStderr(response.getErrorMessage());
+            result.setExitCode(response.getCompile().getCode());
+            return result;
+        }
+
+        ExecutionResponse.RunResult run = response.getRun();
+        if (run == null) {
+            result.setStatus(CaseStatus.ERROR);
+            result.setError("No run result returned");
+            return result;
+        }
+
+        result.setStdout(run.getStdout());
+        result.setStderr(run.getStderr());
+        result.setExitCode(run.getCode());
+        result.setSignal(run.getSignal());
+
+        if (run.getCode() != 0 || run.getSignal() != null) {
+            result.setStatus(CaseStatus.RUNTIME_ERROR);
+        } else if (testCase.getExpectedOutput() != null
+                && !normalize(testCase.getExpectedOutput()).equals(normalize(run.getStdout()))) {
+            result.setStatus(CaseStatus.WRONG_ANSWER);
+        }
+        return result;
+    }
+
+    private BatchExecutionResponse aggregate(List<BatchExecutionRequest.TestCase> cases,
+                                             List<CaseResult> executed, long elapsedNanos) {
+        List<CaseResult> results = new ArrayList<>(executed);
+        boolean[] ran = new boolean[cases.size()];
+        executed.forEach(result -> ran[result.getIndex()] = true);
+        for (int i = 0; i < cases.size(); i++) {
+            if (!ran[i]) {
+                CaseResult skipped = new CaseResult(i, CaseStatus.SKIPPED);
+                skipped.setExpectedOutput(cases.get(i).getExpectedOutput());
+                results.add(skipped);
+            }
+        }
+        results.sort(Comparator.comparingInt(CaseResult::getIndex));
+
+        BatchExecutionResponse response = new BatchExecutionResponse();
+        response.setCases(results);
+        response.setTotal(cases.size());
+        response.setPassed((int) results.stream().filter(r -> r.getStatus() == CaseStatus.PASSED).count());
+        response.setTotalTimeMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        response.setVerdict(results.stream()
+                .filter(r -> r.getStatus() != CaseStatus.PASSED && r.getStatus() != CaseStatus.SKIPPED)
+                .findFirst()
+                .map(r -> verdictFor(r.getStatus()))
+                .orElse(response.getPassed() == cases.size() ? Verdict.ACCEPTED : Verdict.ERROR));
+        return response;
+    }
+
+    private static Verdict verdictFor(CaseStatus status) {
+        return switch (status) {
+            case WRONG_ANSWER -> Verdict.WRONG_ANSWER;
+            case COMPILE_ERROR -> Verdict.COMPILE_ERROR;
+            case RUNTIME_ERROR -> Verdict.RUNTIME_ERROR;
+            default -> Verdict.ERROR;
+        };
+    }
+
+    // Ignore trailing whitespace on each line and trailing blank lines
+    private static String normalize(String output) {
+        if (output == null) {
+            return "";
+        }
+        return output.replace("\r\n", "\n")
+                .replaceAll("[ \\t]+(?=\\n|$)", "")
+                .replaceAll("\\n+$", "");
+    }
+}
@@ -0,0 +1,51 @@
+// src/main/java/com/algoarena/service/compiler/CodeExecutor.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.dto.compiler.ExecutionEvent;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Backend that actually runs code. PistonService sits in front of it
+ * (runtime catalog, version resolution, result cache).
+ *
+ * Selected by app.executor.backend: "piston" (default) or "local".
+ */
+public interface CodeExecutor {
+
+    // Backend name reported by /compiler/health
+    String name();
+
+    /**
+     * Run one program. The version is already resolved. Fails with
+     * ExecutionCapacityExceededException when the backend is saturated.
+     */
+    Mono<ExecutionResponse> execute(ExecutionRequest request);
+
+    /**
+     * Run one program, emitting stdout/stderr chunks as they are produced
+     * (see ExecutionEvent), at most maxBytesPerStream per stream.
+     * Default for backends without incremental output: run to completion,
+     * then replay the result in chunks.
+     */
+    default Flux<ExecutionEvent> stream(ExecutionRequest request, int chunkSize, long maxBytesPerStream) {
+        return execute(request)
+                .flatMapMany(response -> OutputLimiter.replay(response, chunkSize, maxBytesPerStream));
+    }
+
+    /**
+     * Available runtimes as a Piston-style JSON array (language, version, aliases).
+     * Blocking; called from the catalog refresh.
+     */
+    String fetchRuntimes();
+
+    // Longest a single run may take (ms); what ExecutionBudgetService reserves up front
+    long runTimeLimitMs();
+
+    // Backend details for /compiler/health (endpoint, limits...)
+    Map<String, Object> describe();
+}
@@ -0,0 +1,179 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionBudgetService.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionBudgetExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user execution time budget, in milliseconds of runtime.
+ *
+ * Each user has a bucket of app.executor.budget.cpu-seconds-per-window,
+ * refilled gradually over window-minutes. A run first reserves the
+ * executor's run time limit - if the bucket can't cover it the submission is
+ * refused before anything runs - and is then settled to what it actually
+ * used: CPU time when the executor reports it, else wall time, else the
+ * observed time since it got a slot (start()). Runs that never got a slot
+ * (rejected, timed out or cancelled in the queue) are refunded in full.
+ * Cache hits are free.
+ *
+ * Node-local, like the per-node rate limit buckets.
+ *
+ * Metrics: execution.budget.charged (ms per run), execution.budget.rejected
+ */
+@Service
+public class ExecutionBudgetService {
+
+    /**
+     * Runtime held for one execution until it is settled
+     */
+    public static final class Reservation {
+        private final Bucket bucket;
+        private final long reservedMs;
+        private final AtomicLong startNanos = new AtomicLong();
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Reservation(Bucket bucket, long reservedMs) {
+            this.bucket = bucket;
+            this.reservedMs = reservedMs;
+        }
+
+        public long getReservedMs() {
+            return reservedMs;
+        }
+
+        /**
+         * The execution got its slot; observed time counts from here (first call wins)
+         */
+        public void start() {
+            startNanos.compareAndSet(0, System.nanoTime());
+        }
+
+        public boolean isStarted() {
+            return startNanos.get() != 0;
+        }
+
+        // Since start(), or 0 if it never started
+        public long elapsedMs() {
+            long start = startNanos.get();
+            return start == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    private final AppConfig.Executor.Budget config;
+    private final Cache<String, Bucket> buckets;
+    private final DistributionSummary charged;
+    private final Counter rejected;
+
+    public ExecutionBudgetService(AppConfig appConfig, MeterRegistry meterRegistry) {
+        this.config = appConfig.getExecutor().getBudget();
+        // A bucket untouched for a whole window is full again - no state worth keeping
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxUsers())
+                .expireAfterAccess(Duration.ofMinutes(config.getWindowMinutes()))
+                .build();
+
+        this.charged = DistributionSummary.builder("execution.budget.charged")
+                .baseUnit("milliseconds")
+                .description("Runtime charged per execution")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("execution.budget.rejected")
+                .description("Executions refused because the user's budget could not cover the time limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hold runTimeLimitMs of the user's budget, or fail with ExecutionBudgetExceededException.
+     * Returns null when budgets are disabled.
+     */
+    public Reservation reserve(String userId, long runTimeLimitMs) {
+        if (!config.isEnabled() || userId == null) {
+            return null;
+        }
+        Bucket bucket = bucketFor(userId);
+        long needed = Math.max(1, runTimeLimitMs);
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(needed);
+        if (!probe.isConsumed()) {
+            rejected.increment();
+            throw new ExecutionBudgetExceededException(
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill())));
+        }
+        return new Reservation(bucket, needed);
+    }
+
+    /**
+     * Replace the reservation with the actual charge (refund or extra); idempotent
+     */
+    public void settle(Reservation reservation, long chargeMs) {
+        if (reservation == null || !reservation.settled.compareAndSet(false, true)) {
+            return;
+        }
+        long charge = Math.max(0, chargeMs);
+        long difference = reservation.reservedMs - charge;
+        if (difference > 0) {
+            reservation.bucket.addTokens(difference);
+        } else if (difference < 0) {
+            // Ran past the limit (e.g. compile time on top): may go negative, blocking the next run
+            reservation.bucket.consumeIgnoringRateLimits(-difference);
+        }
+        charged.record(charge);
+    }
+
+    // Budget left for the user in ms, or null when budgets are disabled
+    public Long remaining(String userId) {
+        if (!config.isEnabled() || userId == null) {
+            return null;
+        }
+        return Math.max(0, bucketFor(userId).getAvailableTokens());
+    }
+
+    /**
+     * What a finished execution costs: reported CPU time (run + compile), else
+     * reported wall time, else how long the call took
+     */
+    public static long chargeFor(ExecutionResponse response, long observedMs) {
+        Long cpu = sum(
+                response.getRun() == null ? null : response.getRun().getCpuTimeMs(),
+                response.getCompile() == null ? null : response.getCompile().getCpuTimeMs());
+        if (cpu != null) {
+            return cpu;
+        }
+        Long wall = sum(
+                response.getRun() == null ? null : response.getRun().getWallTimeMs(),
+                response.getCompile() == null ? null : response.getCompile().getWallTimeMs());
+        return wall != null ? wall : observedMs;
+    }
+
+    private static Long sum(Long run, Long compile) {
+        if (run == null && compile == null) {
+            return null;
+        }
+        return (run == null ? 0 : run) + (compile == null ? 0 : compile);
+    }
+
+    private Bucket bucketFor(String userId) {
+        return buckets.get(userId, key -> {
+            long capacityMs = config.getCpuSecondsPerWindow() * 1000;
+            return Bucket.builder()
+                    .addLimit(Bandwidth.builder()
+                            .capacity(capacityMs)
+                            .refillGreedy(capacityMs, Duration.ofMinutes(config.getWindowMinutes()))
+                            .build())
+                    .build();
+        });
+    }
+}
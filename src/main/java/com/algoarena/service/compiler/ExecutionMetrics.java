@@ -0,0 +1,154 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionMetrics.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionBudgetExceededException;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.exception.ExecutionTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution latency by phase, for per-language SLOs. Both timers publish
+ * percentile histograms and are tagged language, version and outcome:
+ *
+ *   execution.latency  end to end per request, plus cached=true|false
+ *   execution.phase    phase=queue_wait  waiting for a fair-share slot
+ *                            connect     acquiring a (pooled) connection to Piston
+ *                            upstream    request sent -> response received
+ *                            parse       reading the response body
+ *                            compile/run as reported by the backend
+ *
+ * Connect/upstream/parse/compile/run are recorded once per upstream call, so
+ * requests sharing an in-flight call (ExecutionResultCache) count it once.
+ *
+ * outcome: ok, compile_error, runtime_error, timeout (call deadline or the
+ * program killed at its time limit), upstream_error, rejected (capacity or
+ * budget). language/version are tagged only when the runtime catalog knows
+ * them, else "other" - request values must not create series.
+ */
+@Component
+public class ExecutionMetrics {
+
+    public static final String OK = "ok";
+    public static final String COMPILE_ERROR = "compile_error";
+    public static final String RUNTIME_ERROR = "runtime_error";
+    public static final String TIMEOUT = "timeout";
+    public static final String UPSTREAM_ERROR = "upstream_error";
+    public static final String REJECTED = "rejected";
+
+    private static final String OTHER = "other";
+    // What both Piston and the local backend send a program over its time limit
+    private static final String KILLED = "SIGKILL";
+
+    private final MeterRegistry meterRegistry;
+
+    public ExecutionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * One request as its caller saw it; a non-cached one also records its queue wait
+     */
+    public void recordRequest(RuntimeCatalog catalog, ExecutionRequest request, long durationNanos,
+                              boolean cached, ExecutionResponse response, Throwable error) {
+        Tags tags = tags(catalog, request, response, error);
+        timer("execution.latency", "End-to-end code execution latency per request", tags.and("cached", String.valueOf(cached)))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (!cached && response != null && response.getQueueWaitMs() != null) {
+            phase("queue_wait", tags).record(response.getQueueWaitMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * One upstream call: transport phases from its timings, compile/run from the response
+     */
+    public void recordCall(RuntimeCatalog catalog, ExecutionRequest request, ExecutionTimings timings,
+                           ExecutionResponse response, Throwable error) {
+        Tags tags = tags(catalog, request, response, error);
+        recordNanos("connect", tags, timings.connectNanos());
+        recordNanos("upstream", tags, timings.upstreamNanos());
+        recordNanos("parse", tags, timings.parseNanos());
+        if (response == null) {
+            return;
+        }
+        if (response.getCompile() != null) {
+            recordMillis("compile", tags, response.getCompile().getWallTimeMs());
+        }
+        if (response.getRun() != null) {
+            recordMillis("run", tags, response.getRun().getWallTimeMs());
+        }
+    }
+
+    public static String outcome(ExecutionResponse response, Throwable error) {
+        if (error != null) {
+            if (error instanceof ExecutionTimeoutException) {
+                return TIMEOUT;
+            }
+            if (error instanceof ExecutionCapacityExceededException || error instanceof ExecutionBudgetExceededException) {
+                return REJECTED;
+            }
+            return UPSTREAM_ERROR;
+        }
+        if (response.getCompile() != null && KILLED.equals(response.getCompile().getSignal())) {
+            return TIMEOUT;
+        }
+        if (response.hasCompileError()) {
+            return COMPILE_ERROR;
+        }
+        ExecutionResponse.RunResult run = response.getRun();
+        if (run == null) {
+            return UPSTREAM_ERROR; // Answered, but without running anything
+        }
+        if (KILLED.equals(run.getSignal())) {
+            return TIMEOUT;
+        }
+        if (run.getCode() != 0 || run.getSignal() != null) {
+            return RUNTIME_ERROR;
+        }
+        return OK;
+    }
+
+    private Tags tags(RuntimeCatalog catalog, ExecutionRequest request, ExecutionResponse response, Throwable error) {
+        String language = catalog.canonicalLanguage(request.getLanguage());
+        String version = language != null && catalog.hasVersion(language, request.getVersion())
+                ? request.getVersion() : OTHER;
+        return Tags.of(
+                "language", language != null ? language : OTHER,
+                "version", version,
+                "outcome", outcome(response, error));
+    }
+
+    private void recordNanos(String phase, Tags tags, Long nanos) {
+        if (nanos != null) {
+            phase(phase, tags).record(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordMillis(String phase, Tags tags, Long millis) {
+        if (millis != null) {
+            phase(phase, tags).record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Timer phase(String phase, Tags tags) {
+        return timer("execution.phase", "Code execution latency by phase", tags.and("phase", phase));
+    }
+
+    // Registered on first use, looked up after that; bounded buckets keep the series count down
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,198 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionResultCache.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache of Piston results.
+ *
+ * Key: SHA-256 of the exact execution request (language, resolved version,
+ * code, files, stdin, args). Values are futures, so identical requests that arrive
+ * while the first one is still running share its upstream call.
+ *
+ * Failed calls are never cached (Caffeine drops exceptional futures), and
+ * neither are results killed by a signal - those depend on timing/limits,
+ * not on the code. Bounded by approximate output size and a TTL.
+ *
+ * Metrics: piston.execution.cache{result=hit|coalesced|miss},
+ *          piston.upstream.avoided, cache.*{cache=executionResults}
+ */
+@Component
+public class ExecutionResultCache {
+
+    public static final String CACHE_NAME = "executionResults";
+
+    private final AsyncCache<String, ExecutionResponse> cache;
+
+    private final Counter hits;
+    private final Counter coalesced;
+    private final Counter misses;
+    private final Counter upstreamAvoided;
+
+    public ExecutionResultCache(AppConfig appConfig, MeterRegistry meterRegistry) {
+        AppConfig.Piston piston = appConfig.getPiston();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(piston.getResultCacheMaxBytes())
+                .weigher((String key, ExecutionResponse response) -> approximateBytes(response))
+                .expireAfterWrite(Duration.ofSeconds(piston.getResultCacheTtlSeconds()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        this.hits = counter(meterRegistry, "hit");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.misses = counter(meterRegistry, "miss");
+        this.upstreamAvoided = Counter.builder("piston.upstream.avoided")
+                .description("Piston calls saved by cache hits and coalescing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached or in-flight result for this request, else run upstream once and share it
+     */
+    public Mono<ExecutionResponse> get(ExecutionRequest request,
+                                       Supplier<Mono<ExecutionResponse>> upstream) {
+        String key = keyFor(request);
+
+        CompletableFuture<ExecutionResponse> existing = cache.getIfPresent(key);
+        if (existing != null) {
+            (existing.isDone() ? hits : coalesced).increment();
+            upstreamAvoided.increment();
+            return share(existing);
+        }
+
+        boolean[] created = new boolean[1];
+        CompletableFuture<ExecutionResponse> future = cache.get(key, (k, executor) -> {
+            created[0] = true;
+            return upstream.get().toFuture();
+        });
+
+        if (created[0]) {
+            misses.increment();
+            // Non-deterministic outcome: serve it to everyone waiting, but don't keep it
+            future.thenAccept(result -> {
+                if (!isCacheable(result)) {
+                    cache.asMap().remove(key, future);
+                }
+            });
+        } else {
+            // Lost the race to another identical request
+            coalesced.increment();
+            upstreamAvoided.increment();
+        }
+        return share(future);
+    }
+
+    /**
+     * Finished result for this request if one is cached (counted as a hit),
+     * else null. Never starts an execution.
+     */
+    public ExecutionResponse getIfCompleted(ExecutionRequest request) {
+        CompletableFuture<ExecutionResponse> existing = cache.getIfPresent(keyFor(request));
+        if (existing == null || !existing.isDone() || existing.isCompletedExceptionally()) {
+            return null;
+        }
+        hits.increment();
+        upstreamAvoided.increment();
+        return existing.join();
+    }
+
+    // One caller going away must not cancel the call the others are waiting on
+    private static Mono<ExecutionResponse> share(CompletableFuture<ExecutionResponse> future) {
+        return Mono.fromFuture(future, true);
+    }
+
+    static boolean isCacheable(ExecutionResponse response) {
+        if (response == null || response.getRun() == null) {
+            return false;
+        }
+        if (response.getRun().getSignal() != null) {
+            return false;
+        }
+        return response.getCompile() == null || response.getCompile().getSignal() == null;
+    }
+
+    // Length-prefixed fields, so ("ab","c") and ("a","bc") hash differently
+    static String keyFor(ExecutionRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, request.getLanguage());
+            update(digest, request.getVersion());
+            update(digest, request.getCode());
+
+            List<ExecutionRequest.FileContent> files = request.getFiles();
+            update(digest, files == null ? 0 : files.size());
+            if (files != null) {
+                for (ExecutionRequest.FileContent file : files) {
+                    update(digest, file.getName());
+                    update(digest, file.getContent());
+                }
+            }
+
+            // Empty stdin/args are sent the same as none
+            update(digest, request.getStdin() == null || request.getStdin().isEmpty() ? null : request.getStdin());
+            List<String> args = request.getArgs();
+            update(digest, args == null ? 0 : args.size());
+            if (args != null) {
+                args.forEach(arg -> update(digest, arg));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(4).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    // Output strings dominate the size; 2 bytes per char plus a fixed overhead
+    private static int approximateBytes(ExecutionResponse response) {
+        long chars = 0;
+        if (response.getRun() != null) {
+            chars += length(response.getRun().getStdout()) + length(response.getRun().getStderr())
+                    + length(response.getRun().getOutput());
+        }
+        if (response.getCompile() != null) {
+            chars += length(response.getCompile().getStdout()) + length(response.getCompile().getStderr())
+                    + length(response.getCompile().getOutput());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, 256 + chars * 2);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("piston.execution.cache")
+                .tag("result", result)
+                .description("Execution requests by cache outcome")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,300 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionScheduler.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fair-share admission for code executions.
+ *
+ * At most app.executor.fair-share.max-concurrent executions run at once, and
+ * at most per-user-in-flight of them for any one user. Everything else waits
+ * in a per-user FIFO (up to per-user-queue entries), and free slots go to
+ * users in round-robin order - a user with 20 queued runs gets one slot per
+ * turn, same as a user with one. A run that waits longer than
+ * max-queue-wait-ms fails with ExecutionCapacityExceededException.
+ *
+ * Metrics: execution.queue.wait (timer), execution.scheduler.queued,
+ *          execution.scheduler.inflight, execution.scheduler.users,
+ *          execution.scheduler.rejected{reason}
+ */
+@Component
+public class ExecutionScheduler {
+
+    private static final int QUEUED = 0;
+    private static final int STARTED = 1;
+    private static final int CANCELLED = 2;
+
+    /**
+     * Result plus how long it waited for a slot
+     */
+    public record Scheduled<T>(T value, long queueWaitMs) {}
+
+    private static final class UserState {
+        final String userId;
+        final ArrayDeque<Task> queue = new ArrayDeque<>();
+        int inFlight;
+        boolean inRing;
+
+        UserState(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    // A granted slot; released exactly once
+    private static final class Permit {
+        final UserState user;
+        final long queueWaitNanos;
+        final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(UserState user, long queueWaitNanos) {
+            this.user = user;
+            this.queueWaitNanos = queueWaitNanos;
+        }
+
+        long queueWaitMs() {
+            return TimeUnit.NANOSECONDS.toMillis(queueWaitNanos);
+        }
+    }
+
+    private static final class Task {
+        final UserState user;
+        final MonoSink<Permit> sink;
+        final long enqueuedNanos = System.nanoTime();
+        final AtomicInteger state = new AtomicInteger(QUEUED);
+        volatile Disposable expiry;
+        volatile Permit permit;
+
+        Task(UserState user, MonoSink<Permit> sink) {
+            this.user = user;
+            this.sink = sink;
+        }
+    }
+
+    private final AppConfig.Executor.FairShare config;
+
+    // Guarded by this
+    private final Map<String, UserState> users = new HashMap<>();
+    private final ArrayDeque<UserState> ring = new ArrayDeque<>();
+    private int inFlight;
+    private int queued;
+
+    // Serialises dispatching without recursion when work completes synchronously
+    private final AtomicInteger dispatchWip = new AtomicInteger();
+
+    private final Timer queueWait;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public ExecutionScheduler(AppConfig appConfig, MeterRegistry meterRegistry) {
+        this.config = appConfig.getExecutor().getFairShare();
+
+        this.queueWait = Timer.builder("execution.queue.wait")
+                .description("Time executions wait for a fair-share slot")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("execution.scheduler.queued", this, scheduler -> scheduler.snapshot()[0])
+                .description("Executions waiting for a slot")
+                .register(meterRegistry);
+        Gauge.builder("execution.scheduler.inflight", this, scheduler -> scheduler.snapshot()[1])
+                .description("Executions holding a slot")
+                .register(meterRegistry);
+        Gauge.builder("execution.scheduler.users", this, scheduler -> scheduler.snapshot()[2])
+                .description("Users with queued or running executions")
+                .register(meterRegistry);
+        this.rejectedQueueFull = rejected(meterRegistry, "user_queue_full");
+        this.rejectedTimeout = rejected(meterRegistry, "queue_timeout");
+    }
+
+    /**
+     * Run work once this user gets a slot; the slot is held until the Mono terminates or is cancelled
+     */
+    public <T> Mono<Scheduled<T>> submit(String userId, Supplier<Mono<T>> work) {
+        if (!config.isEnabled()) {
+            return Mono.defer(() -> work.get().map(value -> new Scheduled<>(value, 0L)));
+        }
+        return Mono.usingWhen(
+                acquire(userId),
+                permit -> work.get().map(value -> new Scheduled<>(value, permit.queueWaitMs())),
+                permit -> Mono.fromRunnable(() -> release(permit)));
+    }
+
+    /**
+     * Same for a streamed execution; the slot is held until the Flux terminates or is cancelled
+     */
+    public <T> Flux<T> submitMany(String userId, Supplier<Flux<T>> work) {
+        if (!config.isEnabled()) {
+            return Flux.defer(work);
+        }
+        return Flux.usingWhen(
+                acquire(userId),
+                permit -> work.get(),
+                permit -> Mono.fromRunnable(() -> release(permit)));
+    }
+
+    private Mono<Permit> acquire(String userId) {
+        String key = userId == null ? "anonymous" : userId;
+        return Mono.create(sink -> {
+            Task task;
+            synchronized (this) {
+                UserState user = users.computeIfAbsent(key, UserState::new);
+                if (user.queue.size() >= config.getPerUserQueue()) {
+                    removeIfIdle(user);
+                    rejectedQueueFull.increment();
+                    sink.error(new ExecutionCapacityExceededException(
+                            "Too many executions queued. Wait for your running code to finish."));
+                    return;
+                }
+                task = new Task(user, sink);
+                user.queue.add(task);
+                queued++;
+                if (!user.inRing && user.inFlight < config.getPerUserInFlight()) {
+                    ring.add(user);
+                    user.inRing = true;
+                }
+            }
+
+            Task enqueued = task;
+            sink.onCancel(() -> cancel(enqueued));
+            enqueued.expiry = Schedulers.parallel().schedule(() -> expire(enqueued),
+                    config.getMaxQueueWaitMs(), TimeUnit.MILLISECONDS);
+            dispatch();
+        });
+    }
+
+    private void dispatch() {
+        if (dispatchWip.getAndIncrement() != 0) {
+            return; // The thread already dispatching will loop again
+        }
+        do {
+            Task task;
+            while ((task = next()) != null) {
+                grant(task);
+            }
+        } while (dispatchWip.decrementAndGet() != 0);
+    }
+
+    // Next task by round robin over users, or null if no slot / nothing eligible
+    private synchronized Task next() {
+        while (inFlight < config.getMaxConcurrent() && !ring.isEmpty()) {
+            UserState user = ring.poll();
+            user.inRing = false;
+
+            Task task = user.queue.poll();
+            if (task == null) {
+                removeIfIdle(user);
+                continue;
+            }
+            queued--;
+            // Permit exists before STARTED is visible, so cancel() can always release it
+            long waitNanos = System.nanoTime() - task.enqueuedNanos;
+            task.permit = new Permit(user, waitNanos);
+            if (!task.state.compareAndSet(QUEUED, STARTED)) {
+                requeueIfEligible(user);
+                continue; // Cancelled or expired while we were picking it
+            }
+            user.inFlight++;
+            inFlight++;
+            requeueIfEligible(user);
+            return task;
+        }
+        return null;
+    }
+
+    private void grant(Task task) {
+        Disposable expiry = task.expiry;
+        if (expiry != null) {
+            expiry.dispose();
+        }
+        queueWait.record(task.permit.queueWaitNanos, TimeUnit.NANOSECONDS);
+        task.sink.success(task.permit);
+    }
+
+    private void release(Permit permit) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (this) {
+            UserState user = permit.user;
+            user.inFlight--;
+            inFlight--;
+            requeueIfEligible(user);
+            removeIfIdle(user);
+        }
+        dispatch();
+    }
+
+    private void cancel(Task task) {
+        if (task.state.compareAndSet(QUEUED, CANCELLED)) {
+            dequeue(task);
+        } else if (task.state.get() == STARTED) {
+            // Granted, but the subscriber left before taking the permit
+            release(task.permit);
+        }
+    }
+
+    private void expire(Task task) {
+        if (task.state.compareAndSet(QUEUED, CANCELLED)) {
+            dequeue(task);
+            rejectedTimeout.increment();
+            task.sink.error(new ExecutionCapacityExceededException(
+                    "Code execution is busy: no slot within " + config.getMaxQueueWaitMs() + "ms. Please try again."));
+        }
+    }
+
+    private synchronized void dequeue(Task task) {
+        Disposable expiry = task.expiry;
+        if (expiry != null) {
+            expiry.dispose();
+        }
+        if (task.user.queue.remove(task)) {
+            queued--;
+        }
+        removeIfIdle(task.user);
+    }
+
+    // Caller holds the lock
+    private void requeueIfEligible(UserState user) {
+        if (!user.inRing && !user.queue.isEmpty() && user.inFlight < config.getPerUserInFlight()) {
+            ring.add(user);
+            user.inRing = true;
+        }
+    }
+
+    // Caller holds the lock
+    private void removeIfIdle(UserState user) {
+        if (user.inFlight == 0 && user.queue.isEmpty() && !user.inRing) {
+            users.remove(user.userId, user);
+        }
+    }
+
+    // queued, in flight, active users
+    private synchronized int[] snapshot() {
+        return new int[] { queued, inFlight, users.size() };
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("execution.scheduler.rejected")
+                .tag("reason", reason)
+                .description("Executions refused by the fair-share scheduler")
+                .register(meterRegistry);
+    }
+}
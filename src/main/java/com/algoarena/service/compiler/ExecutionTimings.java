@@ -0,0 +1,81 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionTimings.java
+package com.algoarena.service.compiler;
+
+import reactor.util.context.ContextView;
+
+/**
+ * Where one upstream execution call spent its time, for ExecutionMetrics.
+ *
+ * PistonService puts an instance in the Reactor context of the call; the
+ * backend marks it as the call progresses (System.nanoTime()). Piston marks
+ * every point - "connected" comes from the HTTP client once a pooled
+ * connection is acquired and the request is about to be written. The local
+ * backend has no connection and nothing to parse, so it only marks start and
+ * received. A retried call starts over, so the marks describe the last attempt.
+ */
+public final class ExecutionTimings {
+
+    private static final long NOT_REACHED = Long.MIN_VALUE;
+
+    private volatile long startNanos = NOT_REACHED;
+    private volatile long connectedNanos = NOT_REACHED;
+    private volatile long receivedNanos = NOT_REACHED;
+    private volatile long parsedNanos = NOT_REACHED;
+
+    /**
+     * The instance for this call, or a throwaway one when nobody is measuring it
+     */
+    public static ExecutionTimings from(ContextView context) {
+        return context.<ExecutionTimings>getOrEmpty(ExecutionTimings.class).orElseGet(ExecutionTimings::new);
+    }
+
+    public long markStart() {
+        long now = System.nanoTime();
+        connectedNanos = NOT_REACHED;
+        receivedNanos = NOT_REACHED;
+        parsedNanos = NOT_REACHED;
+        startNanos = now;
+        return now;
+    }
+
+    public void markConnected() {
+        connectedNanos = System.nanoTime();
+    }
+
+    public void markReceived() {
+        receivedNanos = System.nanoTime();
+    }
+
+    public void markParsed() {
+        parsedNanos = System.nanoTime();
+    }
+
+    // Start -> connection ready, or null if the call never got a connection
+    public Long connectNanos() {
+        long start = startNanos;
+        long connected = connectedNanos;
+        return start == NOT_REACHED || connected == NOT_REACHED ? null : connected - start;
+    }
+
+    /**
+     * Connection ready (or start) -> response received; a call that failed
+     * before a response counts up to now. Null if the call never started.
+     */
+    public Long upstreamNanos() {
+        long start = startNanos;
+        if (start == NOT_REACHED) {
+            return null;
+        }
+        long connected = connectedNanos;
+        long received = receivedNanos;
+        long from = connected == NOT_REACHED ? start : connected;
+        return (received == NOT_REACHED ? System.nanoTime() : received) - from;
+    }
+
+    // Response received -> parsed, or null if there was nothing to parse
+    public Long parseNanos() {
+        long received = receivedNanos;
+        long parsed = parsedNanos;
+        return received == NOT_REACHED || parsed == NOT_REACHED ? null : parsed - received;
+    }
+}
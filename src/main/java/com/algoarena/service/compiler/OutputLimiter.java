@@ -0,0 +1,146 @@
+// src/main/java/com/algoarena/service/compiler/OutputLimiter.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.dto.compiler.ExecutionEvent;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-execution byte cap on streamed stdout/stderr (UTF-8 bytes, counted
+ * separately per stream). Once a stream reaches the cap the rest of it is
+ * dropped and a single truncated event is emitted for it.
+ */
+public final class OutputLimiter {
+
+    public static final String STDOUT = "stdout";
+    public static final String STDERR = "stderr";
+
+    /**
+     * What may be sent of a chunk: text within the cap (possibly empty) and
+     * whether this chunk is the one that hit it
+     */
+    public record Admitted(String chunk, boolean truncatedNow) {}
+
+    private final long maxBytesPerStream;
+    private long stdoutBytes;
+    private long stderrBytes;
+    private boolean stdoutTruncated;
+    private boolean stderrTruncated;
+
+    public OutputLimiter(long maxBytesPerStream) {
+        this.maxBytesPerStream = maxBytesPerStream;
+    }
+
+    public long getMaxBytesPerStream() {
+        return maxBytesPerStream;
+    }
+
+    public synchronized Admitted admit(String stream, String chunk) {
+        boolean stderr = STDERR.equals(stream);
+        if (stderr ? stderrTruncated : stdoutTruncated) {
+            return new Admitted("", false);
+        }
+        long used = stderr ? stderrBytes : stdoutBytes;
+        long remaining = maxBytesPerStream - used;
+
+        int bytes = utf8Length(chunk);
+        if (bytes <= remaining) {
+            if (stderr) stderrBytes += bytes; else stdoutBytes += bytes;
+            return new Admitted(chunk, false);
+        }
+
+        String head = prefixWithin(chunk, remaining);
+        if (stderr) {
+            stderrBytes = maxBytesPerStream;
+            stderrTruncated = true;
+        } else {
+            stdoutBytes = maxBytesPerStream;
+            stdoutTruncated = true;
+        }
+        return new Admitted(head, true);
+    }
+
+    public synchronized boolean isTruncated(String stream) {
+        return STDERR.equals(stream) ? stderrTruncated : stdoutTruncated;
+    }
+
+    /**
+     * Events for an already finished execution (cache hit, or a backend
+     * without incremental output): compile, stdout chunks, stderr chunks, exit.
+     * Chunks are cut lazily, so only the ones requested are materialised.
+     */
+    public static Flux<ExecutionEvent> replay(ExecutionResponse response, int chunkChars, long maxBytesPerStream) {
+        List<Flux<ExecutionEvent>> parts = new ArrayList<>();
+        if (response.getCompile() != null) {
+            ExecutionEvent compile = ExecutionEvent.compile(response.getCompile());
+            parts.add(Flux.just(compile));
+            if (compile.isCompileFailure()) {
+                return Flux.concat(parts);
+            }
+        }
+
+        ExecutionResponse.RunResult run = response.getRun();
+        if (run == null) {
+            parts.add(Flux.just(ExecutionEvent.error("No run result returned")));
+            return Flux.concat(parts);
+        }
+
+        OutputLimiter limiter = new OutputLimiter(maxBytesPerStream);
+        parts.add(chunks(run.getStdout(), STDOUT, chunkChars, limiter));
+        parts.add(chunks(run.getStderr(), STDERR, chunkChars, limiter));
+        parts.add(Flux.just(ExecutionEvent.exit(run.getCode(), run.getSignal(), null)));
+        return Flux.concat(parts);
+    }
+
+    private static Flux<ExecutionEvent> chunks(String text, String stream, int chunkChars, OutputLimiter limiter) {
+        if (text == null || text.isEmpty()) {
+            return Flux.empty();
+        }
+        int size = Math.max(1, chunkChars);
+        return Flux.<ExecutionEvent, Integer>generate(() -> 0, (offset, sink) -> {
+                    if (offset >= text.length() || limiter.isTruncated(stream)) {
+                        sink.complete();
+                        return offset;
+                    }
+                    int end = Math.min(text.length(), offset + size);
+                    // Don't split a surrogate pair across events
+                    if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                        end--;
+                    }
+                    sink.next(chunkEvent(stream, limiter.admit(stream, text.substring(offset, end)).chunk()));
+                    return end;
+                })
+                .filter(event -> !event.getData().isEmpty())
+                .concatWith(Flux.defer(() -> limiter.isTruncated(stream)
+                        ? Flux.just(ExecutionEvent.truncated(stream, limiter.getMaxBytesPerStream()))
+                        : Flux.empty()));
+    }
+
+    public static ExecutionEvent chunkEvent(String stream, String chunk) {
+        return STDERR.equals(stream) ? ExecutionEvent.stderr(chunk) : ExecutionEvent.stdout(chunk);
+    }
+
+    private static int utf8Length(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // Longest prefix (whole code points) that fits in maxBytes
+    private static String prefixWithin(String text, long maxBytes) {
+        long bytes = 0;
+        int index = 0;
+        while (index < text.length()) {
+            int codePoint = text.codePointAt(index);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (bytes + size > maxBytes) {
+                break;
+            }
+            bytes += size;
+            index += Character.charCount(codePoint);
+        }
+        return text.substring(0, index);
+    }
+}
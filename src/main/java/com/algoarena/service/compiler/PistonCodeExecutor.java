@@ -0,0 +1,426 @@
+// src/main/java/com/algoarena/service/compiler/PistonCodeExecutor.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionBackendUnavailableException;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.exception.ExecutionTimeoutException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Piston API backend on a pooled, non-blocking WebClient.
+ *
+ * app.piston.timeout is enforced per call (response timeout + hard deadline),
+ * connections are pooled (app.piston.max-connections) and at most
+ * app.piston.max-concurrent-executions executions are in flight; further
+ * calls fail fast with ExecutionCapacityExceededException instead of queueing.
+ *
+ * With app.piston.endpoints set, calls are spread over those replicas,
+ * weighted by 1/p95 of their recent latency, and app.piston.api-url is only
+ * used when no replica is available. Each endpoint has its own circuit
+ * breaker (see PistonEndpoint). A call that fails fast (connection refused,
+ * 5xx, 429) is retried once on another endpoint; timeouts are not retried,
+ * the caller has already waited the full timeout. With every breaker open
+ * calls fail immediately with ExecutionBackendUnavailableException.
+ *
+ * Each call marks the ExecutionTimings in its context (connection ready,
+ * response received, parsed) for ExecutionMetrics.
+ */
+@Component
+@ConditionalOnProperty(name = "app.executor.backend", havingValue = "piston", matchIfMissing = true)
+public class PistonCodeExecutor implements CodeExecutor {
+
+    // Program output can be large; WebClient's default buffer is 256KB
+    private static final int MAX_RESPONSE_BYTES = 4 * 1024 * 1024;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConnectionProvider connectionProvider;
+    private List<PistonEndpoint> endpoints;
+    private Semaphore executionPermits;
+    private Duration timeout;
+    private int maxAttempts;
+
+    @PostConstruct
+    void init() {
+        AppConfig.Piston piston = appConfig.getPiston();
+        this.timeout = Duration.ofMillis(piston.getTimeout());
+        this.executionPermits = new Semaphore(piston.getMaxConcurrentExecutions());
+        this.maxAttempts = Math.max(1, piston.getMaxAttempts());
+
+        this.connectionProvider = ConnectionProvider.builder("piston")
+                .maxConnections(piston.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(piston.getConnectTimeout()))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, piston.getConnectTimeout())
+                .responseTimeout(timeout)
+                // Pooled connection acquired (or opened), request about to be written
+                .doOnRequest((request, connection) ->
+                        ExecutionTimings.from(request.currentContextView()).markConnected());
+
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_RESPONSE_BYTES));
+
+        List<String> replicas = piston.getEndpoints() == null ? List.of()
+                : piston.getEndpoints().stream().map(String::trim).filter(url -> !url.isEmpty()).distinct().toList();
+        List<PistonEndpoint> all = new ArrayList<>();
+        for (String url : replicas) {
+            all.add(endpoint(builder, url, false, piston));
+        }
+        if (piston.getApiUrl() != null && !piston.getApiUrl().isBlank() && !replicas.contains(piston.getApiUrl())) {
+            // Only a fallback when there are replicas to prefer
+            all.add(endpoint(builder, piston.getApiUrl(), !replicas.isEmpty(), piston));
+        }
+        this.endpoints = List.copyOf(all);
+    }
+
+    private static PistonEndpoint endpoint(WebClient.Builder builder, String url, boolean fallback,
+                                           AppConfig.Piston piston) {
+        return new PistonEndpoint(url, fallback, builder.clone().baseUrl(url).build(),
+                piston.getBreakerFailureThreshold(), piston.getBreakerOpenMs(), piston.getLatencyWindow());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    @Override
+    public String name() {
+        return "piston";
+    }
+
+    // Permit taken on subscribe, so an unsubscribed Mono can't leak one
+    @Override
+    public Mono<ExecutionResponse> execute(ExecutionRequest request) {
+        return Mono.defer(() -> {
+            if (!executionPermits.tryAcquire()) {
+                return Mono.error(new ExecutionCapacityExceededException());
+            }
+            Map<String, Object> body = buildPistonRequest(request);
+            return attempt(body, new HashSet<>(), null)
+                    .doFinally(signal -> executionPermits.release());
+        });
+    }
+
+    // One call on the best endpoint not tried yet; fast failures move on to the next one
+    private Mono<ExecutionResponse> attempt(Map<String, Object> body, Set<PistonEndpoint> tried, Throwable previous) {
+        PistonEndpoint endpoint = acquireEndpoint(tried);
+        if (endpoint == null) {
+            return Mono.error(previous != null ? previous : new ExecutionBackendUnavailableException());
+        }
+        tried.add(endpoint);
+
+        return Mono.deferContextual(context -> {
+                    ExecutionTimings timings = ExecutionTimings.from(context);
+                    long start = timings.markStart();
+                    return endpoint.getWebClient().post()
+                            .uri("/execute")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(body)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .timeout(timeout)
+                            .doOnSuccess(response -> {
+                                timings.markReceived();
+                                endpoint.onSuccess(System.nanoTime() - start);
+                            })
+                            .doOnCancel(endpoint::onCancel)
+                            .onErrorMap(e -> new CallFailure(e,
+                                    recordOutcome(endpoint, e, System.nanoTime() - start)
+                                            && !(e instanceof TimeoutException)))
+                            .map(responseBody -> {
+                                ExecutionResponse response = parseExecutionResponse(responseBody);
+                                timings.markParsed();
+                                return response;
+                            });
+                })
+                .onErrorResume(CallFailure.class, failure -> {
+                    Throwable error = toExecutionError(failure.getCause());
+                    if (failure.retryable && tried.size() < maxAttempts) {
+                        return attempt(body, tried, error);
+                    }
+                    return Mono.error(error);
+                });
+    }
+
+    // Upstream call failed; carries whether another endpoint is worth trying
+    private static final class CallFailure extends RuntimeException {
+        private final boolean retryable;
+
+        CallFailure(Throwable cause, boolean retryable) {
+            super(cause.getMessage(), cause, false, false);
+            this.retryable = retryable;
+        }
+    }
+
+    @Override
+    public long runTimeLimitMs() {
+        return appConfig.getPiston().getRunTimeoutMs();
+    }
+
+    @Override
+    public String fetchRuntimes() {
+        Set<PistonEndpoint> tried = new HashSet<>();
+        RuntimeException lastError = new ExecutionBackendUnavailableException();
+        PistonEndpoint endpoint;
+        while ((endpoint = acquireEndpoint(tried)) != null) {
+            tried.add(endpoint);
+            long start = System.nanoTime();
+            try {
+                String body = endpoint.getWebClient().get()
+                        .uri("/runtimes")
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .block(timeout);
+                endpoint.onSuccess(System.nanoTime() - start);
+                return body;
+            } catch (RuntimeException e) {
+                Throwable cause = e.getCause() instanceof TimeoutException ? e.getCause() : e;
+                recordOutcome(endpoint, cause, System.nanoTime() - start);
+                lastError = new RuntimeException(endpoint.getUrl() + ": " + toExecutionError(cause).getMessage());
+            }
+        }
+        throw lastError;
+    }
+
+    @Override
+    public Map<String, Object> describe() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> details = new HashMap<>();
+        details.put("apiUrl", appConfig.getPiston().getApiUrl());
+        details.put("endpoints", endpoints.stream().map(endpoint -> endpoint.describe(now)).toList());
+        long available = endpoints.stream().filter(endpoint -> endpoint.isAvailable(now)).count();
+        details.put("availableEndpoints", available);
+        details.put("healthy", available > 0);
+        return details;
+    }
+
+    /**
+     * Weighted pick among available endpoints not yet tried: replicas first,
+     * the fallback only when no replica admits the call. Weight = 1/p95;
+     * endpoints without samples count as fast as the fastest one, so new or
+     * recovered endpoints get traffic straight away.
+     */
+    private PistonEndpoint acquireEndpoint(Set<PistonEndpoint> tried) {
+        long now = System.currentTimeMillis();
+        for (boolean fallbackTier : new boolean[] { false, true }) {
+            List<PistonEndpoint> candidates = new ArrayList<>();
+            for (PistonEndpoint endpoint : endpoints) {
+                if (endpoint.isFallback() == fallbackTier && !tried.contains(endpoint) && endpoint.isAvailable(now)) {
+                    candidates.add(endpoint);
+                }
+            }
+            while (!candidates.isEmpty()) {
+                PistonEndpoint chosen = weightedPick(candidates);
+                if (chosen.tryAcquire(now)) {
+                    return chosen;
+                }
+                candidates.remove(chosen); // Lost a half-open probe race
+            }
+        }
+        return null;
+    }
+
+    private static PistonEndpoint weightedPick(List<PistonEndpoint> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        double[] p95 = new double[candidates.size()];
+        double fastest = Double.MAX_VALUE;
+        for (int i = 0; i < p95.length; i++) {
+            p95[i] = candidates.get(i).p95Millis();
+            if (p95[i] >= 0) {
+                fastest = Math.min(fastest, p95[i]);
+            }
+        }
+        double[] weights = new double[p95.length];
+        double total = 0;
+        for (int i = 0; i < p95.length; i++) {
+            double latency = p95[i] >= 0 ? p95[i] : (fastest == Double.MAX_VALUE ? 1 : fastest);
+            weights[i] = 1.0 / Math.max(1.0, latency);
+            total += weights[i];
+        }
+        double pick = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return candidates.get(i);
+            }
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    /**
+     * Feed the breaker; true if the failure was the endpoint's fault
+     * (unreachable, timeout, 5xx, 429) rather than the request's (other 4xx)
+     */
+    private static boolean recordOutcome(PistonEndpoint endpoint, Throwable e, long latencyNanos) {
+        if (e instanceof WebClientResponseException response
+                && response.getStatusCode().is4xxClientError()
+                && response.getStatusCode().value() != 429) {
+            endpoint.onResponded();
+            return false;
+        }
+        endpoint.onFailure(latencyNanos, describeError(e), System.currentTimeMillis());
+        return true;
+    }
+
+    private static String describeError(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof WebClientResponseException response) {
+            return "HTTP " + response.getStatusCode().value();
+        }
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    // Prepare request body for Piston API
+    private Map<String, Object> buildPistonRequest(ExecutionRequest request) {
+        Map<String, Object> pistonRequest = new HashMap<>();
+        pistonRequest.put("language", request.getLanguage());
+        pistonRequest.put("version", request.getVersion());
+        
+        // Prepare files array
+        List<Map<String, String>> files = new ArrayList<>();
+        Map<String, String> mainFile = new HashMap<>();
+        mainFile.put("content", request.getCode());
+        files.add(mainFile);
+        
+        // Add additional files if provided
+        if (request.getFiles() != null) {
+            for (ExecutionRequest.FileContent file : request.getFiles()) {
+                Map<String, String> additionalFile = new HashMap<>();
+                additionalFile.put("name", file.getName());
+                additionalFile.put("content", file.getContent());
+                files.add(additionalFile);
+            }
+        }
+        
+        pistonRequest.put("files", files);
+        pistonRequest.put("run_timeout", appConfig.getPiston().getRunTimeoutMs());
+        pistonRequest.put("compile_timeout", appConfig.getPiston().getCompileTimeoutMs());
+        
+        // Add stdin if provided
+        if (request.getStdin() != null && !request.getStdin().isEmpty()) {
+            pistonRequest.put("stdin", request.getStdin());
+        }
+        
+        // Add args if provided
+        if (request.getArgs() != null && !request.getArgs().isEmpty()) {
+            pistonRequest.put("args", request.getArgs());
+        }
+        return pistonRequest;
+    }
+
+    private Throwable toExecutionError(Throwable e) {
+        if (e instanceof ExecutionCapacityExceededException) {
+            return e;
+        }
+        if (e instanceof TimeoutException) {
+            return new ExecutionTimeoutException(timeout.toMillis());
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return new RuntimeException("Piston API returned status: " + responseException.getStatusCode());
+        }
+        if (e instanceof WebClientRequestException) {
+            return new RuntimeException("Failed to connect to Piston API: " + e.getMessage());
+        }
+        return new RuntimeException("Code execution failed: " + e.getMessage());
+    }
+
+    // FIXED: Parse Piston API response to our ExecutionResponse DTO
+    @SuppressWarnings("unchecked")
+    private ExecutionResponse parseExecutionResponse(String responseBody) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(responseBody, 
+                new TypeReference<Map<String, Object>>() {});
+            
+            ExecutionResponse executionResponse = new ExecutionResponse();
+            executionResponse.setLanguage((String) responseMap.get("language"));
+            executionResponse.setVersion((String) responseMap.get("version"));
+            
+            // FIXED: Parse run results with proper casting
+            Object runObj = responseMap.get("run");
+            if (runObj instanceof Map) {
+                Map<String, Object> runMap = (Map<String, Object>) runObj;
+                ExecutionResponse.RunResult runResult = new ExecutionResponse.RunResult();
+                runResult.setStdout((String) runMap.get("stdout"));
+                runResult.setStderr((String) runMap.get("stderr"));
+                runResult.setCode(getIntegerValue(runMap.get("code")));
+                runResult.setSignal((String) runMap.get("signal"));
+                runResult.setOutput((String) runMap.get("output"));
+                runResult.setCpuTimeMs(getLongValue(runMap.get("cpu_time")));
+                runResult.setWallTimeMs(getLongValue(runMap.get("wall_time")));
+                executionResponse.setRun(runResult);
+            }
+            
+            // FIXED: Parse compile results (for compiled languages) with proper casting
+            Object compileObj = responseMap.get("compile");
+            if (compileObj instanceof Map) {
+                Map<String, Object> compileMap = (Map<String, Object>) compileObj;
+                ExecutionResponse.CompileResult compileResult = new ExecutionResponse.CompileResult();
+                compileResult.setStdout((String) compileMap.get("stdout"));
+                compileResult.setStderr((String) compileMap.get("stderr"));
+                compileResult.setCode(getIntegerValue(compileMap.get("code")));
+                compileResult.setSignal((String) compileMap.get("signal"));
+                compileResult.setOutput((String) compileMap.get("output"));
+                compileResult.setCpuTimeMs(getLongValue(compileMap.get("cpu_time")));
+                compileResult.setWallTimeMs(getLongValue(compileMap.get("wall_time")));
+                executionResponse.setCompile(compileResult);
+            }
+            
+            return executionResponse;
+            
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse execution response: " + e.getMessage());
+        }
+    }
+
+    // Helper method to safely convert Object to Integer
+    private int getIntegerValue(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else {
+            return 0; // Default value
+        }
+    }
+
+    // Timings are only returned by newer Piston versions
+    private Long getLongValue(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
@@ -0,0 +1,164 @@
+// src/main/java/com/algoarena/service/compiler/PistonEndpoint.java
+package com.algoarena.service.compiler;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One Piston server: its client, a circuit breaker and recent latencies.
+ *
+ * Breaker: CLOSED until failureThreshold consecutive failures, then OPEN
+ * (no traffic) for openMillis, then HALF_OPEN - a single probe call decides
+ * between CLOSED and another OPEN period.
+ *
+ * Latency: ring buffer of the last N call durations, failures included
+ * (a timeout is a very slow call as far as routing is concerned).
+ */
+final class PistonEndpoint {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String url;
+    private final boolean fallback;
+    private final WebClient webClient;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    // Guarded by this
+    private final long[] latencies;
+    private int latencyCount;
+    private int latencyIndex;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private long successes;
+    private long failures;
+    private String lastError;
+
+    PistonEndpoint(String url, boolean fallback, WebClient webClient,
+                   int failureThreshold, long openMillis, int latencyWindow) {
+        this.url = url;
+        this.fallback = fallback;
+        this.webClient = webClient;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.latencies = new long[Math.max(1, latencyWindow)];
+    }
+
+    String getUrl() { return url; }
+    boolean isFallback() { return fallback; }
+    WebClient getWebClient() { return webClient; }
+
+    /**
+     * Whether a call would be admitted right now (no state change)
+     */
+    synchronized boolean isAvailable(long nowMillis) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> nowMillis - openedAt >= openMillis;
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+
+    /**
+     * Admit a call; an expired OPEN breaker lets exactly one probe through
+     */
+    synchronized boolean tryAcquire(long nowMillis) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nowMillis - openedAt < openMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    synchronized void onSuccess(long latencyNanos) {
+        recordLatency(latencyNanos);
+        successes++;
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+        probeInFlight = false;
+    }
+
+    // Server answered, but the outcome says nothing about latency (e.g. 400 for a bad request)
+    synchronized void onResponded() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+        probeInFlight = false;
+    }
+
+    synchronized void onFailure(long latencyNanos, String error, long nowMillis) {
+        recordLatency(latencyNanos);
+        failures++;
+        consecutiveFailures++;
+        lastError = error;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nowMillis;
+            probeInFlight = false;
+        }
+    }
+
+    // Caller went away mid-call: let another probe through, judge nothing
+    synchronized void onCancel() {
+        probeInFlight = false;
+    }
+
+    /**
+     * p95 of recent calls in ms, or -1 with no samples yet
+     */
+    synchronized double p95Millis() {
+        if (latencyCount == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(0.95 * latencyCount) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    synchronized Map<String, Object> describe(long nowMillis) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("url", url);
+        details.put("fallback", fallback);
+        details.put("state", state.name());
+        details.put("available", isAvailable(nowMillis));
+        details.put("consecutiveFailures", consecutiveFailures);
+        details.put("successes", successes);
+        details.put("failures", failures);
+        double p95 = p95Millis();
+        details.put("p95Ms", p95 < 0 ? null : Math.round(p95));
+        if (state == State.OPEN) {
+            details.put("retryInMs", Math.max(0, openMillis - (nowMillis - openedAt)));
+        }
+        if (lastError != null) {
+            details.put("lastError", lastError);
+        }
+        return details;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        latencies[latencyIndex] = Math.max(0, latencyNanos);
+        latencyIndex = (latencyIndex + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+    }
+}
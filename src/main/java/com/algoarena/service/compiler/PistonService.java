@@ -2,261 +2,325 @@
 package com.algoarena.service.compiler;
 
 import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionEvent;
 import com.algoarena.dto.compiler.ExecutionRequest;
 import com.algoarena.dto.compiler.ExecutionResponse;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Front door for code execution. The code itself runs on a CodeExecutor
+ * backend (Piston API or local processes, app.executor.backend).
+ *
+ * The backend's runtimes are held in memory as a RuntimeCatalog, refreshed
+ * every app.piston.runtime-refresh-interval-ms. If a refresh fails the
+ * previous catalog keeps being served. Language/version lookups and a
+ * missing or "latest" execution version are resolved from it locally.
+ *
+ * Latency per phase, language, version and outcome: see ExecutionMetrics.
+ */
 @Service
 public class PistonService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PistonService.class);
+
+    // Don't hammer the backend from request threads while it is down and nothing is cached
+    private static final long EMPTY_CATALOG_RETRY_MS = 10_000;
+
     @Autowired
     private AppConfig appConfig;
 
-    private final RestTemplate restTemplate;
+    @Autowired
+    private CodeExecutor codeExecutor;
+
+    @Autowired
+    private ExecutionResultCache executionResultCache;
+
+    @Autowired
+    private ExecutionScheduler executionScheduler;
+
+    @Autowired
+    private ExecutionBudgetService executionBudgetService;
+
+    @Autowired
+    private ExecutionMetrics executionMetrics;
+
     private final ObjectMapper objectMapper;
 
+    // Last good runtime catalog; replaced only by a successful refresh
+    private volatile RuntimeCatalog catalog = RuntimeCatalog.EMPTY;
+    private volatile boolean lastRefreshSucceeded;
+    private volatile long lastRefreshDurationMs;
+    private volatile long lastRefreshAttemptAt;
+    private volatile String lastRefreshError;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
     public PistonService() {
-        this.restTemplate = new RestTemplate();
         this.objectMapper = new ObjectMapper();
     }
 
-    // Execute code using Piston API
-    public ExecutionResponse executeCode(ExecutionRequest request) {
-        try {
-            String pistonUrl = appConfig.getPiston().getApiUrl() + "/execute";
-            
-            // Prepare request body for Piston API
-            Map<String, Object> pistonRequest = new HashMap<>();
-            pistonRequest.put("language", request.getLanguage());
-            pistonRequest.put("version", request.getVersion());
-            
-            // Prepare files array
-            List<Map<String, String>> files = new ArrayList<>();
-            Map<String, String> mainFile = new HashMap<>();
-            mainFile.put("content", request.getCode());
-            files.add(mainFile);
-            
-            // Add additional files if provided
-            if (request.getFiles() != null) {
-                for (ExecutionRequest.FileContent file : request.getFiles()) {
-                    Map<String, String> additionalFile = new HashMap<>();
-                    additionalFile.put("name", file.getName());
-                    additionalFile.put("content", file.getContent());
-                    files.add(additionalFile);
-                }
-            }
-            
-            pistonRequest.put("files", files);
-            
-            // Add stdin if provided
-            if (request.getStdin() != null && !request.getStdin().isEmpty()) {
-                pistonRequest.put("stdin", request.getStdin());
-            }
-            
-            // Add args if provided
-            if (request.getArgs() != null && !request.getArgs().isEmpty()) {
-                pistonRequest.put("args", request.getArgs());
+    // Execute code on the configured backend (completes without holding a servlet thread).
+    // Identical requests are answered from ExecutionResultCache or share one in-flight call;
+    // everything else reserves the user's execution budget (refused up front if it can't
+    // cover the run time limit) and waits for a fair-share slot (ExecutionScheduler).
+    public Mono<ExecutionResponse> executeCode(ExecutionRequest request, String userId) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            ExecutionRequest resolved = withResolvedVersion(request);
+
+            // Already answered: no slot or budget needed
+            ExecutionResponse cached = executionResultCache.getIfCompleted(resolved);
+            if (cached != null) {
+                ExecutionResponse response = forRequest(cached, 0, executionBudgetService.remaining(userId));
+                executionMetrics.recordRequest(catalog, resolved, System.nanoTime() - start, true, response, null);
+                return Mono.just(response);
             }
 
-            // Set headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            return Mono.defer(() -> {
+                        ExecutionBudgetService.Reservation reservation =
+                                executionBudgetService.reserve(userId, codeExecutor.runTimeLimitMs());
+                        return executionScheduler.submit(userId, () -> {
+                                            started(reservation);
+                                            return executionResultCache.get(resolved, () -> timedCall(resolved));
+                                        })
+                                .map(scheduled -> {
+                                    long observedMs = reservation == null ? 0 : reservation.elapsedMs();
+                                    executionBudgetService.settle(reservation,
+                                            ExecutionBudgetService.chargeFor(scheduled.value(), observedMs));
+                                    return forRequest(scheduled.value(), scheduled.queueWaitMs(),
+                                            executionBudgetService.remaining(userId));
+                                })
+                                .doOnError(e -> settleObserved(reservation))
+                                .doOnCancel(() -> settleObserved(reservation));
+                    })
+                    .doOnSuccess(response -> executionMetrics.recordRequest(
+                            catalog, resolved, System.nanoTime() - start, false, response, null))
+                    .doOnError(e -> executionMetrics.recordRequest(
+                            catalog, resolved, System.nanoTime() - start, false, null, e));
+        });
+    }
+
+    // The actual backend call, behind the result cache; its phases are timed once however many requests share it
+    private Mono<ExecutionResponse> timedCall(ExecutionRequest resolved) {
+        ExecutionTimings timings = new ExecutionTimings();
+        return codeExecutor.execute(resolved)
+                .doOnSuccess(response -> executionMetrics.recordCall(catalog, resolved, timings, response, null))
+                .doOnError(e -> executionMetrics.recordCall(catalog, resolved, timings, null, e))
+                .contextWrite(Context.of(ExecutionTimings.class, timings));
+    }
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(pistonRequest, headers);
+    // Same, but output arrives as events while the program runs. A cached result is
+    // replayed; a streamed run is not cached (its output is never held in full).
+    public Flux<ExecutionEvent> streamCode(ExecutionRequest request, String userId) {
+        return Flux.defer(() -> {
+            ExecutionRequest resolved = withResolvedVersion(request);
+            AppConfig.Executor executor = appConfig.getExecutor();
 
-            // Make the API call
-            ResponseEntity<String> response = restTemplate.postForEntity(pistonUrl, entity, String.class);
-            
-            if (response.getStatusCode() == HttpStatus.OK) {
-                return parseExecutionResponse(response.getBody());
-            } else {
-                throw new RuntimeException("Piston API returned status: " + response.getStatusCode());
+            ExecutionResponse cached = executionResultCache.getIfCompleted(resolved);
+            if (cached != null) {
+                return OutputLimiter.replay(cached, executor.getStreamChunkSize(), executor.getStreamMaxBytesPerStream());
             }
 
-        } catch (ResourceAccessException e) {
-            throw new RuntimeException("Failed to connect to Piston API: " + e.getMessage());
-        } catch (Exception e) {
-            throw new RuntimeException("Code execution failed: " + e.getMessage());
+            ExecutionBudgetService.Reservation reservation =
+                    executionBudgetService.reserve(userId, codeExecutor.runTimeLimitMs());
+            return executionScheduler.submitMany(userId, () -> {
+                                started(reservation);
+                                return codeExecutor.stream(resolved, executor.getStreamChunkSize(),
+                                        executor.getStreamMaxBytesPerStream());
+                            })
+                    .doOnNext(event -> {
+                        // The exit event carries the run's own timing
+                        if (event.getType() == ExecutionEvent.Type.EXIT && event.getTimeMs() != null) {
+                            executionBudgetService.settle(reservation, event.getTimeMs());
+                        }
+                    })
+                    .doFinally(signal -> settleObserved(reservation));
+        });
+    }
+
+    // Called by the scheduler once the slot is granted
+    private static void started(ExecutionBudgetService.Reservation reservation) {
+        if (reservation != null) {
+            reservation.start();
         }
     }
 
-    // Get available runtimes from Piston API
-    public List<Map<String, Object>> getRuntimes() {
-        try {
-            String runtimesUrl = appConfig.getPiston().getApiUrl() + "/runtimes";
-            
-            ResponseEntity<String> response = restTemplate.getForEntity(runtimesUrl, String.class);
-            
-            if (response.getStatusCode() == HttpStatus.OK) {
-                TypeReference<List<Map<String, Object>>> typeRef = new TypeReference<List<Map<String, Object>>>() {};
-                return objectMapper.readValue(response.getBody(), typeRef);
-            } else {
-                throw new RuntimeException("Failed to fetch runtimes from Piston API");
-            }
+    // No timing from the backend: charge how long it ran, at most the reservation.
+    // Never got a slot (queue full, queue timeout, cancelled while waiting): full refund.
+    private void settleObserved(ExecutionBudgetService.Reservation reservation) {
+        if (reservation == null) {
+            return;
+        }
+        long chargeMs = reservation.isStarted()
+                ? Math.min(reservation.elapsedMs(), reservation.getReservedMs())
+                : 0;
+        executionBudgetService.settle(reservation, chargeMs);
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to get runtimes: " + e.getMessage());
+    // Per-request copy: the cached instance is shared with other requests
+    private static ExecutionResponse forRequest(ExecutionResponse response, long queueWaitMs, Long budgetRemainingMs) {
+        ExecutionResponse copy = response.copy();
+        copy.setQueueWaitMs(queueWaitMs);
+        copy.setBudgetRemainingMs(budgetRemainingMs);
+        return copy;
+    }
+
+    // Copy with the version pinned, so the cache key and the backend see the same runtime
+    private ExecutionRequest withResolvedVersion(ExecutionRequest request) {
+        ExecutionRequest resolved = new ExecutionRequest(
+                request.getLanguage(),
+                resolveVersion(request.getLanguage(), request.getVersion()),
+                request.getCode());
+        resolved.setStdin(request.getStdin());
+        resolved.setArgs(request.getArgs());
+        resolved.setFiles(request.getFiles());
+        return resolved;
+    }
+
+    // Missing or "latest" -> newest version in the catalog ("*" lets Piston pick if we have none)
+    private String resolveVersion(String language, String version) {
+        if (version != null && !version.isBlank() && !"latest".equalsIgnoreCase(version)) {
+            return version;
         }
+        String latest = currentCatalog().latestVersion(language);
+        return latest != null ? latest : "*";
     }
 
-    // Get supported languages (extracted from runtimes)
-    public List<String> getSupportedLanguages() {
+    /**
+     * Reload the runtime catalog from Piston; on failure the previous catalog stays in place
+     */
+    @Scheduled(fixedDelayString = "${app.piston.runtime-refresh-interval-ms:300000}")
+    public synchronized void refreshCatalog() {
+        long start = System.currentTimeMillis();
+        lastRefreshAttemptAt = start;
         try {
-            List<Map<String, Object>> runtimes = getRuntimes();
-            Set<String> languages = new HashSet<>();
-            
-            for (Map<String, Object> runtime : runtimes) {
-                String language = (String) runtime.get("language");
-                if (language != null) {
-                    languages.add(language);
-                }
-            }
-            
-            return new ArrayList<>(languages);
+            String body = codeExecutor.fetchRuntimes();
+
+            TypeReference<List<Map<String, Object>>> typeRef = new TypeReference<List<Map<String, Object>>>() {};
+            List<Map<String, Object>> runtimes = objectMapper.readValue(body, typeRef);
+
+            // Same body -> same ETag, so clients keep their 304s across refreshes
+            catalog = RuntimeCatalog.of(runtimes, body);
+            lastRefreshSucceeded = true;
+            lastRefreshError = null;
         } catch (Exception e) {
-            // Fallback to common languages if API fails
-            return Arrays.asList(
-                "javascript", "python", "java", "cpp", "c", "csharp", 
-                "go", "rust", "kotlin", "typescript", "php", "ruby"
-            );
+            lastRefreshSucceeded = false;
+            lastRefreshError = e.getMessage();
+            logger.warn("Runtime refresh from {} failed, serving {} cached runtimes: {}",
+                    codeExecutor.name(), catalog.getRuntimes().size(), e.getMessage());
+        } finally {
+            lastRefreshDurationMs = System.currentTimeMillis() - start;
         }
     }
 
-    // Check if Piston API is healthy
-    public boolean isHealthy() {
-        try {
-            String runtimesUrl = appConfig.getPiston().getApiUrl() + "/runtimes";
-            ResponseEntity<String> response = restTemplate.getForEntity(runtimesUrl, String.class);
-            return response.getStatusCode() == HttpStatus.OK;
-        } catch (Exception e) {
-            return false;
+    /**
+     * Catalog for request paths. Never waits on the backend: while nothing is
+     * loaded yet it returns the empty catalog (versions resolve to "*") and
+     * starts a background refresh.
+     */
+    public RuntimeCatalog currentCatalog() {
+        RuntimeCatalog current = catalog;
+        if (current.isEmpty()
+                && System.currentTimeMillis() - lastRefreshAttemptAt > EMPTY_CATALOG_RETRY_MS) {
+            refreshCatalogAsync();
         }
+        return current;
     }
 
-    // FIXED: Parse Piston API response to our ExecutionResponse DTO
-    @SuppressWarnings("unchecked")
-    private ExecutionResponse parseExecutionResponse(String responseBody) {
-        try {
-            Map<String, Object> responseMap = objectMapper.readValue(responseBody, 
-                new TypeReference<Map<String, Object>>() {});
-            
-            ExecutionResponse executionResponse = new ExecutionResponse();
-            executionResponse.setLanguage((String) responseMap.get("language"));
-            executionResponse.setVersion((String) responseMap.get("version"));
-            
-            // FIXED: Parse run results with proper casting
-            Object runObj = responseMap.get("run");
-            if (runObj instanceof Map) {
-                Map<String, Object> runMap = (Map<String, Object>) runObj;
-                ExecutionResponse.RunResult runResult = new ExecutionResponse.RunResult();
-                runResult.setStdout((String) runMap.get("stdout"));
-                runResult.setStderr((String) runMap.get("stderr"));
-                runResult.setCode(getIntegerValue(runMap.get("code")));
-                runResult.setSignal((String) runMap.get("signal"));
-                runResult.setOutput((String) runMap.get("output"));
-                executionResponse.setRun(runResult);
-            }
-            
-            // FIXED: Parse compile results (for compiled languages) with proper casting
-            Object compileObj = responseMap.get("compile");
-            if (compileObj instanceof Map) {
-                Map<String, Object> compileMap = (Map<String, Object>) compileObj;
-                ExecutionResponse.CompileResult compileResult = new ExecutionResponse.CompileResult();
-                compileResult.setStdout((String) compileMap.get("stdout"));
-                compileResult.setStderr((String) compileMap.get("stderr"));
-                compileResult.setCode(getIntegerValue(compileMap.get("code")));
-                compileResult.setOutput((String) compileMap.get("output"));
-                executionResponse.setCompile(compileResult);
-            }
-            
-            return executionResponse;
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse execution response: " + e.getMessage());
+    // At most one queued refresh; refreshCatalog() itself is synchronized with the scheduled one
+    private void refreshCatalogAsync() {
+        if (!refreshQueued.compareAndSet(false, true)) {
+            return;
         }
+        Mono.fromRunnable(this::refreshCatalog)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> refreshQueued.set(false))
+                .subscribe();
     }
 
-    // Helper method to safely convert Object to Integer
-    private int getIntegerValue(Object value) {
-        if (value instanceof Integer) {
-            return (Integer) value;
-        } else if (value instanceof Number) {
-            return ((Number) value).intValue();
-        } else {
-            return 0; // Default value
+    // Get available runtimes (cached catalog)
+    public List<Map<String, Object>> getRuntimes() {
+        RuntimeCatalog current = currentCatalog();
+        if (current.isEmpty()) {
+            throw new RuntimeException("Failed to get runtimes: "
+                    + (lastRefreshError != null ? lastRefreshError : "catalog is still loading"));
         }
+        return current.getRuntimes();
+    }
+
+    // Get supported languages (extracted from runtimes)
+    public List<String> getSupportedLanguages() {
+        RuntimeCatalog current = currentCatalog();
+        if (!current.isEmpty()) {
+            return current.getLanguages();
+        }
+        // Fallback to common languages if API fails
+        return Arrays.asList(
+            "javascript", "python", "java", "cpp", "c", "csharp", 
+            "go", "rust", "kotlin", "typescript", "php", "ruby"
+        );
+    }
+
+    // Check if the execution backend is healthy (last catalog refresh reached it)
+    public boolean isHealthy() {
+        return lastRefreshSucceeded;
     }
 
     // Get language version for a specific language
     public String getLanguageVersion(String language) {
-        try {
-            List<Map<String, Object>> runtimes = getRuntimes();
-            
-            for (Map<String, Object> runtime : runtimes) {
-                if (language.equals(runtime.get("language"))) {
-                    return (String) runtime.get("version");
-                }
-            }
-            
-            // Fallback versions for common languages
-            Map<String, String> fallbackVersions = Map.of(
-                "javascript", "18.15.0",
-                "python", "3.10.0",
-                "java", "15.0.2",
-                "cpp", "10.2.0",
-                "c", "10.2.0"
-            );
-            
-            return fallbackVersions.getOrDefault(language, "latest");
-            
-        } catch (Exception e) {
-            return "latest"; // Fallback
+        String latest = currentCatalog().latestVersion(language);
+        if (latest != null) {
+            return latest;
         }
+
+        // Fallback versions for common languages
+        Map<String, String> fallbackVersions = Map.of(
+            "javascript", "18.15.0",
+            "python", "3.10.0",
+            "java", "15.0.2",
+            "cpp", "10.2.0",
+            "c", "10.2.0"
+        );
+        
+        return fallbackVersions.getOrDefault(language, "latest");
     }
 
     // Get runtime info for a specific language
     public Map<String, Object> getLanguageInfo(String language) {
-        try {
-            List<Map<String, Object>> runtimes = getRuntimes();
-            
-            return runtimes.stream()
-                    .filter(runtime -> language.equals(runtime.get("language")))
-                    .findFirst()
-                    .orElse(new HashMap<>());
-                    
-        } catch (Exception e) {
-            return new HashMap<>();
-        }
+        Map<String, Object> runtime = currentCatalog().find(language);
+        return runtime != null ? runtime : new HashMap<>();
     }
 
-    // Test connection to Piston API
+    // Backend connection status, as seen by the last catalog refresh
     public Map<String, Object> testConnection() {
-        Map<String, Object> result = new HashMap<>();
-        
-        try {
-            long startTime = System.currentTimeMillis();
-            List<Map<String, Object>> runtimes = getRuntimes();
-            long endTime = System.currentTimeMillis();
-            
-            result.put("status", "success");
-            result.put("responseTime", endTime - startTime);
-            result.put("runtimesCount", runtimes.size());
-            result.put("apiUrl", appConfig.getPiston().getApiUrl());
-            
-        } catch (Exception e) {
+        Map<String, Object> result = new HashMap<>(codeExecutor.describe());
+        RuntimeCatalog current = catalog;
+
+        result.put("status", lastRefreshSucceeded ? "success" : "failed");
+        result.put("responseTime", lastRefreshDurationMs);
+        result.put("runtimesCount", current.getRuntimes().size());
+        result.put("catalogAgeMs", current.isEmpty() ? null : System.currentTimeMillis() - current.getFetchedAt());
+        result.put("backend", codeExecutor.name());
+        if (!lastRefreshSucceeded) {
+            result.put("error", lastRefreshError != null ? lastRefreshError : "Runtime catalog not loaded yet");
+        } else if (Boolean.FALSE.equals(result.get("healthy"))) {
+            // Catalog is fine but the backend can't take executions (e.g. every breaker open)
             result.put("status", "failed");
-            result.put("error", e.getMessage());
-            result.put("apiUrl", appConfig.getPiston().getApiUrl());
+            result.put("error", "No execution endpoint available");
         }
         
         return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+// src/main/java/com/algoarena/service/compiler/RuntimeCatalog.java
+package com.algoarena.service.compiler;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Immutable snapshot of Piston's /runtimes, indexed by language and alias.
+ * PistonService swaps in a new snapshot on every successful refresh.
+ */
+public final class RuntimeCatalog {
+
+    public static final RuntimeCatalog EMPTY = new RuntimeCatalog(List.of(), "", 0);
+
+    private final List<Map<String, Object>> runtimes;
+    private final List<String> languages;
+    // language or alias -> newest runtime for that language
+    private final Map<String, Map<String, Object>> latestByLanguage;
+    // "language@version" for every runtime
+    private final Set<String> runtimeKeys;
+    private final String etag;
+    private final long fetchedAt;
+
+    private RuntimeCatalog(List<Map<String, Object>> runtimes, String etag, long fetchedAt) {
+        this.runtimes = runtimes;
+        this.etag = etag;
+        this.fetchedAt = fetchedAt;
+
+        Map<String, Map<String, Object>> latest = new HashMap<>();
+        Set<String> names = new TreeSet<>();
+        Set<String> keys = new HashSet<>();
+        for (Map<String, Object> runtime : runtimes) {
+            if (!(runtime.get("language") instanceof String language)) {
+                continue;
+            }
+            names.add(language);
+            keys.add(language + "@" + runtime.get("version"));
+            putIfNewer(latest, language, runtime);
+            if (runtime.get("aliases") instanceof List<?> aliases) {
+                for (Object alias : aliases) {
+                    if (alias instanceof String name) {
+                        putIfNewer(latest, name, runtime);
+                    }
+                }
+            }
+        }
+        this.latestByLanguage = Collections.unmodifiableMap(latest);
+        this.languages = List.copyOf(names);
+        this.runtimeKeys = Set.copyOf(keys);
+    }
+
+    /**
+     * @param rawJson the response body the runtimes were parsed from (ETag source)
+     */
+    public static RuntimeCatalog of(List<Map<String, Object>> runtimes, String rawJson) {
+        return new RuntimeCatalog(List.copyOf(runtimes), etagFor(rawJson), System.currentTimeMillis());
+    }
+
+    public boolean isEmpty() {
+        return runtimes.isEmpty();
+    }
+
+    public List<Map<String, Object>> getRuntimes() {
+        return runtimes;
+    }
+
+    public List<String> getLanguages() {
+        return languages;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    // Newest runtime for a language or alias, or null
+    public Map<String, Object> find(String language) {
+        return language == null ? null : latestByLanguage.get(language);
+    }
+
+    // Newest version for a language or alias, or null
+    public String latestVersion(String language) {
+        Map<String, Object> runtime = find(language);
+        return runtime == null ? null : (String) runtime.get("version");
+    }
+
+    // Catalog name for a language or alias, or null if there is no such runtime
+    public String canonicalLanguage(String language) {
+        Map<String, Object> runtime = find(language);
+        return runtime == null ? null : (String) runtime.get("language");
+    }
+
+    // Whether this exact version of the language (or alias) is installed
+    public boolean hasVersion(String language, String version) {
+        String canonical = canonicalLanguage(language);
+        return canonical != null && runtimeKeys.contains(canonical + "@" + version);
+    }
+
+    private static void putIfNewer(Map<String, Map<String, Object>> index, String key, Map<String, Object> runtime) {
+        Map<String, Object> current = index.get(key);
+        if (current == null
+                || compareVersions((String) runtime.get("version"), (String) current.get("version")) > 0) {
+            index.put(key, runtime);
+        }
+    }
+
+    // Numeric, dot-separated comparison ("3.10.0" > "3.9.4"); non-numeric parts compare as 0
+    static int compareVersions(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        String[] left = a.split("\\.");
+        String[] right = b.split("\\.");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            int cmp = Integer.compare(
+                    i < left.length ? parsePart(left[i]) : 0,
+                    i < right.length ? parsePart(right[i]) : 0);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private static int parsePart(String part) {
+        try {
+            return Integer.parseInt(part.replaceAll("\\D.*$", ""));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String etagFor(String rawJson) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(rawJson.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
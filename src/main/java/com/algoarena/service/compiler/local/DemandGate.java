@@ -0,0 +1,70 @@
+// src/main/java/com/algoarena/service/compiler/local/DemandGate.java
+package com.algoarena.service.compiler.local;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Subscriber demand for a streamed execution, shared by the stdout/stderr
+ * readers. A reader takes one unit per event and blocks while there is none,
+ * so at most one chunk per stream is held in memory however slow the client.
+ *
+ * Lock/condition rather than synchronized: the readers are virtual threads.
+ */
+final class DemandGate {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private long demand;
+    private boolean cancelled;
+
+    void add(long n) {
+        lock.lock();
+        try {
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for demand and take one unit; false once the subscriber is gone
+     */
+    boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (demand == 0 && !cancelled) {
+                available.await();
+            }
+            if (cancelled) {
+                return false;
+            }
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void cancel() {
+        lock.lock();
+        try {
+            cancelled = true;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isCancelled() {
+        lock.lock();
+        try {
+            return cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// src/main/java/com/algoarena/service/compiler/local/LocalLanguage.java
+package com.algoarena.service.compiler.local;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Toolchains the local executor knows how to drive.
+ * A language is offered only if its version command works on this host.
+ */
+public enum LocalLanguage {
+
+    PYTHON("python", List.of("py", "py3", "python3"), List.of("python3", "--version"), false, true),
+    JAVA("java", List.of(), List.of("java", "-version"), true, true),
+    CPP("cpp", List.of("c++", "g++"), List.of("g++", "-dumpfullversion"), true, false),
+    C("c", List.of("gcc"), List.of("gcc", "-dumpfullversion"), true, false),
+    JAVASCRIPT("javascript", List.of("js", "node", "node-js"), List.of("node", "--version"), false, false);
+
+    private static final Pattern JAVA_CLASS = Pattern.compile("public\\s+(?:final\\s+|abstract\\s+)*class\\s+(\\w+)");
+
+    private final String key;
+    private final List<String> aliases;
+    private final List<String> versionCommand;
+    private final boolean compiled;
+    // Has a pre-spawned runner (see WarmProcessPool)
+    private final boolean warmable;
+
+    LocalLanguage(String key, List<String> aliases, List<String> versionCommand, boolean compiled, boolean warmable) {
+        this.key = key;
+        this.aliases = aliases;
+        this.versionCommand = versionCommand;
+        this.compiled = compiled;
+        this.warmable = warmable;
+    }
+
+    public String getKey() { return key; }
+    public List<String> getAliases() { return aliases; }
+    public List<String> getVersionCommand() { return versionCommand; }
+    public boolean isCompiled() { return compiled; }
+    public boolean isWarmable() { return warmable; }
+
+    public static LocalLanguage find(String language) {
+        if (language == null) {
+            return null;
+        }
+        String name = language.toLowerCase();
+        for (LocalLanguage candidate : values()) {
+            if (candidate.key.equals(name) || candidate.aliases.contains(name)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // File name for the main source
+    public String mainFile(String code) {
+        return switch (this) {
+            case PYTHON -> "main.py";
+            case JAVA -> mainClass(code) + ".java";
+            case CPP -> "main.cpp";
+            case C -> "main.c";
+            case JAVASCRIPT -> "main.js";
+        };
+    }
+
+    // Java: first public class, else Main
+    public static String mainClass(String code) {
+        Matcher matcher = JAVA_CLASS.matcher(code);
+        return matcher.find() ? matcher.group(1) : "Main";
+    }
+
+    /**
+     * Compile everything in dir into dir (compiled languages only)
+     */
+    public List<String> compileCommand(Path dir, String mainFile, List<String> sourceFiles) {
+        List<String> command = new ArrayList<>();
+        switch (this) {
+            case JAVA -> {
+                command.addAll(List.of("javac", "-encoding", "UTF-8", "-nowarn", "-d", dir.toString()));
+                sourceFiles.stream().filter(name -> name.endsWith(".java"))
+                        .forEach(name -> command.add(dir.resolve(name).toString()));
+            }
+            case CPP -> command.addAll(List.of("g++", "-std=c++17", "-O2", "-pipe",
+                    "-o", dir.resolve("main").toString(), dir.resolve(mainFile).toString()));
+            case C -> command.addAll(List.of("gcc", "-std=c11", "-O2", "-pipe",
+                    "-o", dir.resolve("main").toString(), dir.resolve(mainFile).toString(), "-lm"));
+            default -> throw new IllegalStateException(key + " is not compiled");
+        }
+        return command;
+    }
+
+    /**
+     * Cold-start run command. codeDir holds sources (interpreted) or the compiled artifact.
+     */
+    public List<String> runCommand(Path codeDir, String mainFile, int memoryLimitMb, List<String> args) {
+        List<String> command = new ArrayList<>();
+        switch (this) {
+            case PYTHON -> command.addAll(List.of("python3", "-B", codeDir.resolve(mainFile).toString()));
+            case JAVA -> {
+                command.addAll(javaOptions(memoryLimitMb));
+                command.addAll(List.of("-cp", codeDir.toString(), mainFile.replace(".java", "")));
+            }
+            case CPP, C -> command.add(codeDir.resolve("main").toString());
+            case JAVASCRIPT -> command.addAll(List.of("node",
+                    "--max-old-space-size=" + memoryLimitMb, codeDir.resolve(mainFile).toString()));
+        }
+        if (args != null) {
+            command.addAll(args);
+        }
+        return command;
+    }
+
+    // JVM memory is capped with -Xmx; an address-space limit would stop the JVM from starting
+    public boolean usesAddressSpaceLimit() {
+        return this == PYTHON || this == CPP || this == C;
+    }
+
+    static List<String> javaOptions(int memoryLimitMb) {
+        return List.of("java", "-Xmx" + memoryLimitMb + "m", "-Xss64m", "-XX:+UseSerialGC",
+                "-Dfile.encoding=UTF-8");
+    }
+}
@@ -0,0 +1,763 @@
+// src/main/java/com/algoarena/service/compiler/local/LocalProcessExecutor.java
+package com.algoarena.service.compiler.local;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionEvent;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.service.compiler.CodeExecutor;
+import com.algoarena.service.compiler.ExecutionTimings;
+import com.algoarena.service.compiler.OutputLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Runs submissions as local OS processes instead of calling Piston.
+ *
+ * - Toolchains are detected at startup; missing ones are simply not offered.
+ * - Compiled artifacts are cached by source hash (app.executor.local.artifact-cache-size),
+ *   so re-running the same code against new stdin skips the compiler. An evicted
+ *   artifact's directory is deleted once the last run using it has finished.
+ * - Python and Java runs without args start on a pre-spawned process
+ *   (app.executor.local.warm-pool-size), skipping interpreter / JVM startup.
+ * - Every process gets a wall-clock limit, and CPU / file size / memory /
+ *   process count limits through prlimit when installed.
+ * - Isolation comes from app.executor.local.sandbox-prefix, which is required:
+ *   a separate unprivileged uid, no network, and a filesystem that is read-only
+ *   outside the work dir. Startup fails without a prefix, when commands run
+ *   through it still run as this server's uid (or as root), or when it cannot
+ *   compile into the dirs created here (shared group, app.executor.local.sandbox-gid).
+ * - At most app.executor.local.max-concurrent-executions run at once;
+ *   beyond that calls fail fast with ExecutionCapacityExceededException.
+ * - stream() reads stdout/stderr from pipes chunk by chunk, paced by the
+ *   subscriber's demand, instead of collecting them in files (always a cold start).
+ */
+@Component
+@ConditionalOnProperty(name = "app.executor.backend", havingValue = "local")
+public class LocalProcessExecutor implements CodeExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalProcessExecutor.class);
+
+    private static final Pattern VERSION = Pattern.compile("(\\d+(?:\\.\\d+)*)");
+    // No separators, no leading dot - keeps extra files inside the run directory
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]*");
+    private static final Set<String> RESERVED_FILES = Set.of("stdin.txt", "stdout.txt", "stderr.txt", "main");
+    private static final long COMPILER_MAX_FILE_BYTES = 64L * 1024 * 1024;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Compiled sources + compiler output. Runs hold it (retain/release) while
+     * they execute from its directory; eviction only marks it, and whoever
+     * lets go last deletes the directory.
+     */
+    private static final class Artifact {
+        final Path dir;
+        final ExecutionResponse.CompileResult compile;
+        private int users;
+        private boolean evicted;
+
+        Artifact(Path dir, ExecutionResponse.CompileResult compile) {
+            this.dir = dir;
+            this.compile = compile;
+        }
+
+        // false once evicted: the caller compiles again
+        synchronized boolean retain() {
+            if (evicted) {
+                return false;
+            }
+            users++;
+            return true;
+        }
+
+        synchronized void release() {
+            if (--users == 0 && evicted) {
+                deleteQuietly(dir);
+            }
+        }
+
+        synchronized void evict() {
+            evicted = true;
+            if (users == 0) {
+                deleteQuietly(dir);
+            }
+        }
+    }
+
+    private AppConfig.Executor.Local config;
+    private Path runsDir;
+    private Path artifactsDir;
+    private ProcessRunner runner;
+    private WarmProcessPool warmPool;
+    private AsyncCache<String, Artifact> artifacts;
+    private Semaphore executionPermits;
+    private Scheduler scheduler;
+    private final Map<LocalLanguage, String> versions = new EnumMap<>(LocalLanguage.class);
+
+    @PostConstruct
+    void init() throws IOException {
+        this.config = appConfig.getExecutor().getLocal();
+        Path workDir = Paths.get(config.getWorkDir()).toAbsolutePath();
+        this.runsDir = workDir.resolve("runs");
+        this.artifactsDir = workDir.resolve("artifacts");
+        // Leftovers from a previous process are not tracked by anything any more
+        deleteQuietly(runsDir);
+        deleteQuietly(artifactsDir);
+        Files.createDirectories(runsDir);
+        Files.createDirectories(artifactsDir);
+
+        int maxConcurrent = Math.max(1, config.getMaxConcurrentExecutions());
+        boolean prlimit = Files.isExecutable(Paths.get("/usr/bin/prlimit"));
+        this.runner = new ProcessRunner(config.getSandboxPrefix(), prlimit, config.getMaxOutputBytes(),
+                uidProcessLimit(maxConcurrent), config.getSandboxGid());
+        verifySandbox();
+        if (!prlimit) {
+            logger.warn("prlimit not found: CPU, memory and process limits must come from the sandbox prefix");
+        }
+
+        for (LocalLanguage language : LocalLanguage.values()) {
+            String version = detectVersion(language);
+            if (version != null) {
+                versions.put(language, version);
+            }
+        }
+        logger.info("Local executor toolchains: {}", versions);
+        verifySandboxCompiles();
+
+        this.artifacts = Caffeine.newBuilder()
+                .maximumSize(config.getArtifactCacheSize())
+                .removalListener((String key, Artifact artifact, RemovalCause cause) -> {
+                    if (artifact != null) {
+                        artifact.evict();
+                    }
+                })
+                .buildAsync();
+
+        this.executionPermits = new Semaphore(maxConcurrent);
+        this.scheduler = Schedulers.newBoundedElastic(maxConcurrent, maxConcurrent, "local-exec");
+
+        this.warmPool = new WarmProcessPool(runner, runsDir, workDir.resolve("runner"), config.getWarmPoolSize(),
+                config.getMemoryLimitMb(), cpuSeconds(config.getRunTimeoutMs()), maxRunFileBytes());
+        if (config.getWarmPoolSize() > 0) {
+            for (LocalLanguage language : versions.keySet()) {
+                if (!language.isWarmable()) {
+                    continue;
+                }
+                // The Java runner is compiled here; Python's is a script
+                if (language != LocalLanguage.JAVA || compileJavaRunner(workDir.resolve("runner"))) {
+                    warmPool.enable(language);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        warmPool.close();
+        scheduler.dispose();
+        artifacts.synchronous().invalidateAll();
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    // Permit taken on subscribe and released exactly once, whether the run finished or never started
+    @Override
+    public Mono<ExecutionResponse> execute(ExecutionRequest request) {
+        return Mono.deferContextual(context -> {
+            if (!executionPermits.tryAcquire()) {
+                return Mono.error(new ExecutionCapacityExceededException());
+            }
+            ExecutionTimings timings = ExecutionTimings.from(context);
+            AtomicBoolean claimed = new AtomicBoolean();
+            return Mono.fromCallable(() -> {
+                        if (!claimed.compareAndSet(false, true)) {
+                            throw new CancellationException();
+                        }
+                        timings.markStart();
+                        try {
+                            return run(request);
+                        } finally {
+                            timings.markReceived();
+                            executionPermits.release();
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> {
+                        if (claimed.compareAndSet(false, true)) {
+                            executionPermits.release();
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public long runTimeLimitMs() {
+        return config.getRunTimeoutMs();
+    }
+
+    @Override
+    public String fetchRuntimes() {
+        List<Map<String, Object>> runtimes = new ArrayList<>();
+        versions.forEach((language, version) -> {
+            Map<String, Object> runtime = new LinkedHashMap<>();
+            runtime.put("language", language.getKey());
+            runtime.put("version", version);
+            runtime.put("aliases", language.getAliases());
+            runtimes.add(runtime);
+        });
+        try {
+            return objectMapper.writeValueAsString(runtimes);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize local runtimes: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> describe() {
+        Map<String, Object> details = new HashMap<>();
+        details.put("workDir", config.getWorkDir());
+        details.put("runTimeoutMs", config.getRunTimeoutMs());
+        details.put("compileTimeoutMs", config.getCompileTimeoutMs());
+        details.put("memoryLimitMb", config.getMemoryLimitMb());
+        details.put("maxConcurrentExecutions", config.getMaxConcurrentExecutions());
+        details.put("availablePermits", executionPermits.availablePermits());
+        details.put("prlimit", runner.hasPrlimit());
+        details.put("maxProcessesPerRun", config.getMaxProcessesPerRun());
+        details.put("sandboxPrefix", !config.getSandboxPrefix().isEmpty());
+        details.put("cachedArtifacts", artifacts.synchronous().estimatedSize());
+
+        Map<String, Integer> warm = new HashMap<>();
+        versions.keySet().stream()
+                .filter(warmPool::isEnabled)
+                .forEach(language -> warm.put(language.getKey(), warmPool.available(language)));
+        details.put("warmProcesses", warm);
+        return details;
+    }
+
+    /**
+     * Output as it is produced. Memory per execution is one chunk per stream:
+     * readers wait for subscriber demand, and the process blocks on its pipe
+     * meanwhile. Hitting maxBytesPerStream emits a truncated event and kills
+     * the program.
+     */
+    @Override
+    public Flux<ExecutionEvent> stream(ExecutionRequest request, int chunkSize, long maxBytesPerStream) {
+        return Flux.defer(() -> {
+            if (!executionPermits.tryAcquire()) {
+                return Flux.error(new ExecutionCapacityExceededException());
+            }
+            AtomicBoolean claimed = new AtomicBoolean();
+            return Flux.<ExecutionEvent>create(sink -> {
+                DemandGate gate = new DemandGate();
+                sink.onRequest(gate::add);
+
+                Disposable task;
+                try {
+                    task = scheduler.schedule(() -> {
+                        if (!claimed.compareAndSet(false, true)) {
+                            return; // Cancelled before it started
+                        }
+                        try {
+                            runStreaming(request, chunkSize, maxBytesPerStream, sink, gate);
+                            sink.complete();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } catch (Exception e) {
+                            sink.error(e);
+                        } finally {
+                            executionPermits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    task = null;
+                    sink.error(new ExecutionCapacityExceededException());
+                }
+
+                Disposable scheduled = task;
+                sink.onDispose(() -> {
+                    gate.cancel();
+                    if (scheduled != null) {
+                        scheduled.dispose();
+                    }
+                    if (claimed.compareAndSet(false, true)) {
+                        executionPermits.release();
+                    }
+                });
+            });
+        });
+    }
+
+    private void runStreaming(ExecutionRequest request, int chunkSize, long maxBytesPerStream,
+                              FluxSink<ExecutionEvent> sink, DemandGate gate) throws IOException, InterruptedException {
+        LocalLanguage language = resolveLanguage(request);
+        String mainFile = language.mainFile(request.getCode());
+
+        Artifact artifact = language.isCompiled() ? compile(language, mainFile, request) : null;
+        try {
+            Path codeDir = null;
+            if (artifact != null) {
+                ExecutionEvent compile = ExecutionEvent.compile(artifact.compile);
+                if (!emit(sink, gate, compile) || compile.isCompileFailure()) {
+                    return;
+                }
+                codeDir = artifact.dir;
+            }
+            streamRun(language, mainFile, codeDir, request, chunkSize, maxBytesPerStream, sink, gate);
+        } finally {
+            if (artifact != null) {
+                artifact.release();
+            }
+        }
+    }
+
+    private void streamRun(LocalLanguage language, String mainFile, Path codeDir, ExecutionRequest request,
+                           int chunkSize, long maxBytesPerStream, FluxSink<ExecutionEvent> sink, DemandGate gate)
+            throws IOException, InterruptedException {
+        Path runDir = runner.sandboxDir(runsDir.resolve(UUID.randomUUID().toString()));
+        try {
+            if (codeDir == null) {
+                writeSources(runDir, mainFile, request);
+                codeDir = runDir;
+            }
+            OutputLimiter limiter = new OutputLimiter(maxBytesPerStream);
+            List<String> command = runner.limited(
+                    language.runCommand(codeDir, mainFile, config.getMemoryLimitMb(), request.getArgs()),
+                    cpuSeconds(config.getRunTimeoutMs()),
+                    maxRunFileBytes(),
+                    language.usesAddressSpaceLimit() ? config.getMemoryLimitMb() : null);
+
+            ProcessRunner.Result result = runner.stream(command, runDir, request.getStdin(),
+                    config.getRunTimeoutMs(), chunkSize, (stream, chunk) -> {
+                        OutputLimiter.Admitted admitted = limiter.admit(stream, chunk);
+                        if (!admitted.chunk().isEmpty()
+                                && !emit(sink, gate, OutputLimiter.chunkEvent(stream, admitted.chunk()))) {
+                            return false;
+                        }
+                        if (admitted.truncatedNow()) {
+                            emit(sink, gate, ExecutionEvent.truncated(stream, maxBytesPerStream));
+                            return false;
+                        }
+                        return !limiter.isTruncated(stream);
+                    });
+
+            if (!gate.isCancelled()) {
+                emit(sink, gate, ExecutionEvent.exit(result.exitCode(), result.signal(), result.wallMs()));
+            }
+        } finally {
+            deleteQuietly(runDir);
+        }
+    }
+
+    // Wait for demand, then send; false once the subscriber is gone
+    private static boolean emit(FluxSink<ExecutionEvent> sink, DemandGate gate, ExecutionEvent event)
+            throws InterruptedException {
+        if (!gate.acquire()) {
+            return false;
+        }
+        sink.next(event);
+        return true;
+    }
+
+    private LocalLanguage resolveLanguage(ExecutionRequest request) {
+        LocalLanguage language = LocalLanguage.find(request.getLanguage());
+        if (language == null || !versions.containsKey(language)) {
+            throw new RuntimeException("Language not available on this executor: " + request.getLanguage());
+        }
+        validateFileNames(request.getFiles());
+        return language;
+    }
+
+    private ExecutionResponse run(ExecutionRequest request) throws IOException, InterruptedException {
+        LocalLanguage language = resolveLanguage(request);
+
+        ExecutionResponse response = new ExecutionResponse();
+        response.setLanguage(language.getKey());
+        response.setVersion(versions.get(language));
+
+        String mainFile = language.mainFile(request.getCode());
+        Artifact artifact = language.isCompiled() ? compile(language, mainFile, request) : null;
+        try {
+            Path codeDir = null;
+            if (artifact != null) {
+                response.setCompile(artifact.compile);
+                if (artifact.compile.getCode() != 0 || artifact.compile.getSignal() != null) {
+                    return response;
+                }
+                codeDir = artifact.dir;
+            }
+            response.setRun(toRunResult(runProgram(language, mainFile, codeDir, request)));
+            return response;
+        } finally {
+            if (artifact != null) {
+                artifact.release();
+            }
+        }
+    }
+
+    // codeDir: compiled artifact, or null to write the sources into the run directory
+    private ProcessRunner.Result runProgram(LocalLanguage language, String mainFile, Path codeDir,
+                                            ExecutionRequest request) throws IOException, InterruptedException {
+        boolean noArgs = request.getArgs() == null || request.getArgs().isEmpty();
+        WarmProcessPool.WarmProcess warm = noArgs ? warmPool.take(language) : null;
+        Path runDir = warm != null ? warm.dir() : runner.sandboxDir(runsDir.resolve(UUID.randomUUID().toString()));
+        try {
+            if (codeDir == null) {
+                writeSources(runDir, mainFile, request);
+                codeDir = runDir;
+            }
+            return warm != null
+                    ? runWarm(warm, language, codeDir, mainFile, request.getStdin())
+                    : runCold(language, codeDir, runDir, mainFile, request);
+        } finally {
+            deleteQuietly(runDir);
+        }
+    }
+
+    private ProcessRunner.Result runWarm(WarmProcessPool.WarmProcess warm, LocalLanguage language, Path codeDir,
+                                         String mainFile, String stdin) throws IOException, InterruptedException {
+        String header = language == LocalLanguage.JAVA
+                ? codeDir + "\t" + mainFile.replace(".java", "")
+                : codeDir.resolve(mainFile).toString();
+        long start = System.nanoTime();
+        warm.start(header, stdin);
+        return runner.await(warm.process(), warm.dir(), config.getRunTimeoutMs(), start);
+    }
+
+    private ProcessRunner.Result runCold(LocalLanguage language, Path codeDir, Path runDir, String mainFile,
+                                         ExecutionRequest request) throws IOException, InterruptedException {
+        List<String> command = runner.limited(
+                language.runCommand(codeDir, mainFile, config.getMemoryLimitMb(), request.getArgs()),
+                cpuSeconds(config.getRunTimeoutMs()),
+                maxRunFileBytes(),
+                language.usesAddressSpaceLimit() ? config.getMemoryLimitMb() : null);
+        return runner.run(command, runDir, request.getStdin(), config.getRunTimeoutMs());
+    }
+
+    /**
+     * Compiled artifact for these sources, retained for the caller (release()
+     * when done). Concurrent requests for the same sources wait on one compile,
+     * which runs on the first caller's thread rather than inside the cache;
+     * compiles killed by a limit are not kept.
+     */
+    private Artifact compile(LocalLanguage language, String mainFile, ExecutionRequest request)
+            throws InterruptedException {
+        String key = sourceKey(language, request);
+        while (true) {
+            CompletableFuture<Artifact> created = new CompletableFuture<>();
+            CompletableFuture<Artifact> future = artifacts.asMap().putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                try {
+                    created.complete(compileNow(language, mainFile, request));
+                } catch (RuntimeException e) {
+                    created.completeExceptionally(e);
+                }
+            }
+
+            Artifact artifact;
+            try {
+                artifact = future.get();
+            } catch (ExecutionException e) {
+                artifacts.asMap().remove(key, future);
+                throw e.getCause() instanceof RuntimeException cause
+                        ? cause
+                        : new RuntimeException("Compilation failed: " + e.getCause().getMessage());
+            }
+            if (artifact.compile.getSignal() != null) {
+                artifacts.asMap().remove(key, future);
+            }
+            if (artifact.retain()) {
+                return artifact;
+            }
+            // Evicted between lookup and retain: compile again
+        }
+    }
+
+    // Each compile gets its own directory: an evicted one may still be in use
+    private Artifact compileNow(LocalLanguage language, String mainFile, ExecutionRequest request) {
+        Path dir = artifactsDir.resolve(UUID.randomUUID().toString());
+        try {
+            runner.sandboxDir(dir);
+            List<String> sources = writeSources(dir, mainFile, request);
+            List<String> command = runner.limited(
+                    language.compileCommand(dir, mainFile, sources),
+                    cpuSeconds(config.getCompileTimeoutMs()),
+                    COMPILER_MAX_FILE_BYTES,
+                    null);
+            ProcessRunner.Result result = runner.run(command, dir, null, config.getCompileTimeoutMs());
+            return new Artifact(dir, toCompileResult(result));
+        } catch (IOException e) {
+            deleteQuietly(dir);
+            throw new RuntimeException("Compilation failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            deleteQuietly(dir);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Compilation interrupted");
+        }
+    }
+
+    // Main file plus extra files; returns the names written
+    private List<String> writeSources(Path dir, String mainFile, ExecutionRequest request) throws IOException {
+        List<String> names = new ArrayList<>();
+        Files.writeString(dir.resolve(mainFile), request.getCode(), StandardCharsets.UTF_8);
+        names.add(mainFile);
+        if (request.getFiles() != null) {
+            for (ExecutionRequest.FileContent file : request.getFiles()) {
+                if (file.getName().equals(mainFile)) {
+                    continue;
+                }
+                Files.writeString(dir.resolve(file.getName()),
+                        file.getContent() == null ? "" : file.getContent(), StandardCharsets.UTF_8);
+                names.add(file.getName());
+            }
+        }
+        return names;
+    }
+
+    private static void validateFileNames(List<ExecutionRequest.FileContent> files) {
+        if (files == null) {
+            return;
+        }
+        for (ExecutionRequest.FileContent file : files) {
+            String name = file.getName();
+            if (name == null || !FILE_NAME.matcher(name).matches() || RESERVED_FILES.contains(name)) {
+                throw new IllegalArgumentException("Invalid file name: " + name);
+            }
+        }
+    }
+
+    private static ExecutionResponse.RunResult toRunResult(ProcessRunner.Result result) {
+        ExecutionResponse.RunResult run = new ExecutionResponse.RunResult();
+        run.setStdout(result.stdout());
+        run.setStderr(result.stderr());
+        run.setCode(result.exitCode());
+        run.setSignal(result.signal());
+        run.setOutput(result.stdout() + result.stderr());
+        run.setWallTimeMs(result.wallMs());
+        return run;
+    }
+
+    private static ExecutionResponse.CompileResult toCompileResult(ProcessRunner.Result result) {
+        ExecutionResponse.CompileResult compile = new ExecutionResponse.CompileResult();
+        compile.setStdout(result.stdout());
+        compile.setStderr(result.stderr());
+        compile.setCode(result.exitCode());
+        compile.setSignal(result.signal());
+        compile.setOutput(result.stdout() + result.stderr());
+        compile.setWallTimeMs(result.wallMs());
+        return compile;
+    }
+
+    // Same idea as the result cache key, minus stdin/args
+    private String sourceKey(LocalLanguage language, ExecutionRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            List<String> parts = new ArrayList<>(List.of(language.getKey(), versions.get(language), request.getCode()));
+            if (request.getFiles() != null) {
+                request.getFiles().forEach(file -> {
+                    parts.add(file.getName());
+                    parts.add(file.getContent() == null ? "" : file.getContent());
+                });
+            }
+            for (String part : parts) {
+                byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * prlimit --nproc for the sandbox uid. Every run and warm process shares
+     * that uid and RLIMIT_NPROC counts all of them, so the limit has to fit
+     * all of them at their per-run allowance - otherwise one user's load makes
+     * another's JVM fail to start threads.
+     */
+    private int uidProcessLimit(int maxConcurrent) {
+        if (config.getMaxProcessesPerRun() < 1) {
+            throw new IllegalStateException("app.executor.local.max-processes-per-run must be at least 1");
+        }
+        long warmable = Arrays.stream(LocalLanguage.values()).filter(LocalLanguage::isWarmable).count();
+        long processes = maxConcurrent + Math.max(0, config.getWarmPoolSize()) * warmable;
+        long limit = processes * config.getMaxProcessesPerRun();
+        if (limit > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Sandbox process limit does not fit: " + processes + " processes x "
+                    + config.getMaxProcessesPerRun() + " (app.executor.local.max-processes-per-run)");
+        }
+        logger.info("Sandbox uid process limit: {} ({} runs / warm processes x {})",
+                limit, processes, config.getMaxProcessesPerRun());
+        return (int) limit;
+    }
+
+    // prlimit CPU limit: a little above the wall clock, so the wall clock normally wins
+    private static long cpuSeconds(long timeoutMs) {
+        return TimeUnit.MILLISECONDS.toSeconds(timeoutMs) + 1;
+    }
+
+    // Output files may exceed what is returned; past this the program gets SIGXFSZ
+    private long maxRunFileBytes() {
+        return Math.max(1024L * 1024, config.getMaxOutputBytes() * 4L);
+    }
+
+    /**
+     * Submissions run arbitrary code, so running them as this server's user
+     * (its files, its network, its process limit) is not an option. Only the
+     * uid can be checked from here; network and filesystem are up to the prefix.
+     */
+    private void verifySandbox() {
+        if (config.getSandboxPrefix().stream().allMatch(String::isBlank)) {
+            throw new IllegalStateException("app.executor.backend=local requires app.executor.local.sandbox-prefix "
+                    + "(separate uid, no network, read-only filesystem outside " + config.getWorkDir() + ")");
+        }
+        String serverUid = outputOf(List.of("id", "-u"));
+        String sandboxUid = outputOf(runner.limited(List.of("id", "-u"), 1, 1024 * 1024, null));
+        if (sandboxUid == null) {
+            throw new IllegalStateException("Sandbox prefix could not run a command (or prlimit could not apply "
+                    + "the limits, e.g. --nproc above the hard limit): " + config.getSandboxPrefix());
+        }
+        if (sandboxUid.equals(serverUid) || sandboxUid.equals("0")) {
+            throw new IllegalStateException("Sandbox prefix runs commands as uid " + sandboxUid
+                    + "; submissions need an unprivileged uid of their own");
+        }
+        logger.info("Local executor sandbox runs as uid {}", sandboxUid);
+    }
+
+    /**
+     * Compile a trivial program per compiled language, as a submission would be:
+     * catches a sandbox uid that cannot write into the dirs created here
+     * (app.executor.local.sandbox-gid) at startup instead of on every submission.
+     */
+    private void verifySandboxCompiles() {
+        for (LocalLanguage language : versions.keySet()) {
+            if (!language.isCompiled()) {
+                continue;
+            }
+            String code = language == LocalLanguage.JAVA
+                    ? "public class Main { public static void main(String[] args) {} }"
+                    : "int main(void) { return 0; }";
+            ExecutionRequest probe = new ExecutionRequest(language.getKey(), versions.get(language), code);
+            Artifact artifact = compileNow(language, language.mainFile(code), probe);
+            deleteQuietly(artifact.dir);
+            if (artifact.compile.getCode() != 0 || artifact.compile.getSignal() != null) {
+                throw new IllegalStateException("Sandbox could not compile a trivial " + language.getKey()
+                        + " program in " + artifactsDir + " (check app.executor.local.sandbox-gid): "
+                        + artifact.compile.getOutput());
+            }
+        }
+    }
+
+    private String detectVersion(LocalLanguage language) {
+        String output = outputOf(language.getVersionCommand());
+        if (output == null) {
+            return null;
+        }
+        Matcher matcher = VERSION.matcher(output);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    // Trimmed stdout+stderr of a short command, or null if it fails
+    private static String outputOf(List<String> command) {
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                process.destroyForcibly();
+                return null;
+            }
+            return output.trim();
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private boolean compileJavaRunner(Path runnerDir) {
+        try {
+            Files.createDirectories(runnerDir);
+            Path source = runnerDir.resolve("WarmJavaRunner.java");
+            Files.writeString(source, WarmProcessPool.JAVA_RUNNER_SOURCE, StandardCharsets.UTF_8);
+            ProcessRunner.Result result = runner.run(
+                    List.of("javac", "-d", runnerDir.toString(), source.toString()),
+                    runnerDir, null, config.getCompileTimeoutMs());
+            if (result.exitCode() != 0) {
+                logger.warn("Could not compile warm Java runner, Java runs start cold: {}", result.stderr());
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warn("Could not compile warm Java runner, Java runs start cold: {}", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static void deleteQuietly(Path path) {
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ignored) {
+                    // Best effort; a later cleanup will catch it
+                }
+            });
+        } catch (IOException e) {
+            logger.debug("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+// src/main/java/com/algoarena/service/compiler/local/ProcessRunner.java
+package com.algoarena.service.compiler.local;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Starts sandboxed processes and collects their results.
+ *
+ * Limits per process:
+ *   wall clock - enforced here (process tree killed, reported as SIGKILL)
+ *   CPU time, file size, core dumps, address space, process count - via prlimit(1) when installed
+ *   uid, network, filesystem - app.executor.local.sandbox-prefix (nsjail, ...)
+ *
+ * Directories a sandboxed process works in come from sandboxDir(): they are
+ * created by this server, so without a shared group the sandbox uid could
+ * not write into them.
+ *
+ * The process count limit is RLIMIT_NPROC, which counts every process and
+ * thread of the sandbox uid - shared by all runs - so maxProcesses is the
+ * budget for everything running at once (sized by LocalProcessExecutor).
+ *
+ * stdout/stderr go to files in the run directory (bounded by the file size
+ * limit) and are read back capped at maxOutputBytes - or, for streamed runs,
+ * are read from pipes in fixed-size chunks and handed to an OutputListener.
+ */
+final class ProcessRunner {
+
+    static final String TRUNCATED_MARKER = "\n[output truncated]";
+
+    // Exit status 128+N -> signal N; only the ones a submission realistically hits
+    private static final Map<Integer, String> SIGNALS = Map.of(
+            134, "SIGABRT",
+            136, "SIGFPE",
+            137, "SIGKILL",
+            139, "SIGSEGV",
+            152, "SIGXCPU",
+            153, "SIGXFSZ");
+
+    record Result(int exitCode, String signal, String stdout, String stderr, long wallMs) {}
+
+    // Receives streamed output; may block (backpressure). false stops the process.
+    @FunctionalInterface
+    interface OutputListener {
+        boolean onChunk(String stream, String chunk) throws InterruptedException;
+    }
+
+    private final List<String> sandboxPrefix;
+    private final boolean prlimitAvailable;
+    private final int maxOutputBytes;
+    private final int maxProcesses;
+    private final int sandboxGid;
+
+    ProcessRunner(List<String> sandboxPrefix, boolean prlimitAvailable, int maxOutputBytes, int maxProcesses,
+                  int sandboxGid) {
+        this.sandboxPrefix = sandboxPrefix.stream().filter(part -> !part.isBlank()).toList();
+        this.prlimitAvailable = prlimitAvailable;
+        this.maxOutputBytes = maxOutputBytes;
+        this.maxProcesses = maxProcesses;
+        this.sandboxGid = sandboxGid;
+    }
+
+    boolean hasPrlimit() {
+        return prlimitAvailable;
+    }
+
+    /**
+     * Wrap a command with the sandbox prefix and resource limits
+     */
+    List<String> limited(List<String> command, long cpuSeconds, long maxFileBytes, Integer addressSpaceMb) {
+        List<String> full = new ArrayList<>(sandboxPrefix);
+        if (prlimitAvailable) {
+            full.add("prlimit");
+            full.add("--cpu=" + cpuSeconds);
+            full.add("--fsize=" + maxFileBytes);
+            full.add("--core=0");
+            full.add("--nproc=" + maxProcesses);
+            if (addressSpaceMb != null) {
+                full.add("--as=" + addressSpaceMb * 1024L * 1024L);
+            }
+            full.add("--");
+        }
+        full.addAll(command);
+        return full;
+    }
+
+    /**
+     * Create dir writable by the sandbox: group sandboxGid, mode 2770 (setgid,
+     * so files the sandbox creates keep the group and stay readable here)
+     */
+    Path sandboxDir(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        if (sandboxGid >= 0) {
+            Files.setAttribute(dir, "unix:gid", sandboxGid);
+            Files.setAttribute(dir, "unix:mode", 02770);
+        }
+        return dir;
+    }
+
+    /**
+     * Process builder with a minimal environment, output redirected into dir
+     */
+    ProcessBuilder builder(List<String> command, Path dir) {
+        return pipedBuilder(command, dir)
+                .redirectOutput(dir.resolve("stdout.txt").toFile())
+                .redirectError(dir.resolve("stderr.txt").toFile());
+    }
+
+    // Same, with stdout/stderr left as pipes
+    private ProcessBuilder pipedBuilder(List<String> command, Path dir) {
+        ProcessBuilder builder = new ProcessBuilder(command).directory(dir.toFile());
+        Map<String, String> env = builder.environment();
+        String path = env.getOrDefault("PATH", "/usr/local/bin:/usr/bin:/bin");
+        env.clear();
+        env.put("PATH", path);
+        env.put("HOME", dir.toString());
+        env.put("LANG", "C.UTF-8");
+        return builder;
+    }
+
+    /**
+     * Start, feed stdin, wait (killing on timeout) and collect output
+     */
+    Result run(List<String> command, Path dir, String stdin, long timeoutMs) throws IOException, InterruptedException {
+        Path stdinFile = dir.resolve("stdin.txt");
+        Files.writeString(stdinFile, stdin == null ? "" : stdin, StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        Process process = builder(command, dir)
+                .redirectInput(stdinFile.toFile())
+                .start();
+        return await(process, dir, timeoutMs, start);
+    }
+
+    /**
+     * Start and stream stdout/stderr to the listener as they are produced.
+     * Buffering is one chunk per stream: a slow listener blocks the reader,
+     * which blocks the process on its pipe. Returned stdout/stderr are empty.
+     * A listener returning false kills the process (reported as SIGKILL).
+     */
+    Result stream(List<String> command, Path dir, String stdin, long timeoutMs, int chunkChars,
+                  OutputListener listener) throws IOException, InterruptedException {
+        Path stdinFile = dir.resolve("stdin.txt");
+        Files.writeString(stdinFile, stdin == null ? "" : stdin, StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        Process process = pipedBuilder(command, dir)
+                .redirectInput(stdinFile.toFile())
+                .start();
+
+        AtomicBoolean stopped = new AtomicBoolean();
+        Thread stdoutReader = Thread.ofVirtual().name("exec-stdout")
+                .start(() -> pump(process, process.getInputStream(), "stdout", chunkChars, listener, stopped));
+        Thread stderrReader = Thread.ofVirtual().name("exec-stderr")
+                .start(() -> pump(process, process.getErrorStream(), "stderr", chunkChars, listener, stopped));
+
+        boolean finished;
+        try {
+            finished = process.waitFor(timeoutMs, TimeUnit.MILLISECONDS);
+            if (!finished) {
+                kill(process);
+            }
+            // Readers drain what is left in the pipes; give up on them after another timeout
+            stdoutReader.join(timeoutMs);
+            stderrReader.join(timeoutMs);
+        } catch (InterruptedException e) {
+            kill(process);
+            stdoutReader.interrupt();
+            stderrReader.interrupt();
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        stdoutReader.interrupt();
+        stderrReader.interrupt();
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        boolean killed = !finished || stopped.get();
+        int exitCode = killed ? 137 : process.exitValue();
+        String signal = killed ? "SIGKILL" : SIGNALS.get(exitCode);
+        return new Result(exitCode, signal, "", "", wallMs);
+    }
+
+    private static void pump(Process process, InputStream in, String stream, int chunkChars,
+                             OutputListener listener, AtomicBoolean stopped) {
+        char[] buffer = new char[Math.max(1, chunkChars)];
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                if (read > 0 && !listener.onChunk(stream, new String(buffer, 0, read))) {
+                    stopped.set(true);
+                    kill(process);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Pipe closed because the process was killed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Result await(Process process, Path dir, long timeoutMs, long startNanos) throws IOException, InterruptedException {
+        boolean finished;
+        try {
+            finished = process.waitFor(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // Caller gave up (request cancelled / shutdown): don't leave the process running
+            kill(process);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        if (!finished) {
+            kill(process);
+        }
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        int exitCode = process.exitValue();
+        String signal = finished ? SIGNALS.get(exitCode) : "SIGKILL";
+        return new Result(
+                finished ? exitCode : 137,
+                signal,
+                readCapped(dir.resolve("stdout.txt")),
+                readCapped(dir.resolve("stderr.txt")),
+                wallMs);
+    }
+
+    static void kill(Process process) throws InterruptedException {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        process.waitFor();
+    }
+
+    private String readCapped(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return "";
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] bytes = in.readNBytes(maxOutputBytes + 1);
+            if (bytes.length <= maxOutputBytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            return new String(bytes, 0, maxOutputBytes, StandardCharsets.UTF_8) + TRUNCATED_MARKER;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+// src/main/java/com/algoarena/service/compiler/local/WarmProcessPool.java
+package com.algoarena.service.compiler.local;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pre-spawned interpreters / JVMs, one-shot each.
+ *
+ * A warm process has already paid for interpreter or JVM startup and is
+ * blocked reading a one-line header from stdin: the program to run. The
+ * rest of stdin is left untouched for the program itself. After one run the
+ * process exits and a replacement is spawned in the background, so no state
+ * ever carries over between submissions.
+ *
+ * Limits (prlimit, sandbox prefix) are applied at spawn time; the wall-clock
+ * limit starts when the header is written.
+ */
+final class WarmProcessPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmProcessPool.class);
+
+    // Reads "<script path>\n" byte by byte (sys.stdin's buffer stays untouched), then runs it as __main__
+    private static final String PYTHON_BOOTSTRAP = String.join("\n",
+            "import os, sys, runpy",
+            "h = b''",
+            "while not h.endswith(b'\\n'):",
+            "    c = os.read(0, 1)",
+            "    if not c: sys.exit(0)",
+            "    h += c",
+            "p = h.decode().strip()",
+            "sys.argv = [p]",
+            "sys.path[0] = os.path.dirname(p)",
+            "del h, c, p",
+            "runpy.run_path(sys.argv[0], run_name='__main__')");
+
+    // Reads "<classpath>\t<main class>\n", then invokes main() from a fresh class loader
+    static final String JAVA_RUNNER_SOURCE = String.join("\n",
+            "import java.lang.reflect.InvocationTargetException;",
+            "import java.net.URL;",
+            "import java.net.URLClassLoader;",
+            "import java.nio.file.Paths;",
+            "public class WarmJavaRunner {",
+            "    public static void main(String[] args) throws Throwable {",
+            "        StringBuilder header = new StringBuilder();",
+            "        int c;",
+            "        while ((c = System.in.read()) != -1 && c != '\\n') header.append((char) c);",
+            "        if (header.length() == 0) return;",
+            "        String[] parts = header.toString().split(\"\\t\");",
+            "        URLClassLoader loader = new URLClassLoader(",
+            "                new URL[] { Paths.get(parts[0]).toUri().toURL() }, ClassLoader.getPlatformClassLoader());",
+            "        Thread.currentThread().setContextClassLoader(loader);",
+            "        try {",
+            "            Class.forName(parts[1], true, loader).getMethod(\"main\", String[].class)",
+            "                    .invoke(null, (Object) new String[0]);",
+            "        } catch (InvocationTargetException e) {",
+            "            throw e.getCause();",
+            "        }",
+            "        System.out.flush();",
+            "    }",
+            "}");
+
+    record WarmProcess(LocalLanguage language, Process process, Path dir, long spawnedAtNanos) {
+
+        /**
+         * Hand the program over; the rest of stdin is the program's input
+         */
+        void start(String header, String stdin) throws IOException {
+            try (OutputStream in = process.getOutputStream()) {
+                in.write((header + "\n").getBytes(StandardCharsets.UTF_8));
+                if (stdin != null) {
+                    in.write(stdin.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    private final ProcessRunner runner;
+    private final Path runsDir;
+    private final Path javaRunnerDir;
+    private final int size;
+    private final int memoryLimitMb;
+    private final long cpuSeconds;
+    private final long maxFileBytes;
+
+    private final Map<LocalLanguage, BlockingQueue<WarmProcess>> pools = new EnumMap<>(LocalLanguage.class);
+    private final ExecutorService spawner = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "warm-process-spawner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean closed;
+
+    WarmProcessPool(ProcessRunner runner, Path runsDir, Path javaRunnerDir, int size,
+                    int memoryLimitMb, long cpuSeconds, long maxFileBytes) {
+        this.runner = runner;
+        this.runsDir = runsDir;
+        this.javaRunnerDir = javaRunnerDir;
+        this.size = size;
+        this.memoryLimitMb = memoryLimitMb;
+        this.cpuSeconds = cpuSeconds;
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    void enable(LocalLanguage language) {
+        if (size <= 0) {
+            return;
+        }
+        pools.put(language, new ArrayBlockingQueue<>(size));
+        refill(language);
+    }
+
+    boolean isEnabled(LocalLanguage language) {
+        return pools.containsKey(language);
+    }
+
+    /**
+     * A ready process, or null (pool empty / disabled) - caller falls back to a cold start
+     */
+    WarmProcess take(LocalLanguage language) {
+        BlockingQueue<WarmProcess> pool = pools.get(language);
+        if (pool == null) {
+            return null;
+        }
+        WarmProcess warm;
+        while ((warm = pool.poll()) != null && !warm.process().isAlive()) {
+            logger.debug("Discarding dead warm {} process", language.getKey());
+        }
+        refill(language);
+        return warm;
+    }
+
+    int available(LocalLanguage language) {
+        BlockingQueue<WarmProcess> pool = pools.get(language);
+        return pool == null ? 0 : pool.size();
+    }
+
+    private void refill(LocalLanguage language) {
+        if (closed) {
+            return;
+        }
+        spawner.execute(() -> {
+            BlockingQueue<WarmProcess> pool = pools.get(language);
+            while (!closed && pool.remainingCapacity() > 0) {
+                try {
+                    if (!pool.offer(spawn(language))) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to spawn warm {} process: {}", language.getKey(), e.getMessage());
+                    break;
+                }
+            }
+        });
+    }
+
+    private WarmProcess spawn(LocalLanguage language) throws IOException {
+        Path dir = runner.sandboxDir(runsDir.resolve("warm-" + UUID.randomUUID()));
+        List<String> command = switch (language) {
+            case PYTHON -> List.of("python3", "-B", "-c", PYTHON_BOOTSTRAP);
+            case JAVA -> {
+                List<String> java = new ArrayList<>(LocalLanguage.javaOptions(memoryLimitMb));
+                java.addAll(List.of("-cp", javaRunnerDir.toString(), "WarmJavaRunner"));
+                yield java;
+            }
+            default -> throw new IllegalArgumentException(language.getKey() + " has no warm runner");
+        };
+        Integer addressSpace = language.usesAddressSpaceLimit() ? memoryLimitMb : null;
+        Process process = runner.builder(runner.limited(command, cpuSeconds, maxFileBytes, addressSpace), dir)
+                .start();
+        return new WarmProcess(language, process, dir, System.nanoTime());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        spawner.shutdownNow();
+        pools.values().forEach(pool -> {
+            WarmProcess warm;
+            while ((warm = pool.poll()) != null) {
+                warm.process().descendants().forEach(ProcessHandle::destroyForcibly);
+                warm.process().destroyForcibly();
+                LocalProcessExecutor.deleteQuietly(warm.dir());
+            }
+        });
+    }
+}
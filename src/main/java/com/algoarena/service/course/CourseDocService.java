@@ -7,8 +7,10 @@ import com.algoarena.model.User;
 import com.algoarena.repository.CourseDocRepository;
 import com.algoarena.repository.CourseTopicRepository;
 import com.algoarena.service.file.CloudinaryService;
+import com.algoarena.service.catalog.CatalogCacheInvalidator;
+import com.algoarena.service.catalog.CatalogWrite;
+import com.algoarena.service.catalog.OffHeapBlobCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +32,12 @@ public class CourseDocService {
     @Autowired
     private CloudinaryService cloudinaryService;
 
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private OffHeapBlobCache offHeapBlobCache;
+
     private static final long MAX_DOC_SIZE = 5 * 1024 * 1024L; // 5MB
 
     /**
@@ -50,22 +58,27 @@ public class CourseDocService {
 
     /**
      * Get single doc WITH content (for reading)
-     * CACHED: Same doc viewed by multiple users
+     * CACHED: Same doc viewed by multiple users - compressed, off-heap (up to 5MB each)
      */
-    @Cacheable(value = "courseDoc", key = "#id")
     public CourseDocDTO getDocById(String id) {
+        CourseDocDTO cached = offHeapBlobCache.getJson(OffHeapBlobCache.COURSE_DOC + id, CourseDocDTO.class);
+        if (cached != null) {
+            return cached;
+        }
         CourseDoc doc = docRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
 
-        return CourseDocDTO.fromEntityWithContent(doc);
+        CourseDocDTO dto = CourseDocDTO.fromEntityWithContent(doc);
+        offHeapBlobCache.putJson(OffHeapBlobCache.COURSE_DOC + id, dto);
+        return dto;
     }
 
     /**
      * Create new document (Admin only)
-     * EVICTS: Docs list cache for this topic
+     * EVICTS: Docs list cache and doc count for this topic
      */
     @Transactional
-    @CacheEvict(value = { "courseDocsList", "courseTopic" }, allEntries = true)
+    @CatalogWrite
     public CourseDocDTO createDoc(CourseDocDTO dto, User currentUser) {
         topicRepository.findById(dto.getTopicId())
                 .orElseThrow(() -> new RuntimeException("Topic not found with id: " + dto.getTopicId()));
@@ -99,18 +112,20 @@ public class CourseDocService {
         doc.setTotalSize(totalSize);
 
         CourseDoc savedDoc = docRepository.save(doc);
+        cacheInvalidator.docChanged(null, savedDoc.getTopicId(), null);
         return CourseDocDTO.fromEntityWithContent(savedDoc);
     }
 
     /**
      * Update existing document (Admin only)
-     * EVICTS: Specific doc cache + lists
+     * EVICTS: This doc, its topic's list and count (and the old topic's, if moved)
      */
     @Transactional
-    @CacheEvict(value = { "courseDocsList", "courseDoc" }, allEntries = true)
+    @CatalogWrite
     public CourseDocDTO updateDoc(String id, CourseDocDTO dto, User currentUser) {
         CourseDoc doc = docRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+        String previousTopicId = doc.getTopicId();
 
         if (!doc.getTopicId().equals(dto.getTopicId())) {
             topicRepository.findById(dto.getTopicId())
@@ -143,15 +158,16 @@ public class CourseDocService {
         doc.setTotalSize(totalSize);
 
         CourseDoc updatedDoc = docRepository.save(doc);
+        cacheInvalidator.docChanged(id, updatedDoc.getTopicId(), previousTopicId);
         return CourseDocDTO.fromEntityWithContent(updatedDoc);
     }
 
     /**
      * Delete document (Admin only)
-     * EVICTS: All related caches
+     * EVICTS: This doc, its topic's list and count
      */
     @Transactional
-    @CacheEvict(value = { "courseDocsList", "courseDoc", "courseTopic" }, allEntries = true)
+    @CatalogWrite
     public void deleteDoc(String id) {
         CourseDoc doc = docRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
@@ -171,6 +187,7 @@ public class CourseDocService {
         }
 
         docRepository.delete(doc);
+        cacheInvalidator.docChanged(id, doc.getTopicId(), null);
         // System.out.println("✓ Document deleted: " + doc.getTitle());
     }
 
@@ -256,10 +273,10 @@ public class CourseDocService {
 
     /**
      * Move document to a different topic (Admin only)
-     * EVICTS: All related caches since both topics are affected
+     * EVICTS: This doc, lists and counts of both topics
      */
     @Transactional
-    @CacheEvict(value = { "courseDocsList", "courseDoc", "courseTopic" }, allEntries = true)
+    @CatalogWrite
     public CourseDocDTO moveDocToTopic(String docId, String newTopicId) {
         // Find the document
         CourseDoc doc = docRepository.findById(docId)
@@ -281,6 +298,7 @@ public class CourseDocService {
         doc.setTopicId(newTopicId);
 
         CourseDoc updatedDoc = docRepository.save(doc);
+        cacheInvalidator.docChanged(docId, newTopicId, oldTopicId);
 
         System.out.println("✓ Moved document '" + doc.getTitle() + "' from topic " +
                 oldTopicId + " to " + newTopicId);
@@ -9,8 +9,9 @@ import com.algoarena.model.User;
 import com.algoarena.repository.CourseTopicRepository;
 import com.algoarena.repository.CourseDocRepository;
 import com.algoarena.service.file.CloudinaryService;
+import com.algoarena.service.catalog.CatalogCacheInvalidator;
+import com.algoarena.service.catalog.CatalogWrite;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +31,9 @@ public class CourseTopicService {
     @Autowired
     private CloudinaryService cloudinaryService;
 
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
     /**
      * Get single topic by ID
      * CACHED: Individual topics are cached
@@ -77,7 +81,7 @@ public class CourseTopicService {
      * EVICTS: All topic list caches
      */
     @Transactional
-    @CacheEvict(value = { "topicNamesPublic", "topicNamesAdmin" }, allEntries = true)
+    @CatalogWrite
     public CourseTopicDTO createTopic(CourseTopicDTO dto, User currentUser) {
         if (topicRepository.existsByNameIgnoreCase(dto.getName())) {
             throw new RuntimeException("Topic with name '" + dto.getName() + "' already exists");
@@ -93,6 +97,7 @@ public class CourseTopicService {
         topic.setCreatedByName(currentUser.getName());
 
         CourseTopic savedTopic = topicRepository.save(topic);
+        cacheInvalidator.topicNamesChanged();
 
         CourseTopicDTO result = CourseTopicDTO.fromEntity(savedTopic);
         result.setDocsCount(0L);
@@ -102,10 +107,10 @@ public class CourseTopicService {
 
     /**
      * Update existing topic (Admin only)
-     * EVICTS: All related caches
+     * EVICTS: This topic + topic name lists (docs carry no topic fields)
      */
     @Transactional
-    @CacheEvict(value = { "courseTopic", "topicNamesPublic", "topicNamesAdmin", "courseDocsList", "courseDoc" }, allEntries = true)
+    @CatalogWrite
     public CourseTopicDTO updateTopic(String id, CourseTopicDTO dto, User currentUser) {
         CourseTopic topic = topicRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Topic not found with id: " + id));
@@ -123,6 +128,7 @@ public class CourseTopicService {
         topic.setIsPublic(dto.getIsPublic() != null ? dto.getIsPublic() : true);
 
         CourseTopic updatedTopic = topicRepository.save(topic);
+        cacheInvalidator.topicChanged(id);
 
         CourseTopicDTO result = CourseTopicDTO.fromEntity(updatedTopic);
         long docCount = docRepository.countByTopicId(updatedTopic.getId());
@@ -133,17 +139,17 @@ public class CourseTopicService {
 
     /**
      * Toggle topic public/private status
-     * EVICTS: All caches since visibility changed
+     * EVICTS: This topic + topic name lists
      */
     @Transactional
-    @CacheEvict(value = { "courseTopic", "courseDocsList", "topicNamesPublic",
-            "topicNamesAdmin", "courseDoc" }, allEntries = true)
+    @CatalogWrite
     public CourseTopicDTO toggleTopicVisibility(String id) {
         CourseTopic topic = topicRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Topic not found with id: " + id));
 
         topic.setIsPublic(!topic.getIsPublic());
         CourseTopic updatedTopic = topicRepository.save(topic);
+        cacheInvalidator.topicChanged(id);
 
         CourseTopicDTO result = CourseTopicDTO.fromEntity(updatedTopic);
         long docCount = docRepository.countByTopicId(updatedTopic.getId());
@@ -155,11 +161,10 @@ public class CourseTopicService {
     /**
      * Delete topic (Admin only)
      * CASCADE: Deletes all docs and images
-     * EVICTS: All caches
+     * EVICTS: This topic, its docs and list, topic name lists
      */
     @Transactional
-    @CacheEvict(value = { "courseTopic", "courseDocsList", "courseDoc", "topicNamesPublic",
-            "topicNamesAdmin" }, allEntries = true)
+    @CatalogWrite
     public void deleteTopic(String id) {
         CourseTopic topic = topicRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Topic not found with id: " + id));
@@ -188,6 +193,7 @@ public class CourseTopicService {
         }
 
         topicRepository.delete(topic);
+        cacheInvalidator.topicDeleted(id, docs);
         // System.out.println("✓ Topic deleted successfully");
     }
 
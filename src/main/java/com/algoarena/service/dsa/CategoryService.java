@@ -10,9 +10,10 @@ import com.algoarena.model.User;
 import com.algoarena.repository.CategoryRepository;
 import com.algoarena.repository.QuestionRepository;
 import com.algoarena.repository.SolutionRepository;
+import com.algoarena.service.catalog.CatalogCacheInvalidator;
+import com.algoarena.service.catalog.CatalogWrite;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,6 +39,12 @@ public class CategoryService {
     @Autowired
     private ApproachService approachService;
 
+    @Autowired
+    private QuestionsMetadataSnapshot questionsMetadataSnapshot;
+
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
     /**
      * GET /api/categories
      * Returns Map<String, CategoryDTO> with category name as key
@@ -101,7 +108,7 @@ public class CategoryService {
      * Create new category
      * UPDATED: Stores creator name and ID directly (denormalized)
      */
-    @CacheEvict(value = { "globalCategories", "globalCategoriesMetadata" }, allEntries = true)
+    @CatalogWrite
     public CategoryDTO createCategory(CategoryDTO categoryDTO, User createdBy) {
         // Check if category name already exists
         if (categoryRepository.existsByNameIgnoreCase(categoryDTO.getName())) {
@@ -134,6 +141,7 @@ public class CategoryService {
         category.recalculateCounts();
 
         Category savedCategory = categoryRepository.save(category);
+        cacheInvalidator.categoriesChanged(savedCategory.getId());
 
         // System.out.println("✓ Created category: " + savedCategory.getName() +
         //         " by " + savedCategory.getCreatedByName() +
@@ -146,7 +154,7 @@ public class CategoryService {
      * PUT /api/categories/{id}
      * Update category name and/or displayOrder
      */
-    @CacheEvict(value = { "globalCategories", "globalCategoriesMetadata" }, allEntries = true)
+    @CatalogWrite
     public CategoryDTO updateCategory(String id, CategoryDTO categoryDTO) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
@@ -166,6 +174,7 @@ public class CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(category);
+        cacheInvalidator.categoriesChanged(id);
 
         // System.out.println("✓ Updated category: " + updatedCategory.getName());
 
@@ -184,8 +193,7 @@ public class CategoryService {
      * DELETE /api/categories/{id}
      * Delete category and all its questions (cascade)
      */
-    @CacheEvict(value = { "globalCategories", "globalCategoriesMetadata",
-            "questionsMetadata", "adminQuestionsSummary", "adminSolutionsSummary", "questionDetail", "questionSolutions", "solutionDetail", "userMeStats" }, allEntries = true)
+    @CatalogWrite
     @Transactional
     public Map<String, Object> deleteCategory(String id) {
         Category category = categoryRepository.findById(id)
@@ -212,10 +220,12 @@ public class CategoryService {
 
             // Delete all questions
             questionRepository.deleteAll(questions);
+            questionsMetadataSnapshot.remove(questionIds);
         }
 
         // Delete category
         categoryRepository.deleteById(id);
+        cacheInvalidator.categoryDeleted(id, questionIds);
 
         // System.out.println("✓ Deleted category '" + category.getName() + "' and " +
         //         deletedQuestionsCount + " questions");
@@ -232,13 +242,14 @@ public class CategoryService {
     /**
      * Helper: Add question to category
      */
-    @CacheEvict(value = { "globalCategories", "globalCategoriesMetadata" }, allEntries = true)
+    @CatalogWrite
     public void addQuestionToCategory(String categoryId, String questionId, QuestionLevel level) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
         category.addQuestionId(questionId, level);
         categoryRepository.save(category);
+        cacheInvalidator.categoriesChanged(categoryId);
 
         // System.out.println("✓ Added question to category '" + category.getName() + "' (" + level + ")");
     }
@@ -246,13 +257,14 @@ public class CategoryService {
     /**
      * Helper: Remove question from category
      */
-    @CacheEvict(value = { "globalCategories", "globalCategoriesMetadata" }, allEntries = true)
+    @CatalogWrite
     public void removeQuestionFromCategory(String categoryId, String questionId, QuestionLevel level) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
         category.removeQuestionId(questionId, level);
         categoryRepository.save(category);
+        cacheInvalidator.categoriesChanged(categoryId);
 
         // System.out.println("✓ Removed question from category '" + category.getName() + "' (" + level + ")");
     }
@@ -260,7 +272,7 @@ public class CategoryService {
     /**
      * Helper: Move question between categories or levels
      */
-    @CacheEvict(value = { "globalCategories", "globalCategoriesMetadata" }, allEntries = true)
+    @CatalogWrite
     public void moveQuestion(String oldCategoryId, String newCategoryId,
             String questionId, QuestionLevel oldLevel, QuestionLevel newLevel) {
         // Remove from old category
@@ -288,6 +300,7 @@ public class CategoryService {
             categoryRepository.save(newCategory);
             // System.out.println("✓ Added question to new category: " + newCategory.getName() + " (" + newLevel + ")");
         }
+        cacheInvalidator.categoriesChanged(oldCategoryId, newCategoryId);
     }
 
     // Utility methods
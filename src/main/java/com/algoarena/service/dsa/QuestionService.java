@@ -19,10 +19,11 @@ import com.algoarena.repository.QuestionRepository;
 import com.algoarena.repository.CategoryRepository;
 import com.algoarena.repository.SolutionRepository;
 import com.algoarena.service.file.CloudinaryService;
+import com.algoarena.service.catalog.CatalogCacheInvalidator;
+import com.algoarena.service.catalog.CatalogWrite;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -62,7 +63,13 @@ public class QuestionService {
     @Autowired
     private MongoTemplate mongoTemplate;
 
-    @CacheEvict(value = { "globalCategories", "adminQuestionsSummary", "questionsMetadata" }, allEntries = true)
+    @Autowired
+    private QuestionsMetadataSnapshot questionsMetadataSnapshot;
+
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @CatalogWrite
     @Transactional
     public QuestionDTO createQuestion(QuestionDTO questionDTO, User currentUser) {
         if (questionRepository.existsByTitleIgnoreCase(questionDTO.getTitle())) {
@@ -112,6 +119,8 @@ public class QuestionService {
         question.setUpdatedAt(LocalDateTime.now());
 
         Question savedQuestion = questionRepository.save(question);
+        questionsMetadataSnapshot.upsert(savedQuestion);
+        cacheInvalidator.questionCreated(savedQuestion);
 
         categoryService.addQuestionToCategory(
                 savedQuestion.getCategoryId(),
@@ -123,8 +132,7 @@ public class QuestionService {
         return QuestionDTO.fromEntity(savedQuestion);
     }
 
-    @CacheEvict(value = { "globalCategories", "adminQuestionsSummary", "questionsMetadata",
-            "questionDetail" }, allEntries = true)
+    @CatalogWrite
     @Transactional
     public QuestionDTO updateQuestion(String id, QuestionDTO questionDTO) {
         Question question = questionRepository.findById(id)
@@ -189,6 +197,8 @@ public class QuestionService {
         question.setUpdatedAt(LocalDateTime.now());
 
         Question updatedQuestion = questionRepository.save(question);
+        questionsMetadataSnapshot.upsert(updatedQuestion);
+        cacheInvalidator.questionUpdated(updatedQuestion);
 
         // System.out.println("✓ Updated question: " + updatedQuestion.getTitle());
 
@@ -209,9 +219,7 @@ public class QuestionService {
     // topicNamesPublic,\
     // topicNamesAdmin
 
-    @CacheEvict(value = { "globalCategories", "adminQuestionsSummary", "questionsMetadata",
-            "questionDetail", "userMeStats", "adminSolutionsSummary", "solutionDetail",
-            "questionSolutions" }, allEntries = true)
+    @CatalogWrite
     @Transactional
     public void deleteQuestion(String id) {
         Question question = questionRepository.findById(id)
@@ -256,6 +264,8 @@ public class QuestionService {
 
         // ✅ STEP 6: Delete question from database
         questionRepository.deleteById(id);
+        questionsMetadataSnapshot.remove(List.of(id));
+        cacheInvalidator.questionDeleted(question);
         // System.out.println("✓ Deleted question: " + question.getTitle());
     }
 
@@ -384,25 +394,11 @@ public class QuestionService {
         return QuestionDTO.fromEntity(question);
     }
 
-    @Cacheable(value = "questionsMetadata")
+    /**
+     * id, title, level and categoryId of every question.
+     * Served from QuestionsMetadataSnapshot, which writes keep current.
+     */
     public QuestionsMetadataDTO getQuestionsMetadata() {
-        // System.out.println("CACHE MISS: Fetching questions metadata");
-
-        List<Question> allQuestions = questionRepository.findAll();
-        Map<String, QuestionsMetadataDTO.QuestionMetadata> metadataMap = new HashMap<>();
-
-        for (Question question : allQuestions) {
-            QuestionsMetadataDTO.QuestionMetadata metadata = new QuestionsMetadataDTO.QuestionMetadata(
-                    question.getId(),
-                    question.getTitle(),
-                    question.getLevel(),
-                    question.getCategoryId());
-            metadataMap.put(question.getId(), metadata);
-        }
-
-        QuestionsMetadataDTO result = new QuestionsMetadataDTO();
-        result.setQuestions(metadataMap);
-
-        return result;
+        return questionsMetadataSnapshot.get();
     }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+// src/main/java/com/algoarena/service/dsa/QuestionsMetadataSnapshot.java
+package com.algoarena.service.dsa;
+
+import com.algoarena.dto.user.QuestionsMetadataDTO;
+import com.algoarena.model.Question;
+import com.algoarena.repository.QuestionRepository;
+import com.algoarena.service.catalog.CatalogVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory questions metadata (id, title, level, categoryId of every question).
+ *
+ * Loaded with a projection - statements, code snippets and image URLs
+ * never leave Mongo - then kept current by the services that write questions:
+ * each write publishes a new immutable snapshot with only that question
+ * changed, so readers never see a partial update.
+ *
+ * Writers call upsert/remove after the Mongo write; inside a transaction the
+ * change is applied once it commits (a rollback leaves the snapshot alone).
+ * A write that races a load is then either read by the load or applied on top.
+ *
+ * Writes this node didn't make are caught two ways: another instance's
+ * write moves CatalogVersion, which drops the snapshot before that version's
+ * ETag is served (reloaded on next use); scripts and the shell don't, so
+ * every app.questions-metadata.check-interval-ms the question count and
+ * latest updatedAt are compared with the last load, and a difference reloads.
+ */
+@Component
+public class QuestionsMetadataSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionsMetadataSnapshot.class);
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    // Null until loaded; replaced (never modified) under this
+    private volatile QuestionsMetadataDTO snapshot;
+
+    // Collection state as of the last load; guarded by this
+    private long loadedCount = -1;
+    private LocalDateTime loadedLatestUpdate;
+
+    /**
+     * Load up front so the first request doesn't pay for it; retried on first use if Mongo isn't up yet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            get();
+        } catch (RuntimeException e) {
+            logger.warn("Questions metadata not loaded at startup, will load on first request: {}", e.getMessage());
+        }
+    }
+
+    public QuestionsMetadataDTO get() {
+        QuestionsMetadataDTO current = snapshot;
+        return current != null ? current : load();
+    }
+
+    public void upsert(Question question) {
+        QuestionsMetadataDTO.QuestionMetadata metadata = toMetadata(question);
+        afterCommit(() -> applyUpsert(metadata));
+    }
+
+    public void remove(Collection<String> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(questionIds);
+        afterCommit(() -> applyRemove(ids));
+    }
+
+    /**
+     * Another node changed the catalog: drop the snapshot, the next get() loads a fresh one
+     */
+    @EventListener
+    public synchronized void onCatalogChangedElsewhere(CatalogVersion.ExternalChange change) {
+        snapshot = null;
+    }
+
+    /**
+     * Reload if the question count or latest updatedAt moved since the last load.
+     * This node's own writes move them too, so each costs one extra (projected) reload.
+     */
+    @Scheduled(fixedDelayString = "${app.questions-metadata.check-interval-ms:60000}",
+            initialDelayString = "${app.questions-metadata.check-interval-ms:60000}")
+    public void checkForChanges() {
+        if (snapshot == null) {
+            return; // Loads on first use
+        }
+        try {
+            long count = questionRepository.count();
+            LocalDateTime latestUpdate = latestUpdate();
+            synchronized (this) {
+                if (count != loadedCount || !Objects.equals(latestUpdate, loadedLatestUpdate)) {
+                    reload();
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Questions metadata change check failed, keeping current snapshot: {}", e.getMessage());
+        }
+    }
+
+    // Immediately, or once the surrounding transaction commits
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private synchronized void applyUpsert(QuestionsMetadataDTO.QuestionMetadata metadata) {
+        if (snapshot == null) {
+            return; // Not loaded yet: the load reads it from Mongo
+        }
+        Map<String, QuestionsMetadataDTO.QuestionMetadata> questions = new HashMap<>(snapshot.getQuestions());
+        questions.put(metadata.getId(), metadata);
+        snapshot = publish(questions);
+    }
+
+    private synchronized void applyRemove(List<String> questionIds) {
+        if (snapshot == null) {
+            return;
+        }
+        Map<String, QuestionsMetadataDTO.QuestionMetadata> questions = new HashMap<>(snapshot.getQuestions());
+        questionIds.forEach(questions::remove);
+        snapshot = publish(questions);
+    }
+
+    private synchronized QuestionsMetadataDTO load() {
+        if (snapshot == null) {
+            reload();
+        }
+        return snapshot;
+    }
+
+    // Caller holds the lock. Count and latest update are read first, so a write
+    // landing during the load shows up as a difference on the next check.
+    private void reload() {
+        long start = System.currentTimeMillis();
+        long count = questionRepository.count();
+        LocalDateTime latestUpdate = latestUpdate();
+        Map<String, QuestionsMetadataDTO.QuestionMetadata> questions = new HashMap<>();
+        for (Question question : questionRepository.findAllMetadata()) {
+            questions.put(question.getId(), toMetadata(question));
+        }
+        snapshot = publish(questions);
+        loadedCount = count;
+        loadedLatestUpdate = latestUpdate;
+        logger.info("Loaded metadata for {} questions in {}ms", questions.size(), System.currentTimeMillis() - start);
+    }
+
+    private LocalDateTime latestUpdate() {
+        return questionRepository.findFirstByOrderByUpdatedAtDesc()
+                .map(Question::getUpdatedAt)
+                .orElse(null);
+    }
+
+    private static QuestionsMetadataDTO.QuestionMetadata toMetadata(Question question) {
+        return new QuestionsMetadataDTO.QuestionMetadata(
+                question.getId(),
+                question.getTitle(),
+                question.getLevel(),
+                question.getCategoryId());
+    }
+
+    private static QuestionsMetadataDTO publish(Map<String, QuestionsMetadataDTO.QuestionMetadata> questions) {
+        return new QuestionsMetadataDTO(Collections.unmodifiableMap(questions));
+    }
+}
@@ -9,8 +9,9 @@ import com.algoarena.repository.SolutionRepository;
 import com.algoarena.repository.QuestionRepository;
 import com.algoarena.service.file.CloudinaryService;
 import com.algoarena.service.file.VisualizerService;
+import com.algoarena.service.catalog.CatalogCacheInvalidator;
+import com.algoarena.service.catalog.CatalogWrite;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -35,6 +36,9 @@ public class SolutionService {
     @Autowired
     private VisualizerService visualizerService;
 
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
     /**
      * Get solution by ID - CACHED
      */
@@ -60,11 +64,7 @@ public class SolutionService {
     /**
      * Create new solution
      */
-    @CacheEvict(value = {
-            "adminSolutionsSummary",
-            "questionSolutions",
-            "adminQuestionsSummary"
-    }, allEntries = true)
+    @CatalogWrite
     public SolutionDTO createSolution(String questionId, SolutionDTO solutionDTO, User createdBy) {
         // Verify question exists
         if (!questionRepository.existsById(questionId)) {
@@ -91,6 +91,7 @@ public class SolutionService {
         }
 
         Solution savedSolution = solutionRepository.save(solution);
+        cacheInvalidator.solutionCreated(savedSolution);
 
         // System.out.println("✓ Created solution for question: " + questionId);
         // System.out.println("✓ Cleared all solution caches");
@@ -101,11 +102,7 @@ public class SolutionService {
     /**
      * Update solution
      */
-    @CacheEvict(value = {
-            "adminSolutionsSummary",
-            "solutionDetail",
-            "questionSolutions"
-    }, allEntries = true)
+    @CatalogWrite
     public SolutionDTO updateSolution(String id, SolutionDTO solutionDTO) {
         Solution solution = solutionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Solution not found"));
@@ -127,6 +124,7 @@ public class SolutionService {
         }
 
         Solution updatedSolution = solutionRepository.save(solution);
+        cacheInvalidator.solutionUpdated(updatedSolution);
 
         // System.out.println("✓ Updated solution: " + id);
 
@@ -136,12 +134,7 @@ public class SolutionService {
     /**
      * Delete solution
      */
-    @CacheEvict(value = {
-            "adminSolutionsSummary",
-            "solutionDetail",
-            "questionSolutions",
-            "adminQuestionsSummary"
-    }, allEntries = true)
+    @CatalogWrite
     public void deleteSolution(String id) {
         Solution solution = solutionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Solution not found"));
@@ -171,6 +164,7 @@ public class SolutionService {
 
         // ✅ STEP 3: Delete solution from database
         solutionRepository.deleteById(id);
+        cacheInvalidator.solutionDeleted(solution);
         // System.out.println("✓ Deleted solution: " + id);
     }
 
@@ -227,10 +221,17 @@ public class SolutionService {
                 .toList();
     }
 
+    // Image/visualizer lists changed: same cache entries as an edit
+    private SolutionDTO saveAttachments(Solution solution) {
+        Solution savedSolution = solutionRepository.save(solution);
+        cacheInvalidator.solutionUpdated(savedSolution);
+        return SolutionDTO.fromEntity(savedSolution);
+    }
+
     /**
      * Add/remove image/visualizer methods
      */
-    @CacheEvict(value = { "adminSolutionsSummary", "solutionDetail", "questionSolutions" }, allEntries = true)
+    @CatalogWrite
     public SolutionDTO addImageToSolution(String solutionId, String imageUrl) {
         Solution solution = solutionRepository.findById(solutionId)
                 .orElseThrow(() -> new RuntimeException("Solution not found"));
@@ -246,10 +247,10 @@ public class SolutionService {
             solution.setImageUrls(updatedUrls);
         }
 
-        return SolutionDTO.fromEntity(solutionRepository.save(solution));
+        return saveAttachments(solution);
     }
 
-    @CacheEvict(value = { "adminSolutionsSummary", "solutionDetail", "questionSolutions" }, allEntries = true)
+    @CatalogWrite
     public SolutionDTO removeImageFromSolution(String solutionId, String imageUrl) {
         Solution solution = solutionRepository.findById(solutionId)
                 .orElseThrow(() -> new RuntimeException("Solution not found"));
@@ -260,10 +261,10 @@ public class SolutionService {
             solution.setImageUrls(updatedUrls.isEmpty() ? null : updatedUrls);
         }
 
-        return SolutionDTO.fromEntity(solutionRepository.save(solution));
+        return saveAttachments(solution);
     }
 
-    @CacheEvict(value = { "adminSolutionsSummary", "solutionDetail", "questionSolutions" }, allEntries = true)
+    @CatalogWrite
     public SolutionDTO addVisualizerToSolution(String solutionId, String visualizerFileId) {
         Solution solution = solutionRepository.findById(solutionId)
                 .orElseThrow(() -> new RuntimeException("Solution not found"));
@@ -279,10 +280,10 @@ public class SolutionService {
             solution.setVisualizerFileIds(updatedFileIds);
         }
 
-        return SolutionDTO.fromEntity(solutionRepository.save(solution));
+        return saveAttachments(solution);
     }
 
-    @CacheEvict(value = { "adminSolutionsSummary", "solutionDetail", "questionSolutions" }, allEntries = true)
+    @CatalogWrite
     public SolutionDTO removeVisualizerFromSolution(String solutionId, String visualizerFileId) {
         Solution solution = solutionRepository.findById(solutionId)
                 .orElseThrow(() -> new RuntimeException("Solution not found"));
@@ -293,7 +294,7 @@ public class SolutionService {
             solution.setVisualizerFileIds(updatedFileIds.isEmpty() ? null : updatedFileIds);
         }
 
-        return SolutionDTO.fromEntity(solutionRepository.save(solution));
+        return saveAttachments(solution);
     }
 
     // Link validation helpers
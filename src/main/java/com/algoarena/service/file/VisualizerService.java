@@ -1,6 +1,7 @@
 // src/main/java/com/algoarena/service/file/VisualizerService.java
 package com.algoarena.service.file;
 
+import com.algoarena.service.catalog.OffHeapBlobCache;
 import com.mongodb.client.gridfs.model.GridFSFile;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +26,10 @@ public class VisualizerService {
     @Autowired
     private GridFsTemplate gridFsTemplate;
 
+    // GridFS files never change once stored: entries only go away on delete (or age out)
+    @Autowired
+    private OffHeapBlobCache offHeapBlobCache;
+
     /**
      * FIXED: Upload HTML visualizer file with minimal sanitization that preserves
      * educational JavaScript
@@ -190,26 +195,29 @@ public class VisualizerService {
      * Get HTML content as string - ENHANCED with security context
      */
     public String getVisualizerContent(String fileId) throws IOException {
-        GridFsResource resource = getVisualizerFile(fileId);
-
-        try (InputStream inputStream = resource.getInputStream()) {
-            String htmlContent = new String(inputStream.readAllBytes());
+        String htmlContent = getRawVisualizerContent(fileId);
 
-            // Add runtime security context if needed
-            return addRuntimeSecurityContext(htmlContent);
-        }
+        // Add runtime security context if needed
+        return addRuntimeSecurityContext(htmlContent);
     }
 
     /**
      * Get raw HTML content without any sanitization processing
+     * CACHED: compressed, off-heap - repeat views skip GridFS
      */
     public String getRawVisualizerContent(String fileId) throws IOException {
+        String cached = offHeapBlobCache.getText(OffHeapBlobCache.VISUALIZER + fileId);
+        if (cached != null) {
+            return cached;
+        }
+
         GridFsResource resource = getVisualizerFile(fileId);
 
         try (InputStream inputStream = resource.getInputStream()) {
             String rawContent = new String(inputStream.readAllBytes());
             // System.out.println("Retrieved raw content: " + rawContent.length() + "
             // chars");
+            offHeapBlobCache.putText(OffHeapBlobCache.VISUALIZER + fileId, rawContent);
             return rawContent;
         }
     }
@@ -230,6 +238,7 @@ public class VisualizerService {
         try {
             ObjectId objectId = new ObjectId(fileId);
             gridFsTemplate.delete(Query.query(Criteria.where("_id").is(objectId)));
+            offHeapBlobCache.invalidate(OffHeapBlobCache.VISUALIZER + fileId);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid file ID format: " + fileId);
         }
@@ -327,6 +336,7 @@ public class VisualizerService {
 
             // Delete all files in one operation
             gridFsTemplate.delete(query);
+            fileList.forEach(file -> offHeapBlobCache.invalidate(OffHeapBlobCache.VISUALIZER + file.getObjectId().toString()));
 
             System.out
                     .println("Successfully deleted all " + fileCount + " visualizer files for solution: " + solutionId);
@@ -0,0 +1,112 @@
+// src/main/java/com/algoarena/util/AdaptiveConcurrencyLimiter.java
+package com.algoarena.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency-driven concurrency limit (gradient style, with an AIMD backoff).
+ *
+ * Every completed request reports its round-trip time. The limiter keeps a
+ * slow-moving average of "normal" latency and compares each sample with it:
+ *
+ *   gradient = clamp(tolerance * longRtt / sampleRtt, 0.5, 1.0)
+ *   target   = limit * gradient + sqrt(limit)
+ *
+ * While latency is normal the gradient is 1 and the limit creeps up by the
+ * queue allowance sqrt(limit). When downstreams (Mongo, Piston) slow down the
+ * gradient drops below 1 and the limit shrinks before threads pile up.
+ * Failed requests (5xx, exceptions) apply a multiplicative decrease.
+ *
+ * The limit only grows while it is actually being used (in-flight above half
+ * of it), so a quiet period can't inflate it.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    // ~600-sample EWMA for the long-term RTT
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Written under the monitor, read lock-free by tryAcquire
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * Claim a slot; false means the request should be shed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a slot claimed by tryAcquire and feed the sample into the limit
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (failed) {
+            onDropped();
+        } else if (rttNanos > 0) {
+            onSample(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos = longRttNanos * (1 - LONG_RTT_ALPHA) + rttNanos * LONG_RTT_ALPHA;
+
+        // After a sustained slowdown ends the average lags far behind; let it recover faster
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        // Not using the limit we have - no evidence that more would be fine
+        if (inFlightAtCompletion < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private synchronized void onDropped() {
+        limit = clamp(limit * BACKOFF_RATIO);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,102 @@
+// src/test/java/com/algoarena/benchmark/JwtVerificationBenchmark.java
+package com.algoarena.benchmark;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.config.JwtConfig;
+import com.algoarena.model.User;
+import com.algoarena.service.auth.JwtService;
+import com.algoarena.service.auth.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old JwtAuthenticationFilter verification path (three parses,
+ * signing key rebuilt on every parse) with the single-parse path and the
+ * cached verifyToken path.
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.algoarena.benchmark.JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKey1234567890123456789012345";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(SECRET);
+        jwtConfig.setExpiration(86400000);
+        jwtConfig.setRefreshExpiration(604800000);
+
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtConfig", jwtConfig);
+        // Empty revocation set - only the in-memory Bloom filter check runs
+        ReflectionTestUtils.setField(jwtService, "tokenRevocationService",
+                new TokenRevocationService(null, null, new AppConfig(), new SimpleMeterRegistry()));
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        user = new User("Benchmark User", "bench@algoarena.com");
+        user.setId("64b7f0c2a1b2c3d4e5f60718");
+        token = jwtService.generateToken(user);
+    }
+
+    // Old path: extractUsername + isTokenValid (extractUsername + extractExpiration), new key per parse
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        boolean sameUser = legacyClaims(token).getSubject().equals(username)
+                && username.equals(user.getUsername());
+        return sameUser && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    // One parse with the precomputed key and parser, no verified-token cache
+    @Benchmark
+    public String singleParseCachedKey() {
+        return jwtService.extractUsername(token);
+    }
+
+    // Filter path: verifyToken (cache hit after the first call) + claims check
+    @Benchmark
+    public boolean cachedVerify() {
+        Claims claims = jwtService.verifyToken(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
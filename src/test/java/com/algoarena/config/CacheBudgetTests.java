@@ -0,0 +1,143 @@
+package com.algoarena.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Share moves between two caches on a 100 000 byte budget (min share 1 000,
+ * step 5 000), with entries weighing exactly what they say.
+ */
+class CacheBudgetTests {
+
+    private static final long MAX_HEAP = 1_000_000;
+    private static final long BUDGET = 100_000;
+    private static final long MIN_SHARE = 1_000;
+    private static final long STEP = 5_000;
+    private static final int ENTRY = 1_000;
+
+    private final CacheBudget budget = budget();
+    private final Cache<Object, Object> hot = cache();
+    private final Cache<Object, Object> cold = cache();
+    private int nextKey;
+
+    @Test
+    void pressuredCacheTakesUnusedBytesFromAnIdleOne() {
+        manageBoth();
+        overfill(hot, 10);
+        fill(cold, 2);
+
+        budget.rebalance();
+
+        assertEquals(BUDGET / 2 + STEP, limit(hot));
+        assertEquals(BUDGET / 2 - STEP, limit(cold));
+    }
+
+    @Test
+    void pressuredCacheTakesFromOneEarningLessPerByte() {
+        manageBoth();
+        overfill(hot, 100);
+        overfill(cold, 1);
+
+        budget.rebalance();
+
+        assertEquals(BUDGET / 2 + STEP, limit(hot));
+        assertEquals(BUDGET / 2 - STEP, limit(cold));
+    }
+
+    @Test
+    void noMoveWhenNeitherEarnsTwiceTheOther() {
+        manageBoth();
+        overfill(hot, 10);
+        overfill(cold, 7);
+
+        budget.rebalance();
+
+        assertEquals(BUDGET / 2, limit(hot));
+        assertEquals(BUDGET / 2, limit(cold));
+    }
+
+    @Test
+    void sharesStayWithinTheBudgetAndAboveTheMinimum() {
+        manageBoth();
+        for (int round = 0; round < 50; round++) {
+            overfill(hot, 10);
+            budget.rebalance();
+
+            assertTrue(limit(hot) + limit(cold) <= BUDGET, "total over budget in round " + round);
+            assertTrue(limit(cold) >= MIN_SHARE, "donor below minimum share in round " + round);
+        }
+        // Everything the idle cache could give has moved
+        assertEquals(MIN_SHARE, limit(cold));
+        assertEquals(BUDGET - MIN_SHARE, limit(hot));
+    }
+
+    @Test
+    void disabledBudgetNeverMovesAnything() {
+        AppConfig.Cache config = new AppConfig.Cache();
+        config.setHeapBudgetPercent(0);
+        CacheBudget disabled = new CacheBudget(config, MAX_HEAP, new SimpleMeterRegistry());
+        disabled.manage("hot", hot);
+        disabled.manage("cold", cold);
+        overfill(hot, 10);
+
+        disabled.rebalance();
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(BUDGET / 2, limit(hot));
+        assertEquals(BUDGET / 2, limit(cold));
+    }
+
+    private void manageBoth() {
+        budget.manage("hot", hot);
+        budget.manage("cold", cold);
+    }
+
+    // Full and evicting, with this many hits per resident entry
+    private void overfill(Cache<Object, Object> cache, int hitsPerEntry) {
+        int entries = (int) (limit(cache) / ENTRY) + 5;
+        for (int i = 0; i < entries; i++) {
+            cache.put(nextKey++, ENTRY);
+        }
+        cache.cleanUp();
+        for (Object key : cache.asMap().keySet()) {
+            for (int hit = 0; hit < hitsPerEntry; hit++) {
+                cache.getIfPresent(key);
+            }
+        }
+    }
+
+    private void fill(Cache<Object, Object> cache, int entries) {
+        for (int i = 0; i < entries; i++) {
+            cache.put(nextKey++, ENTRY);
+        }
+        cache.cleanUp();
+    }
+
+    private static long limit(Cache<Object, Object> cache) {
+        return cache.policy().eviction().orElseThrow().getMaximum();
+    }
+
+    private static CacheBudget budget() {
+        AppConfig.Cache config = new AppConfig.Cache();
+        config.setHeapBudgetPercent(BUDGET * 100.0 / MAX_HEAP);
+        config.setMinSharePercent(MIN_SHARE * 100.0 / BUDGET);
+        config.setRebalanceStepPercent(STEP * 100.0 / BUDGET);
+        return new CacheBudget(config, MAX_HEAP, new SimpleMeterRegistry());
+    }
+
+    // Same shape CacheConfig builds under a budget; evictions run on the calling thread
+    private static Cache<Object, Object> cache() {
+        return Caffeine.newBuilder()
+                .maximumWeight(BUDGET / 2)
+                .weigher((Object key, Object value) -> (Integer) value)
+                .recordStats()
+                .executor(Runnable::run)
+                .build();
+    }
+}
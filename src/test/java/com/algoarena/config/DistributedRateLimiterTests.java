@@ -0,0 +1,152 @@
+package com.algoarena.config;
+
+import com.algoarena.config.RateLimitConfig.BucketType;
+import com.algoarena.config.RateLimitConfig.Consumption;
+import com.algoarena.config.RateLimitConfig.Policy;
+import com.algoarena.model.RateLimitWindow;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs against a local Mongo (TEST_MONGODB_URI, default mongodb://localhost:27017).
+ * Skipped when no server is reachable.
+ */
+class DistributedRateLimiterTests {
+
+    private static final String DATABASE = "algoarena_ratelimit_test";
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void connect() {
+        String uri = System.getenv().getOrDefault("TEST_MONGODB_URI",
+                "mongodb://localhost:27017/?serverSelectionTimeoutMS=1000");
+        try {
+            mongoClient = MongoClients.create(uri);
+            mongoClient.getDatabase("admin").runCommand(new Document("ping", 1));
+            mongoTemplate = new MongoTemplate(mongoClient, DATABASE);
+        } catch (Exception e) {
+            mongoTemplate = null;
+        }
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (mongoTemplate != null) {
+            mongoTemplate.getDb().drop();
+        }
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+
+    @BeforeEach
+    void clean() throws InterruptedException {
+        assumeTrue(mongoTemplate != null, "Local Mongo not available");
+        mongoTemplate.dropCollection(RateLimitWindow.class);
+
+        // Don't let a test straddle a window boundary
+        long untilNextWindow = DistributedRateLimiter.WINDOW_MILLIS
+                - System.currentTimeMillis() % DistributedRateLimiter.WINDOW_MILLIS;
+        if (untilNextWindow < 3000) {
+            Thread.sleep(untilNextWindow + 50);
+        }
+    }
+
+    @Test
+    void limitHoldsAcrossNodes() {
+        DistributedRateLimiter nodeA = newNode();
+        DistributedRateLimiter nodeB = newNode();
+        Policy write = new Policy(BucketType.WRITE, 10, 10);
+
+        int granted = 0;
+        for (int i = 0; i < 20; i++) {
+            DistributedRateLimiter node = i % 2 == 0 ? nodeA : nodeB;
+            if (node.tryConsume("user-1", write).consumed()) {
+                granted++;
+            }
+        }
+
+        assertEquals(10, granted);
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedLimit() throws Exception {
+        List<DistributedRateLimiter> nodes = List.of(newNode(), newNode(), newNode());
+        Policy approach = new Policy(BucketType.APPROACH_WRITE, 5, 5);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                DistributedRateLimiter node = nodes.get(i % nodes.size());
+                results.add(executor.submit(() -> node.tryConsume("user-2", approach).consumed()));
+            }
+            int granted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    granted++;
+                }
+            }
+            // Stranded prefetch may leave tokens unused, but never more than the limit
+            assertTrue(granted <= 5, "granted " + granted);
+            assertTrue(granted > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void prefetchServesMostRequestsLocally() {
+        DistributedRateLimiter node = newNode();
+        Policy read = new Policy(BucketType.READ, 60, 60);
+
+        for (int i = 0; i < 60; i++) {
+            assertTrue(node.tryConsume("user-3", read).consumed());
+        }
+        assertFalse(node.tryConsume("user-3", read).consumed());
+
+        // 60 tokens in batches of 12 -> 5 claims; the rejection is answered locally
+        RateLimitWindow window = mongoTemplate.findAll(RateLimitWindow.class).get(0);
+        assertEquals(60, window.getUsed());
+    }
+
+    @Test
+    void rejectionCarriesWaitUntilNextWindow() {
+        DistributedRateLimiter node = newNode();
+        Policy policy = new Policy(BucketType.APPROACH_WRITE, 1, 1);
+
+        assertTrue(node.tryConsume("user-4", policy).consumed());
+        Consumption rejected = node.tryConsume("user-4", policy);
+
+        assertFalse(rejected.consumed());
+        assertTrue(rejected.nanosToWaitForRefill() > 0);
+    }
+
+    private static DistributedRateLimiter newNode() {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getRateLimit().setDistributed(true);
+        DistributedRateLimiter limiter = new DistributedRateLimiter(mongoTemplate, appConfig, new SimpleMeterRegistry());
+        limiter.init();
+        return limiter;
+    }
+}
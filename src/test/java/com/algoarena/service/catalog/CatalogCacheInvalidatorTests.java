@@ -0,0 +1,142 @@
+package com.algoarena.service.catalog;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.model.Question;
+import com.algoarena.repository.QuestionRepository;
+import com.algoarena.repository.SolutionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Which cached admin summary pages a question write evicts, for an item at
+ * a known position in the createdAt-desc listing.
+ */
+class CatalogCacheInvalidatorTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final List<String> PAGES = List.of(
+            "page_0_size_10", "page_1_size_10", "page_2_size_10", "page_0_size_25", "page_1_size_25");
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OffHeapBlobCache offHeapBlobCache = new OffHeapBlobCache(new AppConfig(), new ObjectMapper(), registry);
+    private final CatalogCacheInvalidator invalidator = new CatalogCacheInvalidator();
+    private Cache pages;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(invalidator, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(invalidator, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(invalidator, "solutionRepository", mock(SolutionRepository.class));
+        ReflectionTestUtils.setField(invalidator, "offHeapBlobCache", offHeapBlobCache);
+        ReflectionTestUtils.setField(invalidator, "meterRegistry", registry);
+
+        pages = cacheManager.getCache(CatalogCacheInvalidator.ADMIN_QUESTIONS_SUMMARY);
+        PAGES.forEach(page -> pages.put(page, page));
+    }
+
+    @Test
+    void updateEvictsOnlyPagesHoldingTheItem() {
+        // 12 newer items: index 12 is on page 1 of 10 and page 0 of 25
+        Question question = question(12, 13);
+        cacheManager.getCache(CatalogCacheInvalidator.QUESTION_DETAIL).put("q1", "detail");
+
+        invalidator.questionUpdated(question);
+
+        assertEquals(Set.of("page_0_size_10", "page_2_size_10", "page_1_size_25"), cachedPages());
+        assertNull(cacheManager.getCache(CatalogCacheInvalidator.QUESTION_DETAIL).get("q1"));
+        assertEquals(2.0, registry.get("cache.invalidations")
+                .tag("cache", CatalogCacheInvalidator.ADMIN_QUESTIONS_SUMMARY)
+                .tag("scope", "page")
+                .counter().count());
+    }
+
+    @Test
+    void itemsWithTheSameCreatedAtCoverTheirWholeTie() {
+        // 9 newer, 3 at the same instant: anywhere in [9, 11], across the page 0 / page 1 boundary
+        invalidator.questionUpdated(question(9, 12));
+
+        assertEquals(Set.of("page_2_size_10", "page_1_size_25"), cachedPages());
+    }
+
+    @Test
+    void lastItemOfAPageStaysOnThatPage() {
+        invalidator.questionUpdated(question(24, 25));
+
+        assertEquals(Set.of("page_0_size_10", "page_1_size_10", "page_1_size_25"), cachedPages());
+    }
+
+    @Test
+    void createEvictsItsPageAndEveryPageAfterIt() {
+        invalidator.questionCreated(question(12, 13));
+
+        assertEquals(Set.of("page_0_size_10"), cachedPages());
+    }
+
+    @Test
+    void unknownCreatedAtEvictsEveryPage() {
+        Question question = question(0, 0);
+        question.setCreatedAt(null);
+
+        invalidator.questionUpdated(question);
+
+        assertEquals(Set.of(), cachedPages());
+    }
+
+    @Test
+    void keysThatAreNotPagesAreEvicted() {
+        pages.put("legacy-key", "value");
+
+        invalidator.questionUpdated(question(12, 13));
+
+        assertNull(pages.get("legacy-key"));
+    }
+
+    @Test
+    void changeOnAnotherNodeClearsEveryCatalogCache() {
+        cacheManager.getCache(CatalogCacheInvalidator.QUESTION_DETAIL).put("q1", "detail");
+        cacheManager.getCache(CatalogCacheInvalidator.TOPIC_NAMES_PUBLIC).put("names", "names");
+        offHeapBlobCache.putText(OffHeapBlobCache.COURSE_DOC + "d1", "doc");
+        offHeapBlobCache.putText(OffHeapBlobCache.VISUALIZER + "v1", "html");
+
+        invalidator.catalogChangedElsewhere(new CatalogVersion.ExternalChange(7));
+
+        assertEquals(Set.of(), cachedPages());
+        assertNull(cacheManager.getCache(CatalogCacheInvalidator.QUESTION_DETAIL).get("q1"));
+        assertNull(cacheManager.getCache(CatalogCacheInvalidator.TOPIC_NAMES_PUBLIC).get("names"));
+        assertNull(offHeapBlobCache.getText(OffHeapBlobCache.COURSE_DOC + "d1"));
+        // Not catalog content
+        assertEquals("html", offHeapBlobCache.getText(OffHeapBlobCache.VISUALIZER + "v1"));
+    }
+
+    private Question question(long newer, long sameOrNewer) {
+        Question question = new Question();
+        question.setId("q1");
+        question.setCreatedAt(CREATED_AT);
+        when(questionRepository.countByCreatedAtAfter(CREATED_AT)).thenReturn(newer);
+        when(questionRepository.countByCreatedAtGreaterThanEqual(CREATED_AT)).thenReturn(sameOrNewer);
+        return question;
+    }
+
+    private Set<String> cachedPages() {
+        return PAGES.stream()
+                .filter(page -> pages.get(page) != null)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,101 @@
+package com.algoarena.service.catalog;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shared version with other nodes simulated by moving the stored document,
+ * and the read cache expired by hand.
+ */
+class CatalogVersionTests {
+
+    private static final long EPOCH = 42;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<Object> events = new ArrayList<>();
+    private final ApplicationEventPublisher publisher = events::add;
+    private final CatalogVersion catalogVersion = new CatalogVersion(mongoTemplate, publisher);
+
+    @Test
+    void ownBumpsDoNotLookExternal() {
+        stored(5);
+        String first = catalogVersion.etag();
+
+        bumpTo(6);
+        catalogVersion.bump();
+        bumpTo(7);
+        catalogVersion.bump();
+
+        assertNotEquals(first, catalogVersion.etag());
+        assertEquals(List.of(), events);
+    }
+
+    @Test
+    void anotherNodesBumpIsPublishedBeforeItsEtag() {
+        stored(5);
+        catalogVersion.etag();
+
+        stored(6);
+        expireRead();
+        String etag = catalogVersion.etag();
+
+        assertEquals(List.of(new CatalogVersion.ExternalChange(6)), events);
+        assertEquals("\"c" + Long.toString(EPOCH, 36) + "-6\"", etag);
+    }
+
+    @Test
+    void bumpThatSkipsAVersionIsExternal() {
+        stored(5);
+        catalogVersion.etag();
+
+        // Another node bumped to 6 in between; ours makes it 7
+        bumpTo(7);
+        catalogVersion.bump();
+
+        assertEquals(List.of(new CatalogVersion.ExternalChange(7)), events);
+    }
+
+    @Test
+    void firstReadIsNotAChange() {
+        stored(9);
+
+        catalogVersion.etag();
+
+        assertEquals(List.of(), events);
+    }
+
+    private void stored(long version) {
+        when(mongoTemplate.findById("catalog", Document.class, CatalogVersion.COLLECTION))
+                .thenReturn(state(version));
+    }
+
+    private void bumpTo(long version) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Document.class), eq(CatalogVersion.COLLECTION)))
+                .thenReturn(state(version));
+    }
+
+    private void expireRead() {
+        ReflectionTestUtils.setField(catalogVersion, "snapshot", null);
+    }
+
+    private static Document state(long version) {
+        return new Document("_id", "catalog").append("version", version).append("epoch", EPOCH);
+    }
+}
@@ -0,0 +1,102 @@
+package com.algoarena.service.catalog;
+
+import com.algoarena.config.AppConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deflate / inflate round trips through direct buffers, and invalidation.
+ */
+class OffHeapBlobCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OffHeapBlobCache cache = new OffHeapBlobCache(new AppConfig(), new ObjectMapper(), registry);
+
+    @Test
+    void textRoundTripsAndIsStoredCompressed() throws InterruptedException {
+        // Multi-byte characters: length is stored in bytes, not chars
+        String html = "<p>café — 漢字 🚀</p>\n".repeat(20_000);
+
+        cache.putText(OffHeapBlobCache.VISUALIZER + "v1", html);
+
+        assertEquals(html, cache.getText(OffHeapBlobCache.VISUALIZER + "v1"));
+        double stored = storedBytes();
+        assertTrue(stored > 0 && stored < html.length() / 10.0, "stored " + stored + " bytes");
+    }
+
+    @Test
+    void incompressibleAndEmptyValuesRoundTrip() {
+        byte[] random = new byte[256 * 1024];
+        new Random(42).nextBytes(random);
+
+        cache.put("random", random);
+        cache.put("empty", new byte[0]);
+
+        assertArrayEquals(random, cache.get("random"));
+        assertArrayEquals(new byte[0], cache.get("empty"));
+    }
+
+    @Test
+    void eachHitIsAFreshCopy() {
+        cache.put("doc", "shared".getBytes(StandardCharsets.UTF_8));
+
+        byte[] first = cache.get("doc");
+        first[0] = 'X';
+
+        assertEquals("shared", cache.getText("doc"));
+    }
+
+    @Test
+    void jsonRoundTripsAndMismatchedTypeIsDropped() {
+        cache.putJson(OffHeapBlobCache.COURSE_DOC + "d1", Map.of("title", "Graphs", "size", 3));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> doc = cache.getJson(OffHeapBlobCache.COURSE_DOC + "d1", Map.class);
+        assertEquals(Map.of("title", "Graphs", "size", 3), doc);
+
+        // An entry that no longer reads as the requested type is a miss, and is removed
+        assertNull(cache.getJson(OffHeapBlobCache.COURSE_DOC + "d1", Integer.class));
+        assertNull(cache.get(OffHeapBlobCache.COURSE_DOC + "d1"));
+    }
+
+    @Test
+    void invalidateRemovesTheEntryAndReportsWhetherOneWasCached() {
+        cache.putText("doc", "body");
+
+        assertTrue(cache.invalidate("doc"));
+        assertNull(cache.getText("doc"));
+        assertFalse(cache.invalidate("doc"));
+        assertNull(cache.get("never-cached"));
+    }
+
+    @Test
+    void putReplacesThePreviousValue() {
+        cache.putText("doc", "old");
+        cache.putText("doc", "new");
+
+        assertEquals("new", cache.getText("doc"));
+    }
+
+    // Weights are recorded by Caffeine's maintenance, which runs asynchronously after a put
+    private double storedBytes() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            double stored = registry.get("cache.offheap.bytes").gauge().value();
+            if (stored > 0) {
+                return stored;
+            }
+            Thread.sleep(10);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.BatchExecutionRequest;
+import com.algoarena.dto.compiler.BatchExecutionResponse;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionBudgetExceededException;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Which execution failures fail the whole batch and which become a case
+ * result, against a stubbed PistonService keyed by each case's stdin.
+ */
+class BatchExecutionServiceTests {
+
+    private final PistonService pistonService = mock(PistonService.class);
+    private final BatchExecutionService batchExecutionService = new BatchExecutionService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchExecutionService, "pistonService", pistonService);
+        ReflectionTestUtils.setField(batchExecutionService, "appConfig", new AppConfig());
+        when(pistonService.executeCode(any(), any())).thenReturn(Mono.just(passed()));
+    }
+
+    @Test
+    void firstCaseRefusedFailsTheBatch() {
+        caseFails("0", new ExecutionBudgetExceededException(30));
+
+        assertThrows(ExecutionBudgetExceededException.class, () -> run("0", "1"));
+    }
+
+    @Test
+    void laterCaseRefusedIsReportedAsThatCasesError() {
+        caseFails("1", new ExecutionCapacityExceededException());
+
+        BatchExecutionResponse response = run("0", "1");
+
+        assertEquals(BatchExecutionResponse.CaseStatus.PASSED, response.getCases().get(0).getStatus());
+        assertEquals(BatchExecutionResponse.CaseStatus.ERROR, response.getCases().get(1).getStatus());
+    }
+
+    @Test
+    void otherFailureOfTheFirstCaseIsReportedAsItsError() {
+        caseFails("0", new RuntimeException("Piston returned 500"));
+
+        BatchExecutionResponse response = run("0");
+
+        assertEquals(BatchExecutionResponse.CaseStatus.ERROR, response.getCases().get(0).getStatus());
+        assertEquals("Piston returned 500", response.getCases().get(0).getError());
+    }
+
+    private void caseFails(String stdin, RuntimeException error) {
+        when(pistonService.executeCode(argThat((ExecutionRequest request) ->
+                request != null && stdin.equals(request.getStdin())), any()))
+                .thenReturn(Mono.error(error));
+    }
+
+    private BatchExecutionResponse run(String... stdins) {
+        BatchExecutionRequest request = new BatchExecutionRequest();
+        request.setLanguage("python");
+        request.setCode("print(input())");
+        request.setCases(List.of(stdins).stream()
+                .map(stdin -> new BatchExecutionRequest.TestCase(stdin, null))
+                .toList());
+        return batchExecutionService.executeBatch(request, "alice").block(Duration.ofSeconds(5));
+    }
+
+    private static ExecutionResponse passed() {
+        ExecutionResponse response = new ExecutionResponse();
+        ExecutionResponse.RunResult run = new ExecutionResponse.RunResult();
+        run.setStdout("");
+        run.setStderr("");
+        run.setCode(0);
+        response.setRun(run);
+        return response;
+    }
+}
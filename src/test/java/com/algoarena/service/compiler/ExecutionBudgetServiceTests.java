@@ -0,0 +1,122 @@
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reserve / settle arithmetic on a 10s budget whose window is long enough
+ * that refill never shows up in a test.
+ */
+class ExecutionBudgetServiceTests {
+
+    private static final long BUDGET_MS = 10_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutionBudgetService budget = budget(true);
+
+    @Test
+    void reserveHoldsTheLimitAndSettleRefundsTheRest() {
+        ExecutionBudgetService.Reservation reservation = budget.reserve("alice", 4_000);
+        assertNotNull(reservation);
+        assertEquals(BUDGET_MS - 4_000, budget.remaining("alice"));
+
+        budget.settle(reservation, 1_500);
+
+        assertEquals(BUDGET_MS - 1_500, budget.remaining("alice"));
+        assertEquals(1_500.0, registry.get("execution.budget.charged").summary().totalAmount());
+    }
+
+    @Test
+    void runPastTheLimitIsChargedTheExtra() {
+        ExecutionBudgetService.Reservation reservation = budget.reserve("alice", 4_000);
+
+        budget.settle(reservation, 4_500);
+
+        assertEquals(BUDGET_MS - 4_500, budget.remaining("alice"));
+    }
+
+    @Test
+    void settleIsIdempotent() {
+        ExecutionBudgetService.Reservation reservation = budget.reserve("alice", 4_000);
+
+        budget.settle(reservation, 1_000);
+        budget.settle(reservation, 0);
+        budget.settle(reservation, 4_000);
+
+        assertEquals(BUDGET_MS - 1_000, budget.remaining("alice"));
+    }
+
+    @Test
+    void reserveBeyondTheBudgetIsRejectedWithoutConsuming() {
+        ExecutionBudgetService.Reservation first = budget.reserve("alice", 8_000);
+
+        assertThrows(ExecutionBudgetExceededException.class, () -> budget.reserve("alice", 4_000));
+        assertEquals(BUDGET_MS - 8_000, budget.remaining("alice"));
+        assertEquals(1.0, registry.get("execution.budget.rejected").counter().count());
+
+        // Other users have their own budget
+        assertNotNull(budget.reserve("bob", 4_000));
+
+        // Never got a slot (queue full / timeout / cancelled while queued): full refund
+        budget.settle(first, 0);
+        assertEquals(BUDGET_MS, budget.remaining("alice"));
+        assertNotNull(budget.reserve("alice", 4_000));
+    }
+
+    @Test
+    void reservationMeasuresOnlyFromStart() throws InterruptedException {
+        ExecutionBudgetService.Reservation reservation = budget.reserve("alice", 4_000);
+        Thread.sleep(20); // Queued: not counted
+        assertFalse(reservation.isStarted());
+        assertEquals(0, reservation.elapsedMs());
+
+        reservation.start();
+        assertTrue(reservation.isStarted());
+        assertTrue(reservation.elapsedMs() < 20);
+    }
+
+    @Test
+    void chargePrefersCpuTimeThenWallTimeThenObserved() {
+        ExecutionResponse response = new ExecutionResponse();
+        assertEquals(700, ExecutionBudgetService.chargeFor(response, 700));
+
+        ExecutionResponse.RunResult run = new ExecutionResponse.RunResult();
+        run.setWallTimeMs(300L);
+        response.setRun(run);
+        ExecutionResponse.CompileResult compile = new ExecutionResponse.CompileResult();
+        compile.setWallTimeMs(200L);
+        response.setCompile(compile);
+        assertEquals(500, ExecutionBudgetService.chargeFor(response, 700));
+
+        run.setCpuTimeMs(120L);
+        assertEquals(120, ExecutionBudgetService.chargeFor(response, 700));
+    }
+
+    @Test
+    void disabledBudgetReservesNothing() {
+        ExecutionBudgetService disabled = budget(false);
+
+        assertNull(disabled.reserve("alice", 4_000));
+        assertNull(disabled.remaining("alice"));
+        disabled.settle(null, 1_000);
+    }
+
+    private ExecutionBudgetService budget(boolean enabled) {
+        AppConfig appConfig = new AppConfig();
+        AppConfig.Executor.Budget config = appConfig.getExecutor().getBudget();
+        config.setEnabled(enabled);
+        config.setCpuSecondsPerWindow(BUDGET_MS / 1000);
+        config.setWindowMinutes(1_000_000L);
+        return new ExecutionBudgetService(appConfig, registry);
+    }
+}
@@ -0,0 +1,137 @@
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Slot order, per-user caps, queue expiry and cancellation, with work that
+ * completes only when a test lets it.
+ */
+class ExecutionSchedulerTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    @Test
+    void freeSlotsGoRoundRobinAcrossUsers() {
+        ExecutionScheduler scheduler = scheduler(1, 1, 10, 10_000);
+        Sinks.One<String> blocker = Sinks.one();
+        scheduler.submit("carol", () -> run("c1", blocker.asMono())).subscribe();
+
+        // Alice queues two before Bob queues one
+        scheduler.submit("alice", () -> run("a1", Mono.just("a1"))).subscribe();
+        scheduler.submit("alice", () -> run("a2", Mono.just("a2"))).subscribe();
+        scheduler.submit("bob", () -> run("b1", Mono.just("b1"))).subscribe();
+        assertEquals(List.of("c1"), started);
+        assertEquals(3, gauge("execution.scheduler.queued"));
+
+        blocker.tryEmitValue("c1");
+
+        assertEquals(List.of("c1", "a1", "b1", "a2"), started);
+        assertEquals(0, gauge("execution.scheduler.queued"));
+        assertEquals(0, gauge("execution.scheduler.inflight"));
+        assertEquals(0, gauge("execution.scheduler.users"));
+    }
+
+    @Test
+    void userIsCappedAtPerUserInFlightWhileOthersStillRun() {
+        ExecutionScheduler scheduler = scheduler(10, 2, 10, 10_000);
+        Sinks.One<String> first = Sinks.one();
+        scheduler.submit("alice", () -> run("a1", first.asMono())).subscribe();
+        scheduler.submit("alice", () -> run("a2", Mono.never())).subscribe();
+        scheduler.submit("alice", () -> run("a3", Mono.never())).subscribe();
+        scheduler.submit("bob", () -> run("b1", Mono.never())).subscribe();
+
+        assertEquals(List.of("a1", "a2", "b1"), started);
+        assertEquals(1, gauge("execution.scheduler.queued"));
+
+        first.tryEmitValue("a1");
+
+        assertEquals(List.of("a1", "a2", "b1", "a3"), started);
+        assertEquals(3, gauge("execution.scheduler.inflight"));
+    }
+
+    @Test
+    void fullUserQueueIsRejected() {
+        ExecutionScheduler scheduler = scheduler(1, 1, 1, 10_000);
+        scheduler.submit("alice", () -> run("a1", Mono.never())).subscribe();
+        scheduler.submit("alice", () -> run("a2", Mono.never())).subscribe();
+
+        Mono<ExecutionScheduler.Scheduled<String>> third = scheduler.submit("alice", () -> run("a3", Mono.never()));
+
+        assertThrows(ExecutionCapacityExceededException.class, () -> third.block(Duration.ofSeconds(5)));
+        assertEquals(1.0, registry.get("execution.scheduler.rejected").tag("reason", "user_queue_full").counter().count());
+        assertEquals(List.of("a1"), started);
+    }
+
+    @Test
+    void waitPastMaxQueueWaitFailsAndLeavesTheQueue() {
+        ExecutionScheduler scheduler = scheduler(1, 1, 10, 50);
+        Sinks.One<String> blocker = Sinks.one();
+        scheduler.submit("carol", () -> run("c1", blocker.asMono())).subscribe();
+
+        Mono<ExecutionScheduler.Scheduled<String>> waiting = scheduler.submit("alice", () -> run("a1", Mono.just("a1")));
+
+        assertThrows(ExecutionCapacityExceededException.class, () -> waiting.block(Duration.ofSeconds(5)));
+        assertEquals(0, gauge("execution.scheduler.queued"));
+        assertEquals(1.0, registry.get("execution.scheduler.rejected").tag("reason", "queue_timeout").counter().count());
+
+        // The expired task never runs, even once the slot frees up
+        blocker.tryEmitValue("c1");
+        assertEquals(List.of("c1"), started);
+        assertEquals(0, gauge("execution.scheduler.inflight"));
+    }
+
+    @Test
+    void cancellingReleasesQueuedAndRunningSlots() {
+        ExecutionScheduler scheduler = scheduler(1, 1, 10, 10_000);
+        Disposable running = scheduler.submit("carol", () -> run("c1", Mono.never())).subscribe();
+        Disposable queued = scheduler.submit("alice", () -> run("a1", Mono.never())).subscribe();
+        assertEquals(1, gauge("execution.scheduler.queued"));
+
+        queued.dispose();
+        assertEquals(0, gauge("execution.scheduler.queued"));
+
+        running.dispose();
+        assertEquals(0, gauge("execution.scheduler.inflight"));
+
+        // The slot is free again and the cancelled task didn't take it
+        ExecutionScheduler.Scheduled<String> next = scheduler.submit("bob", () -> run("b1", Mono.just("b1")))
+                .block(Duration.ofSeconds(5));
+        assertEquals("b1", next.value());
+        assertEquals(List.of("c1", "b1"), started);
+        assertEquals(0, gauge("execution.scheduler.users"));
+    }
+
+    private Mono<String> run(String name, Mono<String> work) {
+        started.add(name);
+        return work;
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    private ExecutionScheduler scheduler(int maxConcurrent, int perUserInFlight, int perUserQueue, long maxQueueWaitMs) {
+        AppConfig appConfig = new AppConfig();
+        AppConfig.Executor.FairShare fairShare = appConfig.getExecutor().getFairShare();
+        fairShare.setEnabled(true);
+        fairShare.setMaxConcurrent(maxConcurrent);
+        fairShare.setPerUserInFlight(perUserInFlight);
+        fairShare.setPerUserQueue(perUserQueue);
+        fairShare.setMaxQueueWaitMs(maxQueueWaitMs);
+        return new ExecutionScheduler(appConfig, registry);
+    }
+}
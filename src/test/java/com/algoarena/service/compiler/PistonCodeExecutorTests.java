@@ -0,0 +1,178 @@
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionBackendUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Endpoint routing and circuit breaking against stub Piston servers on localhost.
+ */
+class PistonCodeExecutorTests {
+
+    private static final String RESULT = """
+            {"language":"python","version":"3.10.0","run":{"stdout":"ok\\n","stderr":"","code":0,"signal":null,"output":"ok\\n"}}""";
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private PistonCodeExecutor executor;
+
+    @AfterEach
+    void stopServers() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void failingReplicaOpensItsBreakerAndTrafficMovesToHealthyOne() throws IOException {
+        AtomicInteger brokenCalls = new AtomicInteger();
+        AtomicInteger healthyCalls = new AtomicInteger();
+        String broken = stub(500, "{\"message\":\"boom\"}", 0, brokenCalls);
+        String healthy = stub(200, RESULT, 0, healthyCalls);
+        executor = executor(List.of(broken, healthy), null, 3);
+
+        for (int i = 0; i < 20; i++) {
+            ExecutionResponse response = execute();
+            assertEquals("ok\n", response.getRun().getStdout());
+        }
+
+        assertTrue(brokenCalls.get() <= 3, "broken replica should be cut off after 3 failures");
+        assertEquals(20, healthyCalls.get());
+        assertEquals("OPEN", endpointState(broken));
+        assertEquals("CLOSED", endpointState(healthy));
+    }
+
+    @Test
+    void fallbackIsOnlyUsedWhenNoReplicaIsAvailable() throws IOException {
+        AtomicInteger replicaCalls = new AtomicInteger();
+        AtomicInteger fallbackCalls = new AtomicInteger();
+        String replica = stub(503, "{}", 0, replicaCalls);
+        String fallback = stub(200, RESULT, 0, fallbackCalls);
+        executor = executor(List.of(replica), fallback, 2);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, execute().getRun().getCode());
+        }
+
+        // First two calls fail over from the replica; after that its breaker is open
+        assertEquals(2, replicaCalls.get());
+        assertEquals(5, fallbackCalls.get());
+    }
+
+    @Test
+    void allBreakersOpenFailsFastWithUnavailable() throws IOException {
+        String first = stub(500, "{}", 0, new AtomicInteger());
+        String second = stub(502, "{}", 0, new AtomicInteger());
+        executor = executor(List.of(first, second), null, 1);
+
+        assertThrows(RuntimeException.class, this::execute);
+        assertThrows(ExecutionBackendUnavailableException.class, this::execute);
+        assertEquals(false, executor.describe().get("healthy"));
+    }
+
+    @Test
+    void fasterReplicaGetsMostOfTheTraffic() throws IOException {
+        AtomicInteger slowCalls = new AtomicInteger();
+        AtomicInteger fastCalls = new AtomicInteger();
+        // Even the fast stub takes tens of ms on loopback, so the gap has to be wide
+        String slow = stub(200, RESULT, 500, slowCalls);
+        String fast = stub(200, RESULT, 0, fastCalls);
+        // Short window, then warm up: the first call to each stub (connection setup, JIT)
+        // is an outlier that would otherwise be the fast stub's p95 for a long time
+        executor = executor(List.of(slow, fast), null, 3, 10);
+        for (int i = 0; i < 30; i++) {
+            execute();
+        }
+        slowCalls.set(0);
+        fastCalls.set(0);
+
+        for (int i = 0; i < 60; i++) {
+            execute();
+        }
+
+        assertTrue(fastCalls.get() > slowCalls.get() * 3,
+                "fast=" + fastCalls.get() + " slow=" + slowCalls.get());
+    }
+
+    private ExecutionResponse execute() {
+        ExecutionRequest request = new ExecutionRequest("python", "3.10.0", "print('ok')");
+        return executor.execute(request).block(Duration.ofSeconds(10));
+    }
+
+    @SuppressWarnings("unchecked")
+    private String endpointState(String url) {
+        List<Map<String, Object>> endpoints = (List<Map<String, Object>>) executor.describe().get("endpoints");
+        return endpoints.stream()
+                .filter(endpoint -> url.equals(endpoint.get("url")))
+                .map(endpoint -> (String) endpoint.get("state"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private PistonCodeExecutor executor(List<String> replicas, String fallback, int failureThreshold) {
+        return executor(replicas, fallback, failureThreshold, new AppConfig.Piston().getLatencyWindow());
+    }
+
+    private PistonCodeExecutor executor(List<String> replicas, String fallback, int failureThreshold,
+                                        int latencyWindow) {
+        AppConfig appConfig = new AppConfig();
+        AppConfig.Piston piston = appConfig.getPiston();
+        piston.setApiUrl(fallback);
+        piston.setEndpoints(replicas);
+        piston.setTimeout(5000);
+        piston.setBreakerFailureThreshold(failureThreshold);
+        piston.setBreakerOpenMs(60_000);
+        piston.setLatencyWindow(latencyWindow);
+
+        PistonCodeExecutor pistonExecutor = new PistonCodeExecutor();
+        ReflectionTestUtils.setField(pistonExecutor, "appConfig", appConfig);
+        pistonExecutor.init();
+        return pistonExecutor;
+    }
+
+    // Stub Piston: /execute answers with a fixed status/body after an optional delay
+    private String stub(int status, String body, long delayMs, AtomicInteger calls) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/execute", exchange -> {
+            calls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        servers.add(server);
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+}